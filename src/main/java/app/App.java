@@ -1,9 +1,12 @@
 package app;
 
 import app.holdingUnits.Preloader;
+import app.holdingUnits.RulesWatcher;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.io.IOException;
+
 /**
  * The main class of the project.
  *
@@ -15,11 +18,28 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class App {
 
     /**
-     * preloads graphs for converting units and starts server.
+     * preloads graphs for converting units and starts server. With "--compile rules snapshot" only writes the snapshot
+     * of the rules and exits, with "--snapshot snapshot" maps the snapshot instead of parsing the rules, with
+     * "--parallel rules" parses the rules on all cores, with "--watch rules" reloads the rules when the file is
+     * changed.
      * @param args first arg is path to file with converting rules.
+     * @throws IOException if the file with converting rules could not be watched.
      */
-    public static void main (String[] args) {
+    public static void main (String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("--compile")) {
+            Preloader.compile(args[1], args[2]);
+            return;
+        }
         SpringApplication.run(App.class, args);
-        Preloader.preload(args[0]);
+        if (args.length == 2 && args[0].equals("--snapshot")) {
+            Preloader.preloadSnapshot(args[1]);
+        } else if (args.length == 2 && args[0].equals("--parallel")) {
+            Preloader.preloadParallel(args[1]);
+        } else if (args.length == 2 && args[0].equals("--watch")) {
+            Preloader.preload(args[1]);
+            RulesWatcher.watch(args[1]);
+        } else {
+            Preloader.preload(args[0]);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package app.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Check of the access to the addresses of {@link AdminController}, which change units and files of the server and
+ * share the port with the conversions. The request is let through only with "X-Admin-Token" header equal to the token
+ * which is set by "admin.token" system property. If the token is not set the addresses are disabled and answered with
+ * 403 status, the wrong or missing header is answered with 401 status. Requests are matched by their handler, not by
+ * the path, so any path which reaches the admin controller is checked.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+@Component
+public class AdminAccess implements HandlerInterceptor, WebMvcConfigurer {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(AdminAccess.class);
+
+    /** Name of the system property which sets the token of the admin addresses. */
+    static final String TOKEN_PROPERTY = "admin.token";
+
+    /** Name of the header with the token. */
+    static final String TOKEN_HEADER = "X-Admin-Token";
+
+    /** Bytes of the token or null if the admin addresses are disabled. */
+    private final byte[] token;
+
+    /**
+     * Constructs check with the token from the system property.
+     */
+    public AdminAccess() {
+        this(System.getProperty(TOKEN_PROPERTY));
+    }
+
+    /**
+     * Constructs check with the token.
+     * @param token token or null or empty string to disable the admin addresses.
+     */
+    AdminAccess(String token) {
+        this.token = token == null || token.isEmpty() ? null : token.getBytes(StandardCharsets.UTF_8);
+        if (this.token == null) {
+            logger.info("admin addresses are disabled, {} is not set", TOKEN_PROPERTY);
+        }
+    }
+
+    /**
+     * Registers the check for all requests.
+     * @param registry registry of the interceptors.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    /**
+     * Checks the token of the request to the admin controller, other requests are let through.
+     * @param request request.
+     * @param response response, its status is set if the request is refused.
+     * @param handler handler of the request.
+     * @return true if the request is let through.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || ((HandlerMethod) handler).getBeanType() != AdminController.class) {
+            return true;
+        }
+        if (token == null) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return false;
+        }
+        String header = request.getHeader(TOKEN_HEADER);
+        if (header == null || !MessageDigest.isEqual(token, header.getBytes(StandardCharsets.UTF_8))) {
+            logger.warn("refused admin request {} {} from {}", request.getMethod(), request.getRequestURI(),
+                    request.getRemoteAddr());
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,316 @@
+package app.controller;
+
+import app.holdingUnits.GraphHolder;
+import app.holdingUnits.Namespace;
+import app.holdingUnits.Preloader;
+import app.holdingUnits.Reloader;
+import app.holdingUnits.RuleChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class for processing requests which manage the units of the server. The preloaded file is reloaded in the
+ * background by "admin/reload" address, requests are served with the old units until the new ones are ready. Single
+ * converting rules are added and retired by "admin/rules" address without reloading all units, the log of these
+ * changes is compacted by "admin/rules/compact" address. Rules are changed only if the namespace has the log: every
+ * reload builds units from the file and the log, so the change which is not in the log would be lost silently by the
+ * next reload or change of the file. These addresses work with the namespace from "X-Namespace"
+ * header or with the default namespace. Namespaces are listed, loaded and removed by "admin/namespaces" address,
+ * they are loaded only from the files of the directory which is set by "namespaces.dir" system property: the log of
+ * the changed rules is written next to the file and the compaction rewrites the file, so other files of the server
+ * are never opened by these requests. All these addresses need "X-Admin-Token" header with the token which is set by
+ * "admin.token" system property, without the token they are disabled, see {@link AdminAccess}.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+@Controller
+public class AdminController {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    /** Name of the system property which sets the directory with the files of the namespaces. */
+    static final String NAMESPACES_DIR_PROPERTY = "namespaces.dir";
+
+    /**
+     * Processes POST requests with "admin/reload" address.
+     * @param name name of the namespace from the header or null for the default namespace.
+     * @return response with 202 status and the metrics of the reloads if the reload is requested, with 409 status if
+     * the other reload is already requested, with 503 status if units are not preloaded yet.
+     */
+    @PostMapping("admin/reload")
+    public ResponseEntity<Map<String, Object>> reload(
+            @RequestHeader(value = LifecycleController.NAMESPACE_HEADER, required = false) String name) {
+        Namespace namespace = LifecycleController.namespaceOf(null, name);
+        if (!namespace.isReady()) {
+            return LifecycleController.notReady();
+        }
+        HttpStatus status = namespace.getReloader().requestReload() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return new ResponseEntity<>(reloadMetrics(namespace), status);
+    }
+
+    /**
+     * Processes GET requests with "admin/reload" address.
+     * @param name name of the namespace from the header or null for the default namespace.
+     * @return response with the metrics of the reloads.
+     */
+    @GetMapping("admin/reload")
+    public ResponseEntity<Map<String, Object>> reloadState(
+            @RequestHeader(value = LifecycleController.NAMESPACE_HEADER, required = false) String name) {
+        return new ResponseEntity<>(reloadMetrics(LifecycleController.namespaceOf(null, name)), HttpStatus.OK);
+    }
+
+    /**
+     * Processes GET requests with "admin/namespaces" address.
+     * @return response with the state of every namespace: amount of the units and the components, estimated memory,
+     * version of the rules and the counters of the caches.
+     */
+    @GetMapping("admin/namespaces")
+    public ResponseEntity<List<Map<String, Object>>> namespaces() {
+        List<Namespace> namespaces = new ArrayList<>(GraphHolder.getNamespaces());
+        namespaces.sort(Comparator.comparing(Namespace::getName));
+        List<Map<String, Object>> states = new ArrayList<>(namespaces.size());
+        for (Namespace namespace : namespaces) {
+            states.add(state(namespace));
+        }
+        return new ResponseEntity<>(states, HttpStatus.OK);
+    }
+
+    /**
+     * Processes PUT requests with "admin/namespaces/{name}" address. Creates the namespace if there is no such one and
+     * loads units into it from the file, units which it had before are replaced at once.
+     * @param name name of the namespace: letters, digits, "_" and "-".
+     * @param path path to the file with converting rules or to the snapshot, relative to the directory of the
+     * namespaces.
+     * @param mode "RULES" or "SNAPSHOT".
+     * @return response with the state of the namespace, with 400 status if the name or the mode is malformed or the
+     * file could not be read, then the namespace which was created by this request is removed; with 403 status if the
+     * directory of the namespaces is not set or the file is not in it.
+     */
+    @PutMapping("admin/namespaces/{name}")
+    public ResponseEntity<Map<String, Object>> loadNamespace(@PathVariable("name") String name,
+                                                             @RequestParam("path") String path,
+                                                             @RequestParam(value = "mode", defaultValue = "RULES")
+                                                                     String mode) {
+        Namespace namespace = null;
+        boolean isNew = GraphHolder.getNamespace(name) == null;
+        try {
+            Preloader.Mode preloadMode = Preloader.Mode.valueOf(mode);
+            if (GraphHolder.DEFAULT_NAMESPACE.equals(name)) {
+                throw new IllegalArgumentException("default namespace is reloaded by admin/reload");
+            }
+            Path file = namespaceFile(path);
+            if (file == null) {
+                logger.warn("refused to load namespace {} from {}", name, path);
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+            namespace = GraphHolder.createNamespace(name);
+            Preloader.preload(namespace, file.toString(), preloadMode);
+        } catch (IllegalArgumentException | IOException e) {
+            logger.warn("unable to load namespace {} : {}", name, e.getMessage());
+            if (isNew && namespace != null) {
+                GraphHolder.removeNamespace(name);
+            }
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(state(namespace), HttpStatus.OK);
+    }
+
+    /**
+     * Processes DELETE requests with "admin/namespaces/{name}" address. Units and caches of the namespace are deleted.
+     * @param name name of the namespace.
+     * @return response with 204 status, with 400 status if it is the default namespace, with 404 status if there is
+     * no such namespace.
+     */
+    @DeleteMapping("admin/namespaces/{name}")
+    public ResponseEntity<Void> removeNamespace(@PathVariable("name") String name) {
+        Namespace namespace;
+        try {
+            namespace = GraphHolder.removeNamespace(name);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (namespace == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        ConversionCache.remove(namespace);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    /**
+     * Processes POST requests with "admin/rules" address. Body is the converting rule as the line of the file with
+     * converting rules, "unit1,unit2,quotient".
+     * @param name name of the namespace from the header or null for the default namespace.
+     * @param line converting rule.
+     * @return response with the report: "result" is "MERGED" or "REDUNDANT", "createdUnits" are names of the new
+     * units; with 400 status if the rule is malformed, with 409 status if the namespace has no log of the rules, for
+     * example if units are mapped from the snapshot, with 503 status if units are not preloaded yet.
+     */
+    @PostMapping(value = "admin/rules", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Map<String, Object>> addRule(
+            @RequestHeader(value = LifecycleController.NAMESPACE_HEADER, required = false) String name,
+            @RequestBody String line) {
+        Namespace namespace = LifecycleController.namespaceOf(null, name);
+        if (!namespace.isReady()) {
+            return LifecycleController.notReady();
+        }
+        if (namespace.getLog() == null) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        try {
+            return new ResponseEntity<>(report(namespace.addRule(line.trim())), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.debug("rule {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Processes DELETE requests with "admin/rules" address.
+     * @param name name of the namespace from the header or null for the default namespace.
+     * @param unit1 name of one unit of the rule.
+     * @param unit2 name of the other unit of the rule.
+     * @return response with the report: "result" is "RETIRED" or "SPLIT" if units are not connected anymore; with 404
+     * status if there is no such rule, with 409 status if the namespace has no log of the rules, for example if units
+     * are mapped from the snapshot, with 503 status if units are not preloaded yet.
+     */
+    @DeleteMapping("admin/rules")
+    public ResponseEntity<Map<String, Object>> retireRule(
+            @RequestHeader(value = LifecycleController.NAMESPACE_HEADER, required = false) String name,
+            @RequestParam("unit1") String unit1, @RequestParam("unit2") String unit2) {
+        Namespace namespace = LifecycleController.namespaceOf(null, name);
+        if (!namespace.isReady()) {
+            return LifecycleController.notReady();
+        }
+        if (namespace.getLog() == null) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        RuleChange change;
+        try {
+            change = namespace.retireRule(unit1, unit2);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        HttpStatus status = change.getResult() == RuleChange.Result.NOT_FOUND ? HttpStatus.NOT_FOUND : HttpStatus.OK;
+        return new ResponseEntity<>(report(change), status);
+    }
+
+    /**
+     * Processes POST requests with "admin/rules/compact" address. All rules are written into the new file with
+     * converting rules and the log of the changed rules is cleared.
+     * @param name name of the namespace from the header or null for the default namespace.
+     * @return response with the amount of the written rules, with 409 status if there is no log, with 503 status if
+     * units are not preloaded yet.
+     * @throws IOException if the file could not be written or the log could not be cleared.
+     */
+    @PostMapping("admin/rules/compact")
+    public ResponseEntity<Map<String, Object>> compactRules(
+            @RequestHeader(value = LifecycleController.NAMESPACE_HEADER, required = false) String name)
+            throws IOException {
+        Namespace namespace = LifecycleController.namespaceOf(null, name);
+        if (!namespace.isReady()) {
+            return LifecycleController.notReady();
+        }
+        long count = namespace.compactLog();
+        if (count < 0) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>(Collections.singletonMap("rules", count), HttpStatus.OK);
+    }
+
+    /**
+     * Resolves the file of the namespace in the directory of the namespaces. Links are followed before the check, so
+     * the link in the directory does not lead out of it.
+     * @param path path to the file relative to the directory of the namespaces.
+     * @return real path to the file or null if the directory is not set or the file is not in it.
+     * @throws IOException if there is no such file.
+     */
+    static Path namespaceFile(String path) throws IOException {
+        String directory = System.getProperty(NAMESPACES_DIR_PROPERTY);
+        if (directory == null) {
+            return null;
+        }
+        Path base = Paths.get(directory).toRealPath();
+        Path file = base.resolve(path).normalize();
+        if (!file.startsWith(base)) {
+            return null;
+        }
+        file = file.toRealPath();
+        return file.startsWith(base) && !file.equals(base) ? file : null;
+    }
+
+    /**
+     * Gets the report about the changed rule.
+     * @param change change of the rule.
+     * @return fields of the report by their names.
+     */
+    private static Map<String, Object> report(RuleChange change) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("result", change.getResult().name());
+        report.put("createdUnits", change.getCreatedUnits());
+        report.put("rulesVersion", change.getRulesVersion());
+        return report;
+    }
+
+    /**
+     * Gets the state of the namespace.
+     * @param namespace namespace.
+     * @return fields of the state by their names.
+     */
+    private static Map<String, Object> state(Namespace namespace) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("name", namespace.getName());
+        state.put("ready", namespace.isReady());
+        state.put("units", namespace.getUnitCount());
+        state.put("components", namespace.getComponentCount());
+        state.put("memoryBytes", namespace.getMemoryBytes());
+        state.put("rulesVersion", namespace.getRulesVersion());
+        state.put("results", LifecycleController.counters(ConversionCache.get(namespace)));
+        state.put("rejected", LifecycleController.counters(ConversionCache.rejected(namespace)));
+        return state;
+    }
+
+    /**
+     * Gets the metrics of the reloads of the namespace.
+     * @param namespace namespace.
+     * @return metrics by their names.
+     */
+    private static Map<String, Object> reloadMetrics(Namespace namespace) {
+        Reloader reloader = namespace.getReloader();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("rulesVersion", namespace.getRulesVersion());
+        metrics.put("pending", reloader.isPending());
+        metrics.put("reloads", reloader.getReloadCount());
+        metrics.put("failures", reloader.getFailureCount());
+        metrics.put("lastDurationMillis", reloader.getLastDurationMillis());
+        metrics.put("lastReloadTime", reloader.getLastReloadTime());
+        metrics.put("lastError", reloader.getLastError());
+        return metrics;
+    }
+}
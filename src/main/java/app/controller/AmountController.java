@@ -0,0 +1,151 @@
+package app.controller;
+
+import app.holdingUnits.Namespace;
+import app.search.AmountConverter;
+import app.search.Value;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Class for processing requests to convert many amounts from one unit to the other. Converting rule is found once
+ * for the request and then applied to all amounts. Amounts are sent as JSON array or as binary column of little-endian
+ * doubles.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+@Controller
+public class AmountController {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(AmountController.class);
+
+    /**
+     * Processes requests with "convert/amounts" address. Body is {"from": ..., "to": ..., "amounts": [...]} and
+     * optional "exact": true. Answer is {"amounts": [...]}, amounts are doubles or, if "exact" is true, exact numbers
+     * as strings.
+     * @param pathName name of the namespace from the path or null.
+     * @param headerName name of the namespace from the header or null.
+     * @param body body of the request.
+     * @return response with converted amounts, 400 or 404 status as for "convert" address.
+     */
+    @PostMapping({"convert/amounts", "{namespace}/convert/amounts"})
+    public ResponseEntity<Map<String, Object>> convertAmounts(
+            @PathVariable(value = "namespace", required = false) String pathName,
+            @RequestHeader(value = LifecycleController.NAMESPACE_HEADER, required = false) String headerName,
+            @RequestBody JsonNode body) {
+        Namespace namespace = LifecycleController.namespaceOf(pathName, headerName);
+        if (!namespace.isReady()) {
+            return LifecycleController.notReady();
+        }
+        JsonNode amounts = body.get("amounts");
+        if (amounts == null || !amounts.isArray()) {
+            logger.debug("\"amounts\" is not declared");
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Value rule = findRule(namespace, body.path("from").textValue(), body.path("to").textValue());
+        Object result;
+        if (body.path("exact").asBoolean(false)) {
+            String[] texts = new String[amounts.size()];
+            for (int i = 0; i < texts.length; i++) {
+                JsonNode amount = amounts.get(i);
+                if (!amount.isNumber() && !amount.isTextual()) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                texts[i] = amount.isBigDecimal() ? amount.decimalValue().toString() : amount.asText();
+            }
+            Value[] values;
+            try {
+                values = AmountConverter.applyExact(rule, texts);
+            } catch (NumberFormatException | ArithmeticException e) {
+                logger.debug("amount is malformed : {}", e.getMessage());
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            for (int i = 0; i < values.length; i++) {
+                texts[i] = values[i].toString();
+            }
+            result = texts;
+        } else {
+            double[] values = new double[amounts.size()];
+            for (int i = 0; i < values.length; i++) {
+                if (!amounts.get(i).isNumber()) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                values[i] = amounts.get(i).doubleValue();
+            }
+            AmountConverter.apply(rule, values, values);
+            result = values;
+        }
+        return new ResponseEntity<>(Collections.singletonMap("amounts", result), HttpStatus.OK);
+    }
+
+    /**
+     * Processes requests with "convert/amounts/binary" address. Body is the column of little-endian doubles, answer
+     * is the column of the converted doubles in the same order.
+     * @param pathName name of the namespace from the path or null.
+     * @param headerName name of the namespace from the header or null.
+     * @param from string with the units from which converts.
+     * @param to string with the units to which converts.
+     * @param body little-endian doubles.
+     * @return response with converted doubles, 400 or 404 status as for "convert" address.
+     */
+    @PostMapping(value = {"convert/amounts/binary", "{namespace}/convert/amounts/binary"},
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> convertBinaryAmounts(
+            @PathVariable(value = "namespace", required = false) String pathName,
+            @RequestHeader(value = LifecycleController.NAMESPACE_HEADER, required = false) String headerName,
+            @RequestParam("from") String from, @RequestParam("to") String to, @RequestBody byte[] body) {
+        Namespace namespace = LifecycleController.namespaceOf(pathName, headerName);
+        if (!namespace.isReady()) {
+            return LifecycleController.notReady();
+        }
+        if (body.length % Double.BYTES != 0) {
+            logger.debug("body is not the column of doubles, length : {}", body.length);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Value rule = findRule(namespace, from, to);
+        DoubleBuffer column = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        double[] amounts = new double[column.remaining()];
+        column.get(amounts);
+        AmountConverter.apply(rule, amounts, amounts);
+        column.clear();
+        column.put(amounts);
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
+    /**
+     * Finds converting rule from "from" units to "to" units.
+     * @param namespace namespace of the units.
+     * @param from string with the units from which converts.
+     * @param to string with the units to which converts.
+     * @return how many "to" units are in the "from" unit.
+     * @throws ResponseStatusException with 400 or 404 status if units could not be converted.
+     */
+    private static Value findRule(Namespace namespace, String from, String to) {
+        long rulesVersion = namespace.getRulesVersion();
+        ConversionResult result = RequestController.convert(namespace, RequestController.converterOf(namespace),
+                rulesVersion, from, to);
+        if (result.getValue() == null) {
+            throw new ResponseStatusException(HttpStatus.valueOf(result.getStatus()));
+        }
+        return result.getValue();
+    }
+}
@@ -0,0 +1,446 @@
+package app.controller;
+
+import app.holdingUnits.GraphHolder;
+import app.holdingUnits.Namespace;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of the conversions. Key is the pair of "from" and "to" without spaces, so the cached conversion is answered
+ * without parsing the expressions. Key is only the text, not the canonical form of the expression: "м*с" and "с*м"
+ * or "м^2" and "м*м" are different keys, which are cached separately with the same result. There are two caches: of
+ * the successful conversions and of the rejected ones, so repeated junk requests are answered with 400 or 404 status
+ * without parsing too. Cache is split into segments by the hash of the key, every segment is the LRU map under its own
+ * lock, so requests with different keys rarely wait for each other. Results are valid only for the version of the
+ * converting rules with which they were calculated, when the rules are changed the cache is cleared. Every namespace
+ * has its own caches of the maximum size, so conversions of the big namespace do not evict hot conversions of the other
+ * ones. Maximum size is set by the system property, 0 disables the cache.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+final class ConversionCache {
+
+    /** Name of the system property which sets the maximum amount of the cached successful conversions. */
+    static final String PROPERTY = "conversion.cache.size";
+
+    /** Name of the system property which sets the maximum amount of the cached rejected conversions. */
+    static final String REJECTED_PROPERTY = "conversion.rejected.cache.size";
+
+    /** Default maximum amount of the cached conversions. */
+    static final int DEFAULT_SIZE = 10_000;
+
+    /** Amount of the segments. */
+    private static final int SEGMENT_COUNT = 16;
+
+    /** Cache of the successful conversions of the default namespace. */
+    private static final ConversionCache instance = new ConversionCache(Integer.getInteger(PROPERTY, DEFAULT_SIZE));
+
+    /** Cache of the rejected conversions of the default namespace. */
+    private static final ConversionCache rejected =
+            new ConversionCache(Integer.getInteger(REJECTED_PROPERTY, DEFAULT_SIZE));
+
+    /** Caches of the successful conversions of the other namespaces. */
+    private static final ConcurrentHashMap<Namespace, ConversionCache> instances = new ConcurrentHashMap<>();
+
+    /** Caches of the rejected conversions of the other namespaces. */
+    private static final ConcurrentHashMap<Namespace, ConversionCache> rejectedInstances = new ConcurrentHashMap<>();
+
+    /** Namespace which conversions are cached. */
+    private final Namespace namespace;
+
+    /** Segments of the cache. */
+    private final Segment[] segments;
+
+    /** Maximum amount of the cached conversions. */
+    private final int maxSize;
+
+    /** Version of the rules of the cached conversions. */
+    private volatile long version;
+
+    /** Amount of the found conversions. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Amount of the not found conversions. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Amount of the conversions which are removed because the cache is full. */
+    private final LongAdder evictions = new LongAdder();
+
+    /** Amount of the clearings because the rules were changed. */
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Constructs cache of the default namespace.
+     * @param maxSize maximum amount of the cached conversions, if it is not positive nothing is cached.
+     */
+    ConversionCache(int maxSize) {
+        this(GraphHolder.getDefault(), maxSize);
+    }
+
+    /**
+     * Constructs cache.
+     * @param namespace namespace which conversions are cached.
+     * @param maxSize maximum amount of the cached conversions, if it is not positive nothing is cached.
+     */
+    ConversionCache(Namespace namespace, int maxSize) {
+        this.namespace = namespace;
+        version = namespace.getRulesVersion();
+        this.maxSize = Math.max(maxSize, 0);
+        segments = new Segment[SEGMENT_COUNT];
+        int segmentSize = (this.maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * Gets cache of the successful conversions of the server.
+     * @return cache.
+     */
+    static ConversionCache get() {
+        return instance;
+    }
+
+    /**
+     * Gets cache of the rejected conversions of the server, with 400 or 404 status.
+     * @return cache.
+     */
+    static ConversionCache rejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets cache of the successful conversions of the namespace, creates it at the first call.
+     * @param namespace namespace.
+     * @return cache.
+     */
+    static ConversionCache get(Namespace namespace) {
+        if (namespace == GraphHolder.getDefault()) {
+            return instance;
+        }
+        return cacheOf(instances, namespace, PROPERTY);
+    }
+
+    /**
+     * Gets cache of the rejected conversions of the namespace, creates it at the first call.
+     * @param namespace namespace.
+     * @return cache.
+     */
+    static ConversionCache rejected(Namespace namespace) {
+        if (namespace == GraphHolder.getDefault()) {
+            return rejected;
+        }
+        return cacheOf(rejectedInstances, namespace, REJECTED_PROPERTY);
+    }
+
+    /**
+     * Gets cache of the namespace, creates it at the first call. The request which started before the namespace was
+     * removed could come here after its caches were removed, then the created cache is used only by this request and
+     * is not kept, so the removed namespace is not held by the caches.
+     * @param caches caches of the namespaces.
+     * @param namespace namespace.
+     * @param property name of the system property which sets the maximum size of the cache.
+     * @return cache.
+     */
+    private static ConversionCache cacheOf(ConcurrentHashMap<Namespace, ConversionCache> caches, Namespace namespace,
+                                           String property) {
+        ConversionCache cache = caches.computeIfAbsent(namespace,
+                key -> new ConversionCache(key, Integer.getInteger(property, DEFAULT_SIZE)));
+        if (GraphHolder.getNamespace(namespace.getName()) != namespace) {
+            caches.remove(namespace, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Removes caches of the removed namespace. It is called after the namespace is removed from {@link GraphHolder},
+     * so caches are not created for it again.
+     * @param namespace namespace.
+     */
+    static void remove(Namespace namespace) {
+        instances.remove(namespace);
+        rejectedInstances.remove(namespace);
+    }
+
+    /**
+     * Finds cached conversion.
+     * @param from string with the units from which converts.
+     * @param to string with the units to which converts.
+     * @return cached result or null if conversion is not cached.
+     */
+    ConversionResult get(String from, String to) {
+        if (maxSize == 0) {
+            return null;
+        }
+        checkVersion();
+        Key key = new Key(from, to);
+        Segment segment = segmentOf(key);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(key);
+        }
+        if (entry == null || entry.version != version) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.result;
+    }
+
+    /**
+     * Caches the conversion.
+     * @param from string with the units from which converts.
+     * @param to string with the units to which converts.
+     * @param result result of the conversion.
+     * @param rulesVersion version of the rules with which the result was calculated.
+     */
+    void put(String from, String to, ConversionResult result, long rulesVersion) {
+        if (maxSize == 0) {
+            return;
+        }
+        checkVersion();
+        if (rulesVersion != version) {
+            return;
+        }
+        Key key = new Key(from, to);
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, new Entry(result, rulesVersion));
+        }
+    }
+
+    /**
+     * Removes all cached conversions.
+     */
+    void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets amount of the cached conversions.
+     * @return amount of the conversions.
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets maximum amount of the cached conversions.
+     * @return maximum amount, 0 if the cache is disabled.
+     */
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets amount of the found conversions.
+     * @return amount of the hits.
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets amount of the not found conversions.
+     * @return amount of the misses.
+     */
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets amount of the conversions which are removed because the cache is full.
+     * @return amount of the evictions.
+     */
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets amount of the clearings because the rules were changed.
+     * @return amount of the invalidations.
+     */
+    long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Clears the cache if the rules were changed after the conversions were cached.
+     */
+    private void checkVersion() {
+        checkVersion(namespace.getRulesVersion());
+    }
+
+    /**
+     * Clears the cache if the version of the rules is newer than the version of the cached conversions. Versions only
+     * grow, so the version which was read before the other thread moved the cache to the newer one is older than the
+     * cached version and is ignored: it does not move the cache back and does not clear it again.
+     * @param current version of the rules which was read by the caller.
+     */
+    void checkVersion(long current) {
+        if (current <= version) {
+            return;
+        }
+        synchronized (this) {
+            if (current <= version) {
+                return;
+            }
+            version = current;
+        }
+        clear();
+        invalidations.increment();
+    }
+
+    /**
+     * Finds segment of the key.
+     * @param key key.
+     * @return segment.
+     */
+    private Segment segmentOf(Key key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * Pair of "from" and "to" without spaces. Other differences of the text, like the order of the factors, give
+     * different keys.
+     */
+    private static final class Key {
+
+        /** "from" without spaces. */
+        private final String from;
+
+        /** "to" without spaces. */
+        private final String to;
+
+        /** Hash of the key. */
+        private final int hash;
+
+        /**
+         * Constructs key.
+         * @param from string with the units from which converts.
+         * @param to string with the units to which converts.
+         */
+        Key(String from, String to) {
+            this.from = withoutSpaces(from);
+            this.to = withoutSpaces(to);
+            hash = 31 * this.from.hashCode() + this.to.hashCode();
+        }
+
+        /**
+         * Removes spaces, they do not change the expression.
+         * @param text expression.
+         * @return expression without spaces, the same string if it does not have spaces.
+         */
+        private static String withoutSpaces(String text) {
+            return text.indexOf(' ') < 0 ? text : text.replace(" ", "");
+        }
+
+        /**
+         * Compares keys.
+         * @param o other key.
+         * @return true if "from" and "to" are the same.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash && from.equals(key.from) && to.equals(key.to);
+        }
+
+        /**
+         * Gets hash of the key.
+         * @return hash.
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        /**
+         * Gets text of the key.
+         * @return "from" and "to".
+         */
+        @Override
+        public String toString() {
+            return from + " -> " + to;
+        }
+    }
+
+    /**
+     * Cached conversion.
+     */
+    private static final class Entry {
+
+        /** Result of the conversion. */
+        private final ConversionResult result;
+
+        /** Version of the rules with which the result was calculated. */
+        private final long version;
+
+        /**
+         * Constructs entry.
+         * @param result result of the conversion.
+         * @param version version of the rules with which the result was calculated.
+         */
+        Entry(ConversionResult result, long version) {
+            this.result = result;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Part of the cache: LRU map which removes the least recently used conversion when it is full.
+     */
+    private final class Segment extends LinkedHashMap<Key, Entry> {
+
+        /** Version of the serialized form. */
+        private static final long serialVersionUID = 1L;
+
+        /** Maximum amount of the conversions in the segment. */
+        private final int capacity;
+
+        /**
+         * Constructs segment.
+         * @param capacity maximum amount of the conversions in the segment.
+         */
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        /**
+         * Checks if the least recently used conversion should be removed.
+         * @param eldest the least recently used conversion.
+         * @return true if the segment is full.
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ConversionCache.Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
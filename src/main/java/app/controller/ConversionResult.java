@@ -0,0 +1,74 @@
+package app.controller;
+
+import app.search.Value;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Result of one conversion of the batch: Http status as for the single conversion and the result if status is 200.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConversionResult {
+
+    /** Http status of the conversion. */
+    private final int status;
+
+    /** Result of the conversion or null if conversion is failed or it is not written yet. */
+    private String result;
+
+    /** Result of the conversion as the number or null. */
+    private final Value value;
+
+    /**
+     * Constructs result.
+     * @param status Http status of the conversion.
+     * @param result result of the conversion or null if conversion is failed.
+     */
+    public ConversionResult(int status, String result) {
+        this.status = status;
+        this.result = result;
+        this.value = null;
+    }
+
+    /**
+     * Constructs successful result, it is written to the string only when the string is needed.
+     * @param value result of the conversion, it is not modified.
+     */
+    ConversionResult(Value value) {
+        this.status = HttpStatus.OK.value();
+        this.value = value;
+    }
+
+    /**
+     * Gets Http status of the conversion.
+     * @return status.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets result of the conversion.
+     * @return result or null if conversion is failed.
+     */
+    public String getResult() {
+        if (result == null && value != null) {
+            result = value.toString();
+        }
+        return result;
+    }
+
+    /**
+     * Gets result of the conversion as the number.
+     * @return result which should not be modified or null if conversion is failed or it is constructed by the string.
+     */
+    @JsonIgnore
+    Value getValue() {
+        return value;
+    }
+}
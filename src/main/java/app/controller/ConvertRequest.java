@@ -0,0 +1,43 @@
+package app.controller;
+
+/**
+ * Body of the request to convert units.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public class ConvertRequest {
+
+    /** String with the units from which converts. */
+    private final String from;
+
+    /** String with the units to which converts. */
+    private final String to;
+
+    /**
+     * Constructs body of the request.
+     * @param from string with the units from which converts or null.
+     * @param to string with the units to which converts or null.
+     */
+    public ConvertRequest(String from, String to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Gets string with the units from which converts.
+     * @return string with the units or null if it is not declared.
+     */
+    public String getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets string with the units to which converts.
+     * @return string with the units or null if it is not declared.
+     */
+    public String getTo() {
+        return to;
+    }
+}
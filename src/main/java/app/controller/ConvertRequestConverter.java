@@ -0,0 +1,120 @@
+package app.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Class to read the body of the request to convert units. Body is read token by token and only "from" and "to"
+ * strings are kept, other fields are skipped without building the tree of the body. Spring Boot puts this converter
+ * before the default ones.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+@Component
+public class ConvertRequestConverter extends AbstractHttpMessageConverter<ConvertRequest> {
+
+    /** Creates readers of the bodies. */
+    private final static JsonFactory factory = new JsonFactory();
+
+    /**
+     * Constructs converter of the JSON bodies.
+     */
+    public ConvertRequestConverter() {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    /**
+     * Checks if the class is the body of the request to convert units.
+     * @param clazz class of the body.
+     * @return true if it is {@link ConvertRequest}.
+     */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ConvertRequest.class == clazz;
+    }
+
+    /**
+     * Checks if converter writes such class, it only reads.
+     * @param clazz class of the body.
+     * @param mediaType type of the body.
+     * @return false.
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Reads the body of the request.
+     * @param clazz class of the body.
+     * @param inputMessage request.
+     * @return body with "from" and "to", absent or not string fields are null.
+     * @throws IOException if body could not be read.
+     * @throws HttpMessageNotReadableException if body is not JSON object.
+     */
+    @Override
+    protected ConvertRequest readInternal(Class<? extends ConvertRequest> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        try (JsonParser parser = factory.createParser(inputMessage.getBody())) {
+            return read(parser, inputMessage);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("body is malformed : " + e.getOriginalMessage(), e,
+                    inputMessage);
+        }
+    }
+
+    /**
+     * Reads the JSON object with "from" and "to".
+     * @param parser reader of the body.
+     * @param inputMessage request.
+     * @return body with "from" and "to".
+     * @throws IOException if body could not be read.
+     */
+    static ConvertRequest read(JsonParser parser, HttpInputMessage inputMessage) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new HttpMessageNotReadableException("body is not JSON object", inputMessage);
+        }
+        String from = null;
+        String to = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            } else if (value == JsonToken.VALUE_STRING && "from".equals(field)) {
+                from = parser.getText();
+            } else if (value == JsonToken.VALUE_STRING && "to".equals(field)) {
+                to = parser.getText();
+            }
+        }
+        if (parser.currentToken() != JsonToken.END_OBJECT) {
+            throw new HttpMessageNotReadableException("body is not JSON object", inputMessage);
+        }
+        return new ConvertRequest(from, to);
+    }
+
+    /**
+     * Writes the body, converter does not write.
+     * @param request body.
+     * @param outputMessage response.
+     * @throws HttpMessageNotWritableException always.
+     */
+    @Override
+    protected void writeInternal(ConvertRequest request, HttpOutputMessage outputMessage)
+            throws HttpMessageNotWritableException {
+        throw new HttpMessageNotWritableException("body of the request is not written");
+    }
+}
@@ -0,0 +1,127 @@
+package app.controller;
+
+import app.holdingUnits.GraphHolder;
+import app.holdingUnits.Namespace;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class for processing requests about the state of the server. Server is live as soon as it answers and it is ready
+ * when units are preloaded, readiness of the other namespace is asked by "X-Namespace" header. Counters of the caches
+ * of the conversions are answered by "cache" address. Requests choose the namespace by the first segment of the path or
+ * by "X-Namespace" header, else the default namespace is used.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+@Controller
+public class LifecycleController {
+
+    /** Seconds after which the request should be repeated if units are not preloaded yet. */
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    /** Header with the name of the namespace of the request. */
+    static final String NAMESPACE_HEADER = "X-Namespace";
+
+    /**
+     * Processes requests with "live" address.
+     * @return response with 200 status.
+     */
+    @GetMapping("live")
+    public ResponseEntity<String> live() {
+        return new ResponseEntity<>("live", HttpStatus.OK);
+    }
+
+    /**
+     * Processes requests with "ready" address.
+     * @param name name of the namespace from the header or null for the default namespace.
+     * @return response with 200 status if units of the namespace are preloaded, else with 503 status and
+     * "Retry-After" header, with 404 status if there is no such namespace.
+     */
+    @GetMapping("ready")
+    public ResponseEntity<String> ready(@RequestHeader(value = NAMESPACE_HEADER, required = false) String name) {
+        if (!namespaceOf(null, name).isReady()) {
+            return notReady();
+        }
+        return new ResponseEntity<>("ready", HttpStatus.OK);
+    }
+
+    /**
+     * Processes requests with "ready" address for the default namespace.
+     * @return response with 200 status if units are preloaded, else with 503 status and "Retry-After" header.
+     */
+    public ResponseEntity<String> ready() {
+        return ready(null);
+    }
+
+    /**
+     * Processes requests with "cache" address.
+     * @param name name of the namespace from the header or null for the default namespace.
+     * @return response with the size and the counters of the caches of the successful and the rejected conversions
+     * of the namespace.
+     */
+    @GetMapping("cache")
+    public ResponseEntity<Map<String, Map<String, Long>>> cache(
+            @RequestHeader(value = NAMESPACE_HEADER, required = false) String name) {
+        Namespace namespace = namespaceOf(null, name);
+        Map<String, Map<String, Long>> caches = new LinkedHashMap<>();
+        caches.put("results", counters(ConversionCache.get(namespace)));
+        caches.put("rejected", counters(ConversionCache.rejected(namespace)));
+        return new ResponseEntity<>(caches, HttpStatus.OK);
+    }
+
+    /**
+     * Finds namespace of the request.
+     * @param pathName name of the namespace from the path or null.
+     * @param headerName name of the namespace from the header or null.
+     * @return namespace from the path, else from the header, else the default namespace.
+     * @throws ResponseStatusException with 404 status if there is no such namespace.
+     */
+    static Namespace namespaceOf(String pathName, String headerName) {
+        String name = pathName != null ? pathName : headerName;
+        if (name == null) {
+            return GraphHolder.getDefault();
+        }
+        Namespace namespace = GraphHolder.getNamespace(name);
+        if (namespace == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "unknown namespace " + name);
+        }
+        return namespace;
+    }
+
+    /**
+     * Gets the size and the counters of the cache.
+     * @param cache cache of the conversions.
+     * @return counters by their names.
+     */
+    static Map<String, Long> counters(ConversionCache cache) {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("size", (long) cache.size());
+        counters.put("maxSize", (long) cache.getMaxSize());
+        counters.put("hits", cache.getHits());
+        counters.put("misses", cache.getMisses());
+        counters.put("evictions", cache.getEvictions());
+        counters.put("invalidations", cache.getInvalidations());
+        return counters;
+    }
+
+    /**
+     * Creates response for the request which came before units are preloaded.
+     * @param <T> type of the response body.
+     * @return response with 503 status and "Retry-After" header.
+     */
+    static <T> ResponseEntity<T> notReady() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+}
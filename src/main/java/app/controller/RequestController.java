@@ -1,25 +1,28 @@
 package app.controller;
 
+import app.converter.Conversion;
+import app.converter.UnitConverter;
 import app.holdingUnits.*;
-import app.holdingUnits.containers.Graph;
-import app.holdingUnits.containers.Node;
-import app.search.Value;
-import app.search.Searcher;
+import app.holdingUnits.containers.UnitIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Class for processing requests.
+ * Class for processing requests, it is the adapter of {@link UnitConverter} to Http: it chooses the namespace, caches
+ * results and answers with the status. Every address is also served with the name of the namespace as the first
+ * segment of the path, "{namespace}/convert", the namespace could be chosen by "X-Namespace" header too.
  *
  * @version 1.0.0 10 Mar 2021
  * @author Aleksey Lakhanskii
@@ -31,188 +34,171 @@ public class RequestController {
     /** Logger for this class. */
     private final static Logger logger = LoggerFactory.getLogger(RequestController.class);
 
+    /** Result of the malformed conversion. */
+    private final static ConversionResult badRequest = new ConversionResult(HttpStatus.BAD_REQUEST.value(), null);
+
+    /** Result of the conversion of the units which could not be converted. */
+    private final static ConversionResult notFound = new ConversionResult(HttpStatus.NOT_FOUND.value(), null);
+
     /**
-     * Processes requests with "convert" address. Also before converting waits the ending of preloading thread to be
-     * sure that all units are preloaded.
+     * Processes requests with "convert" address. If units are not preloaded yet answers at once with 503 status and
+     * "Retry-After" header. Body is read by {@link ConvertRequestConverter}.
+     * @param pathName name of the namespace from the path or null.
+     * @param headerName name of the namespace from the header or null.
      * @param body body of the request.
-     * @return response, which consist of the text and Http status.
+     * @return response, which consist of the text and Http status, 404 status if there is no such namespace.
      */
-    @RequestMapping("convert")
+    @RequestMapping({"convert", "{namespace}/convert"})
     @PostMapping
-    public ResponseEntity<String> convert(@RequestBody Map<String, String> body) {
-        String from = body.get("from");
-        String to = body.get("to");
-
-        try {
-            Preloader.getPreloadingThread().join();
-            logger.debug("preloading thread join is successful");
-        } catch (InterruptedException e) {
-            logger.warn("preloading thread join error");
-            e.printStackTrace();
-        }
-
-        if (checkInput(from, to)) {
-            logger.debug("\"from\" or \"to\" is not declared");
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
-
-        logger.debug("got body with such \"from\" and \"to\"\n----from : {}\n----to : {}", from, to);
-        String[] fromTo = refactorArgs(from, to);
-        if (fromTo == null || (fromTo[0].equals("") && fromTo[1].equals(""))) {
-            logger.debug("bad form of \"from\" or \"to\" \n-from : {}\n-to : {}", from, to);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    public ResponseEntity<String> convert(@PathVariable(value = "namespace", required = false) String pathName,
+                                         @RequestHeader(value = LifecycleController.NAMESPACE_HEADER,
+                                                 required = false) String headerName,
+                                         @RequestBody ConvertRequest body) {
+        Namespace namespace = LifecycleController.namespaceOf(pathName, headerName);
+        if (!namespace.isReady()) {
+            logger.debug("units are not preloaded yet");
+            return LifecycleController.notReady();
         }
-        String[] fromSeparated = fromTo[0].split("\\*");
-        String[] toSeparated = fromTo[1].split("\\*");
-        boolean allUnitsFromExist = checkExistence(fromSeparated);
-        boolean allUnitsToExist = checkExistence(toSeparated);
-        if (allUnitsToExist || allUnitsFromExist) {
-            //is already logged in function "checkExistence"
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        long rulesVersion = namespace.getRulesVersion();
+        ConversionResult result = convert(namespace, converterOf(namespace), rulesVersion, body.getFrom(),
+                body.getTo());
+        if (result.getStatus() != HttpStatus.OK.value()) {
+            return new ResponseEntity<>(HttpStatus.valueOf(result.getStatus()));
         }
-
-        String result = calculateResult(
-                new ArrayList<>(Arrays.asList(fromSeparated)),
-                new ArrayList<>(Arrays.asList(toSeparated))
-        );
-
-        if (result == null) {
-            logger.debug("unable to convert \n----from : {}\n----to : {}", from, to);
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
-        logger.debug("converting result \n----from : {}\n----to : {}\n----result : {}", from, to, result);
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        return new ResponseEntity<>(result.getResult(), HttpStatus.OK);
     }
 
     /**
-     * Checks is input empty.
-     * @param from input string with units from which converts.
-     * @param to input string with units to which converts.
-     * @return if one of inputs is empty returns true, else false.
+     * Converts "from" and "to" of the map as the request with "convert" address to the default namespace.
+     * @param body map with "from" and "to".
+     * @return response, which consist of the text and Http status.
      */
-    private boolean checkInput(String from, String to) {
-        return from == null || to == null;
+    public ResponseEntity<String> convert(Map<String, String> body) {
+        return convert(null, null, new ConvertRequest(body.get("from"), body.get("to")));
     }
 
     /**
-     * Splits numerator and denominator of "from" and "to" units. Multiplies numerator of "from" and denominator of
-     * "to" and writs it into "from" and also multiplies numerator of "to" and denominator of "from" and writes it
-     * into "to".
-     * @param from string with the units from which converts.
-     * @param to string with the units to which converts.
-     * @return if form of "from" and "to" string is correct returns two elements, first is new "from" string, second is
-     * new "to" string.
+     * Processes requests with "convert/batch" address. Body is the array of the items with "from" and "to", every
+     * item is converted as by "convert" address and gets its own status. Equal conversions of the units are calculated
+     * once and all conversions are calculated together, grouped by the components. Cached items are not calculated.
+     * @param pathName name of the namespace from the path or null.
+     * @param headerName name of the namespace from the header or null.
+     * @param body body of the request.
+     * @return response with the results in the order of the items, 404 status if there is no such namespace.
      */
-    private static String[] refactorArgs(String from, String to) {
-        boolean fromContainsDividing = from.contains("/");
-        boolean toContainsDividing = to.contains("/");
-        String[] fromUnits = from.replace(" ", "").split("/");
-        String[] toUnits = to.replace(" ", "").split("/");
-        if ((fromContainsDividing && fromUnits.length == 1) || (toContainsDividing && toUnits.length == 1)) {
-            return null;
+    @PostMapping({"convert/batch", "{namespace}/convert/batch"})
+    public ResponseEntity<List<ConversionResult>> convertBatch(
+            @PathVariable(value = "namespace", required = false) String pathName,
+            @RequestHeader(value = LifecycleController.NAMESPACE_HEADER, required = false) String headerName,
+            @RequestBody List<Map<String, String>> body) {
+        Namespace namespace = LifecycleController.namespaceOf(pathName, headerName);
+        if (!namespace.isReady()) {
+            logger.debug("units are not preloaded yet");
+            return LifecycleController.notReady();
         }
-        if (fromUnits[0].equals("1")) {
-            fromUnits[0] = "";
+        long rulesVersion = namespace.getRulesVersion();
+        UnitConverter converter = converterOf(namespace);
+        ConversionResult[] results = new ConversionResult[body.size()];
+        int[] pending = new int[body.size()];
+        int pendingCount = 0;
+        for (int i = 0; i < body.size(); i++) {
+            Map<String, String> item = body.get(i);
+            results[i] = item == null ? badRequest : findCached(namespace, item.get("from"), item.get("to"));
+            if (results[i] == null) {
+                pending[pendingCount++] = i;
+            }
         }
-        if (toUnits[0].equals("1")) {
-            toUnits[0] = "";
+        String[] from = new String[pendingCount];
+        String[] to = new String[pendingCount];
+        for (int i = 0; i < pendingCount; i++) {
+            from[i] = body.get(pending[i]).get("from");
+            to[i] = body.get(pending[i]).get("to");
         }
-        return new String[]{
-                buildArgs(fromUnits, toUnits).toString(),
-                buildArgs(toUnits, fromUnits).toString()
-        };
+        Conversion[] conversions = converter.convertAll(from, to);
+        for (int i = 0; i < pendingCount; i++) {
+            results[pending[i]] = store(namespace, from[i], to[i], conversions[i], rulesVersion);
+        }
+        return new ResponseEntity<>(Arrays.asList(results), HttpStatus.OK);
     }
 
     /**
-     * Multiplies numerator (units before "/") of the first units and denominator (units after "/") of the second
-     * units.
-     * @param units1 first units set.
-     * @param units2 second units set.
-     * @return string with multiplication numerator of the first units and denominator of the second units.
+     * Gets converter of the units of the namespace which are published now.
+     * @param namespace namespace.
+     * @return converter.
      */
-    private static StringBuilder buildArgs(String[] units1, String[] units2) {
-        StringBuilder result = new StringBuilder();
-        if (units2.length > 0) result.append(units2[0]);
-        if (units2.length > 0 && units1.length > 1) {
-            if (units2[0].length() > 0) {
-                result.append("*");
-            }
-        }
-        if (units1.length > 1) result.append(units1[1]);
-        return result;
+    static UnitConverter converterOf(Namespace namespace) {
+        UnitIndex units = namespace.getIndex();
+        return UnitConverter.of(units, namespace.getNameFilter(units));
     }
 
     /**
-     * Checks existence of the units.
-     * @param units units which existence should be checked.
-     * @return if all units exists returns false, else returns true.
+     * Converts units by the converter, if the conversion is cached, successful or rejected, returns its result at
+     * once. Result is cached.
+     * @param namespace namespace of the units, its caches are used.
+     * @param converter converter of the units of the namespace.
+     * @param rulesVersion version of the rules which was before the converter was got.
+     * @param from string with the units from which converts.
+     * @param to string with the units to which converts.
+     * @return result with 200, 400 or 404 status.
      */
-    private boolean checkExistence(String[] units) {
-        for (String nameIterator : units) {
-            if (nameIterator.equals("")) {
-                continue;
-            }
-            if (!Node.checkExistence(nameIterator)) {
-                logger.debug("there is not such unit : {}", nameIterator);
-                return true;
-            }
+    static ConversionResult convert(Namespace namespace, UnitConverter converter, long rulesVersion, String from,
+                                    String to) {
+        ConversionResult cached = findCached(namespace, from, to);
+        if (cached != null) {
+            return cached;
         }
-        return false;
+        return store(namespace, from, to, converter.convert(from, to), rulesVersion);
     }
 
     /**
-     * Calculates converting from "from" units to "to" units. Iterates through "toUnits" and tries to find conversion
-     * to one of "fromUnits".
-     * @param toUnits units to which converting rule is searches.
-     * @param fromUnits units from which converting rule is searches.
-     * @return if finds all conversions then return the result as string, if doesn't finds one of conversions returns
-     * null.
+     * Finds cached conversion, successful or rejected.
+     * @param namespace namespace of the units, its caches are used.
+     * @param from string with the units from which converts.
+     * @param to string with the units to which converts.
+     * @return cached result, result with 400 status if "from" or "to" is not declared or null if conversion is not
+     * cached.
      */
-    private String calculateResult (ArrayList<String> toUnits, ArrayList<String> fromUnits) {
-        if (fromUnits.size() != toUnits.size()) {
-            return null;
+    private static ConversionResult findCached(Namespace namespace, String from, String to) {
+        if (from == null || to == null) {
+            logger.debug("\"from\" or \"to\" is not declared");
+            return badRequest;
         }
-        final Value result = new Value();
-        ArrayList<Searcher> searchThreads = new ArrayList<>();
-        if (getConvertingWays(toUnits, fromUnits, searchThreads)) {
-            return null;
+        ConversionResult cached = ConversionCache.get(namespace).get(from, to);
+        if (cached == null) {
+            cached = ConversionCache.rejected(namespace).get(from, to);
         }
-        searchThreads.forEach(Searcher::start);
-        searchThreads.forEach(thread -> {
-            try {
-                thread.join();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        });
-        searchThreads.forEach(thread -> result.multiply(thread.getResult()));
-
-        return result.toString();
+        if (cached != null) {
+            logger.debug("conversion is cached \n----from : {}\n----to : {}", from, to);
+        }
+        return cached;
     }
 
     /**
-     * Finds units which are able to convert from one to other and adds searching thread to searching array.
-     * @param toUnits to which units convert;
-     * @param fromUnits from which units convert;
-     * @param searchThreads collection of prepared to start searching threads.
-     * @return true if impossible to convert units, else returns false.
+     * Gets the result of the conversion with Http status and caches it.
+     * @param namespace namespace of the units, its caches are used.
+     * @param from string with the units from which converts.
+     * @param to string with the units to which converts.
+     * @param conversion conversion.
+     * @param rulesVersion version of the rules which was before the converter was got.
+     * @return result with 200, 400 or 404 status.
      */
-    private boolean getConvertingWays(ArrayList<String> toUnits, ArrayList<String> fromUnits,
-                                      ArrayList<Searcher> searchThreads) {
-        whileLoop:
-        while (fromUnits.size() > 0) {
-            String numeratorIterator = fromUnits.get(0);
-            Graph graph = GraphHolder.findGraph(numeratorIterator);
-            for (String denominatorIterator : toUnits) {
-                if(graph.existenceNode(denominatorIterator)) {
-                    searchThreads.add(new Searcher(graph, numeratorIterator, denominatorIterator));
-                    toUnits.remove(denominatorIterator);
-                    fromUnits.remove(numeratorIterator);
-                    continue whileLoop;
+    private static ConversionResult store(Namespace namespace, String from, String to, Conversion conversion,
+                                          long rulesVersion) {
+        switch (conversion.getStatus()) {
+            case MALFORMED:
+                ConversionCache.rejected(namespace).put(from, to, badRequest, rulesVersion);
+                return badRequest;
+            case NOT_CONVERTIBLE:
+                ConversionCache.rejected(namespace).put(from, to, notFound, rulesVersion);
+                return notFound;
+            default:
+                ConversionResult result = new ConversionResult(conversion.getValue());
+                ConversionCache.get(namespace).put(from, to, result, rulesVersion);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("converting result \n----from : {}\n----to : {}\n----result : {}", from, to,
+                            result.getResult());
                 }
-            }
-            return true;
+                return result;
         }
-        return false;
     }
 }
@@ -0,0 +1,208 @@
+package app.controller;
+
+import app.converter.UnitConverter;
+import app.holdingUnits.GraphHolder;
+import app.holdingUnits.Namespace;
+import app.search.Value;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Class for processing streams of the values which should be converted. Request body is the newline-delimited JSON
+ * with the records {"value": ..., "from": ..., "to": ...}, response body is the newline-delimited JSON with the
+ * records {"status": ..., "value": ...} in the same order. Records are read and written one by one, so memory does not
+ * depend on the size of the stream, and the next record is not read until the previous one is written, so slow
+ * client slows down reading. Converting rule is calculated only when units differ from the previous record.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+@Controller
+public class StreamController {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(StreamController.class);
+
+    /** Content type of the newline-delimited JSON. */
+    private final static String ndjsonType = "application/x-ndjson";
+
+    /** Reads records, numbers are read as decimals to keep all digits. */
+    private final static ObjectMapper mapper = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .enable(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS);
+
+    /** Creates writers of the records. */
+    private final static JsonFactory factory = mapper.getFactory();
+
+    /**
+     * Processes requests with "convert/stream" address.
+     * @param pathName name of the namespace from the path or null.
+     * @param headerName name of the namespace from the header or null.
+     * @param request request with the stream of records.
+     * @param response response to which converted records are written.
+     * @throws IOException if stream could not be read or written.
+     */
+    @PostMapping({"convert/stream", "{namespace}/convert/stream"})
+    public void convertStream(@PathVariable(value = "namespace", required = false) String pathName,
+                              @RequestHeader(value = LifecycleController.NAMESPACE_HEADER, required = false)
+                                      String headerName,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Namespace namespace = LifecycleController.namespaceOf(pathName, headerName);
+        if (!namespace.isReady()) {
+            logger.debug("units are not preloaded yet");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, LifecycleController.RETRY_AFTER_SECONDS);
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(ndjsonType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        long count = convertStream(namespace, request.getReader(),
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        logger.debug("stream of {} records is converted", count);
+    }
+
+    /**
+     * Converts records from the reader and writes results to the writer. Writer is flushed when there are no more
+     * read records, so results are not held while the client is sending the next records. Units of the default
+     * namespace are used.
+     * @param input newline-delimited JSON with the records.
+     * @param output writer for the results.
+     * @return amount of the records.
+     * @throws IOException if stream could not be read or written.
+     */
+    static long convertStream(Reader input, Writer output) throws IOException {
+        return convertStream(GraphHolder.getDefault(), input, output);
+    }
+
+    /**
+     * Converts records from the reader and writes results to the writer. Writer is flushed when there are no more
+     * read records, so results are not held while the client is sending the next records.
+     * @param namespace namespace of the units.
+     * @param input newline-delimited JSON with the records.
+     * @param output writer for the results.
+     * @return amount of the records.
+     * @throws IOException if stream could not be read or written.
+     */
+    static long convertStream(Namespace namespace, Reader input, Writer output) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        JsonGenerator generator = factory.createGenerator(output);
+        generator.setRootValueSeparator(null);
+        long rulesVersion = namespace.getRulesVersion();
+        UnitConverter converter = RequestController.converterOf(namespace);
+        boolean hasLast = false;
+        String lastFrom = null;
+        String lastTo = null;
+        Value factor = null;
+        int status = HttpStatus.OK.value();
+        long count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            count++;
+            JsonNode record;
+            try {
+                record = mapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                logger.debug("record {} is malformed : {}", count, e.getOriginalMessage());
+                writeRecord(generator, HttpStatus.BAD_REQUEST.value(), null);
+                continue;
+            }
+            String from = text(record.get("from"));
+            String to = text(record.get("to"));
+            if (!hasLast || !Objects.equals(from, lastFrom) || !Objects.equals(to, lastTo)) {
+                hasLast = true;
+                lastFrom = from;
+                lastTo = to;
+                ConversionResult result = RequestController.convert(namespace, converter, rulesVersion, from, to);
+                factor = result.getValue();
+                status = result.getStatus();
+            }
+            writeRecord(generator, status, factor == null ? null : convert(record.get("value"), factor));
+            if (!reader.ready()) {
+                generator.flush();
+            }
+        }
+        generator.close();
+        return count;
+    }
+
+    /**
+     * Multiplies value of the record by the converting rule.
+     * @param value value of the record, number or string.
+     * @param factor converting rule.
+     * @return converted value or null if value is absent, malformed or out of range.
+     */
+    private static Value convert(JsonNode value, Value factor) {
+        String text = text(value);
+        if (text == null) {
+            return null;
+        }
+        try {
+            Value result = new Value(text);
+            result.multiply(factor);
+            return result;
+        } catch (NumberFormatException | ArithmeticException e) {
+            logger.debug("value is malformed : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets text of the JSON field.
+     * @param node field.
+     * @return text of the string or number, else null.
+     */
+    private static String text(JsonNode node) {
+        if (node == null || !(node.isTextual() || node.isNumber())) {
+            return null;
+        }
+        return node.isBigDecimal() ? node.decimalValue().toString() : node.asText();
+    }
+
+    /**
+     * Writes the result of the record.
+     * @param generator writer of the records.
+     * @param status Http status of the record, if value is null and status is 200 writes 400.
+     * @param value converted value or null.
+     * @throws IOException if stream could not be written.
+     */
+    private static void writeRecord(JsonGenerator generator, int status, Value value) throws IOException {
+        generator.writeStartObject();
+        if (value == null) {
+            generator.writeNumberField("status", status == HttpStatus.OK.value() ? HttpStatus.BAD_REQUEST.value()
+                    : status);
+        } else {
+            generator.writeNumberField("status", status);
+            generator.writeStringField("value", value.toString());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
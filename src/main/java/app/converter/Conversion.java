@@ -0,0 +1,110 @@
+package app.converter;
+
+import app.search.Value;
+
+/**
+ * Result of the conversion by {@link UnitConverter}: the factor, how many "to" units are in the "from" units, or the
+ * reason why units could not be converted. The factor is given both as the exact value and as the double. Result is
+ * immutable.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public final class Conversion {
+
+    /**
+     * Status of the conversion.
+     */
+    public enum Status {
+        /** Units are converted. */
+        CONVERTED,
+        /**
+         * One of the expressions is absent, malformed, has unknown unit or both expressions do not have units, or the
+         * factor is out of range of the values.
+         */
+        MALFORMED,
+        /** Units are known but there is no way to convert them. */
+        NOT_CONVERTIBLE
+    }
+
+    /** Result of the malformed conversion. */
+    static final Conversion malformed = new Conversion(Status.MALFORMED, null);
+
+    /** Result of the conversion of the units which could not be converted. */
+    static final Conversion notConvertible = new Conversion(Status.NOT_CONVERTIBLE, null);
+
+    /** Status of the conversion. */
+    private final Status status;
+
+    /** Factor or null if units are not converted, it is never modified. */
+    private final Value factor;
+
+    /** Factor as the double or NaN if units are not converted. */
+    private final double doubleFactor;
+
+    /**
+     * Constructs result of the successful conversion.
+     * @param factor factor, it is not modified after.
+     */
+    Conversion(Value factor) {
+        this(Status.CONVERTED, factor);
+    }
+
+    /**
+     * Constructs result.
+     * @param status status of the conversion.
+     * @param factor factor or null if units are not converted.
+     */
+    private Conversion(Status status, Value factor) {
+        this.status = status;
+        this.factor = factor;
+        doubleFactor = factor == null ? Double.NaN : factor.doubleValue();
+    }
+
+    /**
+     * Gets status of the conversion.
+     * @return status.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks if units are converted.
+     * @return true if there is the factor.
+     */
+    public boolean isConverted() {
+        return status == Status.CONVERTED;
+    }
+
+    /**
+     * Gets the exact factor.
+     * @return new value with how many "to" units are in the "from" units or null if units are not converted.
+     */
+    public Value getValue() {
+        if (factor == null) {
+            return null;
+        }
+        Value value = new Value();
+        value.multiply(factor);
+        return value;
+    }
+
+    /**
+     * Gets the factor as the double, it is rounded if the exact factor does not fit.
+     * @return how many "to" units are in the "from" units or NaN if units are not converted.
+     */
+    public double doubleValue() {
+        return doubleFactor;
+    }
+
+    /**
+     * Gets text of the result.
+     * @return the factor or the status.
+     */
+    @Override
+    public String toString() {
+        return factor == null ? status.name() : factor.toString();
+    }
+}
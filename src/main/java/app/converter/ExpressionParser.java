@@ -0,0 +1,478 @@
+package app.converter;
+
+import app.holdingUnits.containers.NameFilter;
+import app.holdingUnits.containers.UnitIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Class to read "from" and "to" expressions like "м^3 * кг / (с * с) / моль" in one pass. Names are collected
+ * without spaces into the reusable char array, checked by the filter of the names and found in the units straight from
+ * it, so unknown names usually do not reach the units. The result is the canonical sparse vector of the unit ids with
+ * their exponents in "from / to", sorted by the ids, so repeated units are merged and the same unit in the numerator
+ * and in the denominator cancels. Parsed units are matched by the components into the pairs of units which are
+ * converted with the power. Every thread has its own parser.
+ * <p>
+ * Grammar, spaces are skipped everywhere:
+ * <pre>
+ * expression = product ("/" product)*        every product after "/" divides, "a / b * c" is "a / (b * c)"
+ * product    = power ("*" power)*
+ * power      = primary ("^" ["-"] digits)?
+ * primary    = name | "1" | "(" expression ")"
+ * </pre>
+ * Empty expression and "1" mean there are no units. Names could not have " ", "*", "/", "^", "(" and ")".
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+final class ExpressionParser {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(ExpressionParser.class);
+
+    /** The biggest absolute value of the exponent of the unit. */
+    static final int MAX_POWER = 1000;
+
+    /** The biggest depth of the parentheses. */
+    static final int MAX_DEPTH = 64;
+
+    /** Parsers of the threads. */
+    private static final ThreadLocal<ExpressionParser> parsers = ThreadLocal.withInitial(ExpressionParser::new);
+
+    /** Chars of the current name. */
+    private char[] name = new char[32];
+
+    /** Ids of the units. */
+    private int[] ids = new int[8];
+
+    /** Exponents of the units. */
+    private int[] exponents = new int[8];
+
+    /** Amount of the units. */
+    private int size;
+
+    /** Sorted units as id and exponent or as component and index. */
+    private long[] keys = new long[8];
+
+    /** Ids of the units FROM which pairs are converted. */
+    private int[] startIds = new int[8];
+
+    /** Ids of the units TO which pairs are converted. */
+    private int[] endIds = new int[8];
+
+    /** Powers of the pairs. */
+    private int[] powers = new int[8];
+
+    /** Amount of the pairs. */
+    private int pairCount;
+
+    /** Units which are used to convert, while parsing. */
+    private UnitIndex units;
+
+    /** Filter of the names of the units or null, while parsing. */
+    private NameFilter filter;
+
+    /** Expression which is parsed. */
+    private CharSequence text;
+
+    /** Index of the next char of the expression. */
+    private int position;
+
+    /** Depth of the parentheses. */
+    private int depth;
+
+    /**
+     * Constructs parser.
+     */
+    private ExpressionParser() {
+    }
+
+    /**
+     * Gets parser of the current thread.
+     * @return parser.
+     */
+    static ExpressionParser get() {
+        return parsers.get();
+    }
+
+    /**
+     * Reads "from" and "to" expressions. Exponents of "to" are negated, so the vector is the vector of "from / to".
+     * @param units units which are used to convert.
+     * @param from expression with units from which converts.
+     * @param to expression with units to which converts.
+     * @return false if one of expressions is malformed, has unknown unit or both expressions do not have units.
+     */
+    boolean parse(UnitIndex units, CharSequence from, CharSequence to) {
+        return parse(units, null, from, to);
+    }
+
+    /**
+     * Reads "from" and "to" expressions checking names by the filter before they are found in the units.
+     * @param units units which are used to convert.
+     * @param filter filter of the names of the units or null.
+     * @param from expression with units from which converts.
+     * @param to expression with units to which converts.
+     * @return false if one of expressions is malformed, has unknown unit or both expressions do not have units.
+     */
+    boolean parse(UnitIndex units, NameFilter filter, CharSequence from, CharSequence to) {
+        size = 0;
+        this.units = units;
+        this.filter = filter;
+        boolean parsed = parseText(from, 1) && parseText(to, -1);
+        this.units = null;
+        this.filter = null;
+        this.text = null;
+        if (!parsed) {
+            return false;
+        }
+        if (size == 0) {
+            logger.debug("there are no units \n-from : {}\n-to : {}", from, to);
+            return false;
+        }
+        return normalize();
+    }
+
+    /**
+     * Gets amount of the units.
+     * @return amount of the units.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets id of the unit.
+     * @param index index of the unit, units are sorted by the ids.
+     * @return id of the unit.
+     */
+    int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Gets exponent of the unit in "from / to".
+     * @param index index of the unit, units are sorted by the ids.
+     * @return not zero exponent.
+     */
+    int getExponent(int index) {
+        return exponents[index];
+    }
+
+    /**
+     * Matches parsed units by their components. In every component units with positive exponents are paired with
+     * units with negative exponents, the pair takes the smaller of their exponents as its power. Conversion is
+     * possible only if the sum of the exponents of every component is zero, so histograms of the components of
+     * "from" and "to" are the same.
+     * @param units units which are used to convert.
+     * @return false if histograms of the components differ.
+     */
+    boolean match(UnitIndex units) {
+        if (startIds.length < size) {
+            startIds = new int[ids.length];
+            endIds = new int[ids.length];
+            powers = new int[ids.length];
+        }
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) units.findComponent(ids[i]) << 32) | i;
+        }
+        Arrays.sort(keys, 0, size);
+        pairCount = 0;
+        int first = 0;
+        while (first < size) {
+            long component = keys[first] >>> 32;
+            int end = first;
+            long balance = 0;
+            for (; end < size && keys[end] >>> 32 == component; end++) {
+                balance += exponents[(int) keys[end]];
+            }
+            if (balance != 0) {
+                return false;
+            }
+            int start = next(first, end, 1);
+            int finish = next(first, end, -1);
+            int startRest = start < end ? exponents[(int) keys[start]] : 0;
+            int finishRest = finish < end ? -exponents[(int) keys[finish]] : 0;
+            while (start < end) {
+                int power = Math.min(startRest, finishRest);
+                startIds[pairCount] = ids[(int) keys[start]];
+                endIds[pairCount] = ids[(int) keys[finish]];
+                powers[pairCount++] = power;
+                startRest -= power;
+                finishRest -= power;
+                if (startRest == 0) {
+                    start = next(start + 1, end, 1);
+                    startRest = start < end ? exponents[(int) keys[start]] : 0;
+                }
+                if (finishRest == 0) {
+                    finish = next(finish + 1, end, -1);
+                    finishRest = finish < end ? -exponents[(int) keys[finish]] : 0;
+                }
+            }
+            first = end;
+        }
+        return true;
+    }
+
+    /**
+     * Gets amount of the matched pairs.
+     * @return amount of the pairs.
+     */
+    int getPairCount() {
+        return pairCount;
+    }
+
+    /**
+     * Gets id of the unit FROM which the pair is converted.
+     * @param index index of the pair.
+     * @return id of the unit.
+     */
+    int getStartId(int index) {
+        return startIds[index];
+    }
+
+    /**
+     * Gets id of the unit TO which the pair is converted.
+     * @param index index of the pair.
+     * @return id of the unit.
+     */
+    int getEndId(int index) {
+        return endIds[index];
+    }
+
+    /**
+     * Gets power to which the converting rule of the pair is raised.
+     * @param index index of the pair.
+     * @return positive power.
+     */
+    int getPower(int index) {
+        return powers[index];
+    }
+
+    /**
+     * Finds the next unit of the component with the exponent of the sign.
+     * @param from index of the key from which unit is searched.
+     * @param end index after the last key of the component.
+     * @param sign 1 for positive exponents, -1 for negative exponents.
+     * @return index of the key of the unit or end if there is no such unit.
+     */
+    private int next(int from, int end, int sign) {
+        while (from < end && Integer.signum(exponents[(int) keys[from]]) != sign) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Reads one of expressions.
+     * @param text the expression.
+     * @param sign 1 for "from", -1 for "to".
+     * @return false if the expression is malformed or has unknown unit.
+     */
+    private boolean parseText(CharSequence text, int sign) {
+        this.text = text;
+        position = 0;
+        depth = 0;
+        if (peek() < 0) {
+            return true;
+        }
+        if (!parseExpression(sign)) {
+            return false;
+        }
+        if (peek() >= 0) {
+            logger.debug("unexpected \"{}\" at {} : {}", text.charAt(position), position, text);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads expression: products which are divided.
+     * @param sign sign of the exponents of the first product.
+     * @return false if the expression is malformed or has unknown unit.
+     */
+    private boolean parseExpression(int sign) {
+        if (!parseProduct(sign)) {
+            return false;
+        }
+        while (peek() == '/') {
+            position++;
+            if (!parseProduct(-sign)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads product of the powers.
+     * @param sign sign of the exponents.
+     * @return false if the product is malformed or has unknown unit.
+     */
+    private boolean parseProduct(int sign) {
+        if (!parsePower(sign)) {
+            return false;
+        }
+        while (peek() == '*') {
+            position++;
+            if (!parsePower(sign)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads unit or expression in the parentheses with the optional exponent.
+     * @param sign sign of the exponents.
+     * @return false if it is malformed or has unknown unit.
+     */
+    private boolean parsePower(int sign) {
+        int first = size;
+        if (!parsePrimary(sign)) {
+            return false;
+        }
+        if (peek() != '^') {
+            return true;
+        }
+        position++;
+        boolean negative = peek() == '-';
+        if (negative) {
+            position++;
+        }
+        int digits = 0;
+        long power = 0;
+        for (int symbol = peek(); symbol >= '0' && symbol <= '9'; symbol = peek()) {
+            power = Math.min(power * 10 + symbol - '0', MAX_POWER + 1);
+            digits++;
+            position++;
+        }
+        if (digits == 0) {
+            logger.debug("exponent is expected at {} : {}", position, text);
+            return false;
+        }
+        for (int i = first; i < size; i++) {
+            long exponent = exponents[i] * (negative ? -power : power);
+            if (Math.abs(exponent) > MAX_POWER) {
+                logger.debug("exponent is bigger then {} : {}", MAX_POWER, text);
+                return false;
+            }
+            exponents[i] = (int) exponent;
+        }
+        return true;
+    }
+
+    /**
+     * Reads unit or expression in the parentheses.
+     * @param sign sign of the exponents.
+     * @return false if it is malformed or has unknown unit.
+     */
+    private boolean parsePrimary(int sign) {
+        if (peek() == '(') {
+            position++;
+            if (++depth > MAX_DEPTH) {
+                logger.debug("parentheses are deeper then {} : {}", MAX_DEPTH, text);
+                return false;
+            }
+            if (!parseExpression(sign)) {
+                return false;
+            }
+            if (peek() != ')') {
+                logger.debug("\")\" is expected at {} : {}", position, text);
+                return false;
+            }
+            position++;
+            depth--;
+            return true;
+        }
+        int length = 0;
+        for (; position < text.length(); position++) {
+            char symbol = text.charAt(position);
+            if (symbol == '*' || symbol == '/' || symbol == '^' || symbol == '(' || symbol == ')') {
+                break;
+            }
+            if (symbol == ' ') {
+                continue;
+            }
+            if (length == name.length) {
+                name = Arrays.copyOf(name, length * 2);
+            }
+            name[length++] = symbol;
+        }
+        if (length == 0) {
+            logger.debug("unit is expected at {} : {}", position, text);
+            return false;
+        }
+        if (length == 1 && name[0] == '1') {
+            return true;
+        }
+        return addUnit(length, sign);
+    }
+
+    /**
+     * Skips spaces and gets the next char.
+     * @return the next char or -1 if the expression is over.
+     */
+    private int peek() {
+        while (position < text.length() && text.charAt(position) == ' ') {
+            position++;
+        }
+        return position < text.length() ? text.charAt(position) : -1;
+    }
+
+    /**
+     * Finds the unit of the current name and adds it.
+     * @param length length of the current name.
+     * @param sign exponent of the unit.
+     * @return false if there is no such unit.
+     */
+    private boolean addUnit(int length, int sign) {
+        int id = filter == null || filter.mightContain(name, length) ? units.findId(name, length) : -1;
+        if (id < 0) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("there is not such unit : {}", new String(name, 0, length));
+            }
+            return false;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            exponents = Arrays.copyOf(exponents, size * 2);
+            keys = new long[size * 2];
+        }
+        ids[size] = id;
+        exponents[size++] = sign;
+        return true;
+    }
+
+    /**
+     * Sorts units by the ids, merges exponents of the same units and removes units with zero exponents.
+     * @return false if exponent of the unit is too big.
+     */
+    private boolean normalize() {
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) ids[i] << 32) | (exponents[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(keys, 0, size);
+        int count = 0;
+        int i = 0;
+        while (i < size) {
+            int id = (int) (keys[i] >>> 32);
+            long exponent = 0;
+            for (; i < size && (int) (keys[i] >>> 32) == id; i++) {
+                exponent += (int) keys[i];
+            }
+            if (Math.abs(exponent) > MAX_POWER) {
+                logger.debug("exponent of the unit {} is bigger then {}", id, MAX_POWER);
+                return false;
+            }
+            if (exponent != 0) {
+                ids[count] = id;
+                exponents[count++] = (int) exponent;
+            }
+        }
+        size = count;
+        return true;
+    }
+}
@@ -0,0 +1,253 @@
+package app.converter;
+
+import app.holdingUnits.Preloader;
+import app.holdingUnits.containers.MappedUnitIndex;
+import app.holdingUnits.containers.NameFilter;
+import app.holdingUnits.containers.UnitIndex;
+import app.holdingUnits.containers.UnitTable;
+import app.search.SearchStrategy;
+import app.search.Searcher;
+import app.search.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converter of the units which could be used in the process without the server. It is built from the converting
+ * rules once and never changes, it does not use the units of the server, so many converters with different rules
+ * could be used at once. Conversions are thread-safe: every thread parses the expressions by its own parser. Big
+ * conversions are searched on the pools of the search strategies, these pools are static and are shared by all
+ * converters and the server of the process, the strategy is chosen by "search.strategy" system property.
+ * <pre>
+ * UnitConverter converter = UnitConverter.fromRules(Paths.get("rules.csv"));
+ * Conversion conversion = converter.convert("км / час", "м / с");
+ * double factor = conversion.doubleValue();
+ * </pre>
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public final class UnitConverter {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(UnitConverter.class);
+
+    /** Units which are used to convert, they are never changed. */
+    private final UnitIndex units;
+
+    /** Filter of the names of the units or null. */
+    private final NameFilter filter;
+
+    /**
+     * Constructs converter.
+     * @param units units which are used to convert.
+     * @param filter filter of the names of the units or null.
+     */
+    private UnitConverter(UnitIndex units, NameFilter filter) {
+        this.units = units;
+        this.filter = filter;
+    }
+
+    /**
+     * Builds converter from the file with converting rules "unit1,unit2,quotient". Malformed lines are logged and
+     * skipped.
+     * @param path path to the file.
+     * @return converter.
+     * @throws IOException if the file could not be read.
+     */
+    public static UnitConverter fromRules(Path path) throws IOException {
+        UnitTable table = new UnitTable();
+        Preloader.readRules(path.toString(), table);
+        return of(table.snapshot());
+    }
+
+    /**
+     * Builds converter from the stream with converting rules "unit1,unit2,quotient" in UTF-8. Malformed lines are
+     * logged and skipped.
+     * @param input stream with converting rules, it is read to the end and is not closed.
+     * @return converter.
+     * @throws IOException if the stream could not be read.
+     */
+    public static UnitConverter fromRules(InputStream input) throws IOException {
+        UnitTable table = new UnitTable();
+        Preloader.readRules(input, table);
+        return of(table.snapshot());
+    }
+
+    /**
+     * Builds converter from the compiled snapshot of the units, see {@link Preloader#compile(String, String)}.
+     * @param path path to the snapshot.
+     * @return converter.
+     * @throws IOException if the snapshot could not be mapped or it is malformed.
+     */
+    public static UnitConverter fromSnapshot(Path path) throws IOException {
+        return of(MappedUnitIndex.map(path));
+    }
+
+    /**
+     * Creates converter of the units. The table of the units is changed by the search of the components, so the
+     * snapshot of the table is taken and later changes of the table are not seen by the converter.
+     * @param units units which are never changed, for example the snapshot of the table, or the table.
+     * @return converter.
+     */
+    public static UnitConverter of(UnitIndex units) {
+        UnitIndex immutableUnits = immutable(units);
+        return new UnitConverter(immutableUnits, NameFilter.of(immutableUnits));
+    }
+
+    /**
+     * Creates converter of the units with already built filter of the names. The snapshot of the table is taken as
+     * in {@link #of(UnitIndex)}.
+     * @param units units which are never changed, for example the snapshot of the table, or the table.
+     * @param filter filter of the names of these units or null.
+     * @return converter.
+     */
+    public static UnitConverter of(UnitIndex units, NameFilter filter) {
+        return new UnitConverter(immutable(units), filter);
+    }
+
+    /**
+     * Gets units which are never changed.
+     * @param units units.
+     * @return snapshot if units are the table, else the same units.
+     */
+    private static UnitIndex immutable(UnitIndex units) {
+        return units instanceof UnitTable ? ((UnitTable) units).snapshot() : units;
+    }
+
+    /**
+     * Gets units of the converter.
+     * @return units.
+     */
+    public UnitIndex getUnits() {
+        return units;
+    }
+
+    /**
+     * Converts units. Units are matched by the histograms of their components, units which are in both "from" and
+     * "to" cancel and repeated units are converted once with the power.
+     * @param from expression with the units from which converts, like "м^3 * кг / с".
+     * @param to expression with the units to which converts.
+     * @return result with the factor or with the reason why units are not converted.
+     */
+    public Conversion convert(String from, String to) {
+        ArrayList<Searcher> searchers = new ArrayList<>();
+        Conversion prepared = prepare(from, to, null, searchers);
+        if (prepared != null) {
+            return prepared;
+        }
+        SearchStrategy.choose(searchers.size()).execute(searchers);
+        return conversionOf(calculate(searchers));
+    }
+
+    /**
+     * Converts many pairs of the expressions. Equal conversions of the units are calculated once and all conversions
+     * are calculated together, grouped by the components.
+     * @param from expressions with the units from which converts.
+     * @param to expressions with the units to which converts, in the same order.
+     * @return results in the order of the pairs.
+     * @throws IllegalArgumentException if there are different amounts of "from" and "to".
+     */
+    public Conversion[] convertAll(String[] from, String[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("different amounts of \"from\" and \"to\"");
+        }
+        HashMap<Long, Searcher> sharedSearchers = new HashMap<>();
+        Conversion[] results = new Conversion[from.length];
+        List<ArrayList<Searcher>> itemSearchers = new ArrayList<>(from.length);
+        for (int i = 0; i < from.length; i++) {
+            ArrayList<Searcher> searchers = new ArrayList<>();
+            results[i] = prepare(from[i], to[i], sharedSearchers, searchers);
+            itemSearchers.add(searchers);
+        }
+        LinkedHashSet<Searcher> uniqueSearchers = new LinkedHashSet<>();
+        itemSearchers.forEach(uniqueSearchers::addAll);
+        List<Searcher> searchers = new ArrayList<>(uniqueSearchers);
+        searchers.sort(Comparator.comparingInt(searcher -> units.findComponent(searcher.getStartId())));
+        SearchStrategy.choose(searchers.size()).execute(searchers);
+        logger.debug("{} conversions are calculated by {} searchers", from.length, searchers.size());
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = conversionOf(calculate(itemSearchers.get(i)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Checks "from" and "to", finds their units and prepares searchers for their conversion.
+     * @param from string with the units from which converts.
+     * @param to string with the units to which converts.
+     * @param sharedSearchers searchers by the pairs of units or null if they are not shared with other conversions.
+     * @param searchers collection to which searchers of the conversion are added.
+     * @return null if conversion is prepared, else result of the conversion which could not be done.
+     */
+    private Conversion prepare(String from, String to, Map<Long, Searcher> sharedSearchers,
+                               ArrayList<Searcher> searchers) {
+        if (from == null || to == null) {
+            logger.debug("\"from\" or \"to\" is not declared");
+            return Conversion.malformed;
+        }
+        ExpressionParser parser = ExpressionParser.get();
+        if (!parser.parse(units, filter, from, to)) {
+            //is already logged by the parser
+            return Conversion.malformed;
+        }
+        if (!parser.match(units)) {
+            logger.debug("unable to convert \n----from : {}\n----to : {}", from, to);
+            return Conversion.notConvertible;
+        }
+        for (int i = 0; i < parser.getPairCount(); i++) {
+            int startId = parser.getStartId(i);
+            int endId = parser.getEndId(i);
+            int power = parser.getPower(i);
+            searchers.add(sharedSearchers == null || power != 1 ? new Searcher(units, startId, endId, power)
+                    : sharedSearchers.computeIfAbsent(((long) startId << 32) | endId,
+                            pair -> new Searcher(units, (int) (pair >>> 32), (int) (long) pair)));
+        }
+        return null;
+    }
+
+    /**
+     * Multiplies results of the searchers.
+     * @param searchers searchers which have results.
+     * @return product of the results or null if it is out of range of the values.
+     */
+    private static Value calculate(List<Searcher> searchers) {
+        Value result = new Value();
+        try {
+            for (Searcher searcher : searchers) {
+                if (searcher.getResult() == null) {
+                    return null;
+                }
+                result.multiply(searcher.getResult());
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Gets result of the conversion by its factor.
+     * @param factor factor or null if it is out of range of the values.
+     * @return successful result or the malformed one if there is no factor.
+     */
+    private static Conversion conversionOf(Value factor) {
+        if (factor == null) {
+            logger.debug("factor is out of range of the values");
+            return Conversion.malformed;
+        }
+        return new Conversion(factor);
+    }
+}
@@ -1,15 +1,22 @@
 package app.holdingUnits;
 
 import app.holdingUnits.containers.Graph;
+import app.holdingUnits.containers.NameFilter;
 import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import app.search.Value;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
- * Class which builds and holds all graphs.
+ * Class which builds and holds all graphs. Units are held by namespaces, isolated sets of units with their own
+ * converting rules; static methods of this class work with the default namespace, which is used when the request
+ * does not choose the other one. Namespaces are created and removed at runtime by their names.
  *
  * @version 1.0.0 10 Mar 2021
  * @author Aleksey Lakhanskii
@@ -17,77 +24,167 @@ import java.util.ArrayList;
  */
 public class GraphHolder {
 
-    /** All graphs. */
-    private final static ArrayList<Graph> graphs = new ArrayList<>();
-
     /** Logger for this class. */
     private final static Logger logger = LoggerFactory.getLogger(GraphHolder.class);
 
+    /** Name of the default namespace. */
+    public static final String DEFAULT_NAMESPACE = "default";
+
+    /** Pattern of the names of the namespaces, they are used in the paths of the requests. */
+    private static final Pattern namePattern = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    /** Default namespace. */
+    private static final Namespace defaultNamespace = new Namespace(DEFAULT_NAMESPACE, true);
+
+    /** Namespaces by their names. */
+    private static final ConcurrentHashMap<String, Namespace> namespaces = new ConcurrentHashMap<>();
+
+    static {
+        namespaces.put(DEFAULT_NAMESPACE, defaultNamespace);
+    }
+
+    /**
+     * Gets the default namespace.
+     * @return namespace.
+     */
+    public static Namespace getDefault() {
+        return defaultNamespace;
+    }
+
+    /**
+     * Finds namespace by its name.
+     * @param name name of the namespace.
+     * @return namespace or null if there is no such namespace.
+     */
+    public static Namespace getNamespace(String name) {
+        return namespaces.get(name);
+    }
+
+    /**
+     * Gets all namespaces.
+     * @return namespaces, the default one is among them.
+     */
+    public static Collection<Namespace> getNamespaces() {
+        return Collections.unmodifiableCollection(namespaces.values());
+    }
+
+    /**
+     * Finds namespace by its name, if there is no such namespace creates empty one.
+     * @param name name of the namespace: letters, digits, "_" and "-".
+     * @return namespace.
+     * @throws IllegalArgumentException if the name is malformed.
+     */
+    public static Namespace createNamespace(String name) {
+        if (!namePattern.matcher(name).matches()) {
+            throw new IllegalArgumentException("malformed name of the namespace : " + name);
+        }
+        return namespaces.computeIfAbsent(name, key -> {
+            logger.info("namespace {} is created", key);
+            return new Namespace(key, false);
+        });
+    }
+
+    /**
+     * Removes namespace and deletes its units. The default namespace could not be removed.
+     * @param name name of the namespace.
+     * @return removed namespace or null if there is no such namespace.
+     * @throws IllegalArgumentException if it is the default namespace.
+     */
+    public static Namespace removeNamespace(String name) {
+        if (DEFAULT_NAMESPACE.equals(name)) {
+            throw new IllegalArgumentException("default namespace could not be removed");
+        }
+        Namespace namespace = namespaces.remove(name);
+        if (namespace != null) {
+            namespace.setReady(false);
+            namespace.cleanUp();
+            logger.info("namespace {} is removed", name);
+        }
+        return namespace;
+    }
+
     /**
      * Gets from line names of the nodes and converting rule. Creates nodes if it does not exists and connects them by
-     * adding in one graph. If they were in two different graphs adds all nodes from the second graph to the first.
+     * adding in one graph. If they were in two different graphs connects the smaller graph to the bigger one.
      * @param line the line with names and quotient.
      */
     public static void parseLine(String line) {
-        line = line.replace(" ", "");
-        logger.debug("parsing line : {}", line);
-        String node1Name = line.split(",")[0];
-        String node2Name = line.split(",")[1];
-        Value quotient = new Value(line.split(",")[2]);
-        logger.trace("unit 1 name : {}", node1Name);
-        logger.trace("unit 2 name : {}", node2Name);
-        logger.trace("converting rule : {}", quotient.toString());
-        if (Node.checkExistence(node1Name) && Node.checkExistence(node2Name)) {
-            logger.debug("connects graph with units : {}, {}", node1Name, node2Name);
-            connectTwoNodes(node1Name, node2Name, quotient);
-        } else {
-            logger.debug("connects units : {}, {}", node1Name, node2Name);
-            addNodes(node1Name, node2Name, quotient);
-        }
+        parseLine(line, 0);
     }
 
     /**
-     * Adds nodes from the second graph, to the first if they were not in one graph.
-     * @param node1Name first node name.
-     * @param node2Name second node name.
-     * @param quotient the quotient of converting.
+     * Gets from line names of the nodes and converting rule. Creates nodes if it does not exists and connects them by
+     * adding in one graph. If they were in two different graphs connects the smaller graph to the bigger one.
+     * Malformed lines are logged with the line number and skipped.
+     * @param line the line with names and quotient.
+     * @param lineNumber number of the line in the file with converting rules.
      */
-    private static void connectTwoNodes(String node1Name, String node2Name, Value quotient) {
-        Graph graph1 = findGraph(node1Name);
-        Graph graph2 = findGraph(node2Name);
-        if (graph1 == graph2) {
-            logger.trace("units {}, {} are already in one graph", node1Name, node2Name);
+    public static void parseLine(String line, long lineNumber) {
+        logger.debug("parsing line {} : {}", lineNumber, line);
+        Rule rule;
+        try {
+            rule = Rule.parse(line);
+        } catch (IllegalArgumentException e) {
+            logger.error("line {} {}", lineNumber, e.getMessage());
             return;
         }
-        graphs.remove(graph2);
-        logger.trace("graphs with units {}, {} are connected", node1Name, node2Name);
-        graph1.connect(graph2, node1Name, node2Name, quotient);
+        addRule(rule);
     }
 
     /**
-     * If one of node exists adds node which doesn't exists to it's graph, else creates graph from the first node and
-     * adds here the second node.
-     * @param node1Name first node.
-     * @param node2Name second node.
-     * @param quotient the quotient of converting.
+     * Adds converting rule at runtime to the default namespace.
+     * @param line the line "unit1,unit2,quotient".
+     * @return report which tells if units were created and if components were merged.
+     * @see Namespace#addRule(String)
      */
-    public static void addNodes(String node1Name, String node2Name, Value quotient) {
-        boolean node1Ex = Node.checkExistence(node1Name);
-        boolean node2Ex = Node.checkExistence(node2Name);
-        if (node1Ex) {
-            logger.trace("unit with the name {} already exists", node1Name);
-            findGraph(node1Name).addNode(node1Name, node2Name, quotient);
-            return;
-        }
-        if (node2Ex) {
-            logger.trace("unit with the name {} already exists", node2Name);
-            findGraph(node2Name).addNode(node1Name, node2Name, quotient);
-            return;
-        }
-        logger.trace("both units ({}, {}) are new", node1Name, node2Name);
-        Node node1 = Node.createNode(node1Name);
-        createGraph(node1);
-        findGraph(node1Name).addNode(node1Name, node2Name, quotient);
+    public static RuleChange addRule(String line) {
+        return defaultNamespace.addRule(line);
+    }
+
+    /**
+     * Retires converting rule between two units of the default namespace at runtime.
+     * @param name1 name of one unit.
+     * @param name2 name of the other unit.
+     * @return report which tells if the rule was found and if the component was split.
+     * @see Namespace#retireRule(String, String)
+     */
+    public static RuleChange retireRule(String name1, String name2) {
+        return defaultNamespace.retireRule(name1, name2);
+    }
+
+    /**
+     * Opens the log of the file with converting rules of the default namespace.
+     * @param rulesPath path to the file with converting rules.
+     * @throws IOException if the log could not be read or created.
+     */
+    static void openLog(String rulesPath) throws IOException {
+        defaultNamespace.openLog(rulesPath);
+    }
+
+    /**
+     * Gets the log of the rules of the default namespace which are changed at runtime.
+     * @return log or null if there is no log.
+     */
+    public static RuleLog getLog() {
+        return defaultNamespace.getLog();
+    }
+
+    /**
+     * Compacts the log of the default namespace.
+     * @return amount of the written rules or -1 if there is no log.
+     * @throws IOException if the file could not be written or the log could not be cleared.
+     */
+    public static long compactLog() throws IOException {
+        return defaultNamespace.compactLog();
+    }
+
+    /**
+     * Creates units of the rule in the default namespace if they do not exist and connects them.
+     * @param rule converting rule.
+     * @return report which tells if units were created and if components were merged.
+     */
+    static RuleChange addRule(Rule rule) {
+        return defaultNamespace.addRule(rule);
     }
 
     /**
@@ -100,29 +197,57 @@ public class GraphHolder {
     }
 
     /**
-     * Creates new graph for node which could not be connected to other graphs.
-     * @param startNode first node of the graph.
+     * Gets units of the default namespace which are used to convert.
+     * @return immutable units.
+     */
+    public static UnitIndex getIndex() {
+        return defaultNamespace.getIndex();
+    }
+
+    /**
+     * Sets units of the default namespace which are used to convert instead of the table.
+     * @param newIndex immutable units.
+     */
+    public static void setIndex(UnitIndex newIndex) {
+        defaultNamespace.setIndex(newIndex);
+    }
+
+    /**
+     * Gets filter of the names of the units of the default namespace.
+     * @param units units which are used to convert.
+     * @return filter or null if it is not built yet or it is not built for these units.
+     */
+    public static NameFilter getNameFilter(UnitIndex units) {
+        return defaultNamespace.getNameFilter(units);
+    }
+
+    /**
+     * Builds filter of the names of the current units of the default namespace.
+     */
+    static void buildNameFilter() {
+        defaultNamespace.buildNameFilter();
+    }
+
+    /**
+     * Gets version of the converting rules of the default namespace.
+     * @return version of the rules.
      */
-    public static void createGraph(Node startNode) {
-        Graph graph = new Graph(startNode);
-        graphs.add(graph);
-        Node.setGraphsForName(startNode.getName(), graph);
-        logger.debug("created new graph for unit {}", startNode.getName());
+    public static long getRulesVersion() {
+        return defaultNamespace.getRulesVersion();
     }
 
     /**
-     * Deletes all existing graphs and nodes.
+     * Deletes all existing graphs and nodes of the default namespace.
      */
     public static void cleanUp() {
-        graphs.clear();
-        Node.cleanUp();
+        defaultNamespace.cleanUp();
     }
 
     /**
-     * Gets amount of the graphs.
+     * Gets amount of the graphs of the default namespace.
      * @return amount of the graphs.
      */
     public static Integer getGraphHolderSize() {
-        return graphs.size();
+        return defaultNamespace.getComponentCount();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.UnitTable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Table which finds ids of the units by UTF-8 bytes of their names. Bytes of the known names are kept one after
+ * another in one array, so looking up the name does not create strings. Name is decoded only once, when it is seen
+ * for the first time.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class NameInterner {
+
+    /** Start amount of the names, should be the power of two. */
+    private static final int START_CAPACITY = 64;
+
+    /** Table with all units. */
+    private final UnitTable units;
+
+    /** Bytes of all known names. */
+    private byte[] bytes;
+
+    /** Amount of the used bytes. */
+    private int bytesSize;
+
+    /** Offsets of the names in the bytes. */
+    private int[] offsets;
+
+    /** Lengths of the names. */
+    private int[] lengths;
+
+    /** Hashes of the names. */
+    private int[] hashes;
+
+    /** Ids of the units with the names. */
+    private int[] ids;
+
+    /** Slots of the hash table, each slot has index of the name + 1 or 0 if slot is empty. */
+    private int[] slots;
+
+    /** Amount of the names. */
+    private int size;
+
+    /**
+     * Constructs empty table.
+     * @param units table with all units, new units are created in it.
+     */
+    NameInterner(UnitTable units) {
+        this.units = units;
+        bytes = new byte[START_CAPACITY * 16];
+        offsets = new int[START_CAPACITY];
+        lengths = new int[START_CAPACITY];
+        hashes = new int[START_CAPACITY];
+        ids = new int[START_CAPACITY];
+        slots = new int[START_CAPACITY * 2];
+    }
+
+    /**
+     * Finds id of the unit which name has such bytes. If the name is new decodes it and finds the unit by the name,
+     * if there is no such unit creates it.
+     * @param name array with UTF-8 bytes of the name.
+     * @param start index of the first byte of the name.
+     * @param end index after the last byte of the name.
+     * @return id of the unit.
+     */
+    int intern(byte[] name, int start, int end) {
+        int hash = hash(name, start, end);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        for (int index = slots[slot] - 1; index >= 0; index = slots[slot] - 1) {
+            if (hashes[index] == hash && Arrays.equals(bytes, offsets[index], offsets[index] + lengths[index],
+                    name, start, end)) {
+                return ids[index];
+            }
+            slot = (slot + 1) & mask;
+        }
+        String decoded = new String(name, start, end - start, StandardCharsets.UTF_8);
+        int id = units.findId(decoded);
+        if (id < 0) {
+            id = units.createUnit(decoded);
+        }
+        add(name, start, end, hash, id);
+        return id;
+    }
+
+    /**
+     * Adds the new name.
+     * @param name array with UTF-8 bytes of the name.
+     * @param start index of the first byte of the name.
+     * @param end index after the last byte of the name.
+     * @param hash hash of the name.
+     * @param id id of the unit.
+     */
+    private void add(byte[] name, int start, int end, int hash, int id) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            slots = new int[capacity * 2];
+            for (int index = 0; index < size; index++) {
+                insert(index);
+            }
+        }
+        int length = end - start;
+        if (bytesSize + length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, bytesSize + length));
+        }
+        System.arraycopy(name, start, bytes, bytesSize, length);
+        int index = size++;
+        offsets[index] = bytesSize;
+        lengths[index] = length;
+        hashes[index] = hash;
+        ids[index] = id;
+        bytesSize += length;
+        insert(index);
+    }
+
+    /**
+     * Puts index of the name into the first empty slot.
+     * @param index index of the name.
+     */
+    private void insert(int index) {
+        int mask = slots.length - 1;
+        int slot = hashes[index] & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = index + 1;
+    }
+
+    /**
+     * Calculates hash of the bytes and spreads its bits.
+     * @param name array with the bytes.
+     * @param start index of the first byte.
+     * @param end index after the last byte.
+     * @return hash.
+     */
+    private static int hash(byte[] name, int start, int end) {
+        int hash = 1;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + name[i];
+        }
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+}
@@ -0,0 +1,646 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.NameFilter;
+import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitIndex;
+import app.holdingUnits.containers.UnitTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Isolated set of units with its own converting rules, for example the catalog of one product line. Every namespace
+ * is preloaded, changed and reloaded independently of the others. Rules are added to the table of units by one writer
+ * at a time, under the lock of the writers of the namespace. Readers never take the lock and never read the table:
+ * they only read the volatile reference to the immutable snapshot of the units, so many request threads read while
+ * rules are added and never see half connected components. The snapshot is built by the writer which changed the
+ * rules, it is published first and the version of the rules is changed after that, so the result which is calculated
+ * with the old units is never cached for the new version. The table of the default namespace is the table of
+ * {@link Node}, so the old API of nodes and graphs works with it.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public final class Namespace {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(Namespace.class);
+
+    /** Name of the namespace. */
+    private final String name;
+
+    /** True if it is the default namespace, which keeps its table in {@link Node}. */
+    private final boolean isDefault;
+
+    /** Lock of the writers of the table of units. */
+    final Object lock = new Object();
+
+    /** Table of units of the namespace, it is not used by the default namespace. */
+    private volatile UnitTable table;
+
+    /** Published units which are used to convert, the snapshot of the table or the mapped snapshot. */
+    private volatile Published published;
+
+    /** Filter of the names of the units or null if it is not built yet. */
+    private volatile NameFilter nameFilter;
+
+    /** Log of the rules which are changed at runtime or null if there is no log. */
+    private volatile RuleLog log;
+
+    /** Amount of the changes which records are written into the log, it is changed under the lock. */
+    private long loggedChanges;
+
+    /** Amount of the logged changes which are applied or failed, it is changed under the lock. */
+    private long appliedChanges;
+
+    /** Version of the converting rules, it is changed after the units of every change of the rules are published. */
+    private final AtomicLong rulesVersion = new AtomicLong();
+
+    /** True when units are preloaded and requests could be served. */
+    private volatile boolean ready;
+
+    /** Path to the preloaded file with converting rules or to the snapshot, null if nothing is preloaded. */
+    private volatile String preloadedPath;
+
+    /** How the file was preloaded, null if nothing is preloaded. */
+    private volatile Preloader.Mode preloadedMode;
+
+    /** Reloader of the preloaded file. */
+    private final Reloader reloader = new Reloader(this);
+
+    /**
+     * Constructs empty namespace.
+     * @param name name of the namespace.
+     * @param isDefault true if it is the default namespace, which keeps its table in {@link Node}.
+     */
+    Namespace(String name, boolean isDefault) {
+        this.name = name;
+        this.isDefault = isDefault;
+        table = isDefault ? null : new UnitTable();
+        published = new Published(getTable().snapshot(), 0, false);
+    }
+
+    /**
+     * Gets name of the namespace.
+     * @return name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets table of units which is changed by writers.
+     * @return table.
+     */
+    public UnitTable getTable() {
+        return isDefault ? Node.getUnits() : table;
+    }
+
+    /**
+     * Replaces table of units.
+     * @param newTable new table.
+     */
+    private void setTable(UnitTable newTable) {
+        if (isDefault) {
+            Node.setUnits(newTable);
+        } else {
+            table = newTable;
+        }
+    }
+
+    /**
+     * Adds converting rule at runtime. Only the components of the units of the rule are changed, the new units are
+     * published at once by the writer, so readers do not wait while the snapshot is built. If there is the log of the
+     * rules the rule is written into it first and is added only after the log is forced to the disk, so readers never
+     * see the rule which could be lost after the crash.
+     * @param line the line "unit1,unit2,quotient".
+     * @return report which tells if units were created and if components were merged.
+     * @throws IllegalArgumentException if the line is malformed, message of the exception describes the problem.
+     * @throws IllegalStateException if units are set instead of the table, for example the mapped snapshot.
+     * @throws UncheckedIOException if the rule could not be written into the log, then it is not added.
+     */
+    public RuleChange addRule(String line) {
+        Rule rule = Rule.parse(line);
+        RuleLog current;
+        long position;
+        long change;
+        synchronized (lock) {
+            checkTable();
+            current = log;
+            if (current == null) {
+                return addRule(rule);
+            }
+            try {
+                position = current.appendAdd(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            change = ++loggedChanges;
+        }
+        return applyLogged(current, position, change, () -> addRule(rule));
+    }
+
+    /**
+     * Retires converting rule between two units at runtime, the rule could be added in any direction. Only the
+     * component of the units is built again from the rest of its rules, the new units are published at once by the
+     * writer. If there is the log of the rules the rule is retired only after its record is forced to the disk, the
+     * record is not written if there is no such rule.
+     * @param name1 name of one unit.
+     * @param name2 name of the other unit.
+     * @return report which tells if the rule was found and if the component was split.
+     * @throws IllegalStateException if units are set instead of the table, for example the mapped snapshot.
+     * @throws UncheckedIOException if the rule could not be written into the log, then it is not retired.
+     */
+    public RuleChange retireRule(String name1, String name2) {
+        RuleLog current;
+        long position;
+        long change;
+        synchronized (lock) {
+            checkTable();
+            UnitTable units = getTable();
+            int id1 = units.findId(name1);
+            int id2 = units.findId(name2);
+            if (id1 < 0 || id2 < 0 || !units.hasRule(id1, id2)) {
+                return new RuleChange(RuleChange.Result.NOT_FOUND, Collections.emptyList(), rulesVersion.get());
+            }
+            current = log;
+            if (current == null) {
+                return retire(name1, name2);
+            }
+            try {
+                position = current.appendRetire(name1, name2);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            change = ++loggedChanges;
+        }
+        return applyLogged(current, position, change, () -> retire(name1, name2));
+    }
+
+    /**
+     * Retires converting rule between two units and publishes the new units. It is called under the lock of the
+     * writers.
+     * @param name1 name of one unit.
+     * @param name2 name of the other unit.
+     * @return report which tells if the rule was found and if the component was split.
+     */
+    private RuleChange retire(String name1, String name2) {
+        UnitTable units = getTable();
+        int id1 = units.findId(name1);
+        int id2 = units.findId(name2);
+        RuleChange.Result result;
+        if (id1 < 0 || id2 < 0 || !units.removeRule(id1, id2)) {
+            result = RuleChange.Result.NOT_FOUND;
+        } else {
+            publish();
+            logger.debug("rule between {} and {} is retired in {}", name1, name2, name);
+            result = units.findComponent(id1) == units.findComponent(id2)
+                    ? RuleChange.Result.RETIRED : RuleChange.Result.SPLIT;
+        }
+        return new RuleChange(result, Collections.emptyList(), rulesVersion.get());
+    }
+
+    /**
+     * Waits until the record of the change is forced to the disk and applies the change. Changes are applied in the
+     * order of their records, so the units are the same as after the replay of the log. If the log could not be
+     * forced the change and all changes which are written after it are not applied.
+     * @param current log into which the record is written.
+     * @param position position after the record.
+     * @param change number of the change, changes are numbered when their records are written.
+     * @param apply applies the change under the lock of the writers.
+     * @return report of the change.
+     * @throws UncheckedIOException if the log could not be forced.
+     */
+    private RuleChange applyLogged(RuleLog current, long position, long change, Supplier<RuleChange> apply) {
+        IOException failure = null;
+        try {
+            current.sync(position);
+        } catch (IOException e) {
+            failure = e;
+        }
+        synchronized (lock) {
+            boolean interrupted = false;
+            while (appliedChanges != change - 1) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                if (failure == null && current.isBroken()) {
+                    failure = new IOException("log " + current.getPath() + " is broken");
+                }
+                if (failure != null) {
+                    throw new UncheckedIOException(failure);
+                }
+                return apply.get();
+            } finally {
+                appliedChanges = change;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until all changes which are written into the log are applied, so the table has all logged rules. It is
+     * called under the lock of the writers, the lock is released while it waits.
+     */
+    void awaitLogged() {
+        boolean interrupted = false;
+        while (appliedChanges != loggedChanges) {
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens the log of the file with converting rules and replays it on top of the preloaded rules. Rules which are
+     * changed at runtime are written into this log after that.
+     * @param rulesPath path to the file with converting rules.
+     * @throws IOException if the log could not be read or created.
+     */
+    void openLog(String rulesPath) throws IOException {
+        synchronized (lock) {
+            awaitLogged();
+            closeLog();
+            log = RuleLog.open(rulesPath, getTable(), this);
+            publish();
+        }
+    }
+
+    /**
+     * Gets the log of the rules which are changed at runtime.
+     * @return log or null if there is no log.
+     */
+    public RuleLog getLog() {
+        return log;
+    }
+
+    /**
+     * Compacts the log: writes all rules into the new file with converting rules and clears the log.
+     * @return amount of the written rules or -1 if there is no log.
+     * @throws IOException if the file could not be written or the log could not be cleared.
+     */
+    public long compactLog() throws IOException {
+        synchronized (lock) {
+            awaitLogged();
+            RuleLog current = log;
+            return current == null ? -1 : current.compact(getTable());
+        }
+    }
+
+    /**
+     * Closes the log if it is opened.
+     */
+    private void closeLog() {
+        RuleLog current = log;
+        if (current != null) {
+            current.close();
+            log = null;
+        }
+    }
+
+    /**
+     * Checks that the table of units is used to convert, else its changes are not seen by readers.
+     * @throws IllegalStateException if units are set instead of the table.
+     */
+    private void checkTable() {
+        if (published.isSet) {
+            throw new IllegalStateException("units are set instead of the table of units");
+        }
+    }
+
+    /**
+     * Creates units of the rule if they do not exist and connects them. If they were in two different graphs
+     * connects the smaller graph to the bigger one, else the rule is not needed. New units are published at once.
+     * @param rule converting rule.
+     * @return report which tells if units were created and if components were merged.
+     */
+    RuleChange addRule(Rule rule) {
+        synchronized (lock) {
+            List<String> created = new ArrayList<>(2);
+            RuleChange.Result result = connect(rule, created);
+            if (result == RuleChange.Result.MERGED || !created.isEmpty()) {
+                publish();
+            }
+            return new RuleChange(result, created, rulesVersion.get());
+        }
+    }
+
+    /**
+     * Adds converting rules, for example the rules of one chunk of the file. Rules are added under one lock and new
+     * units are published once for all of them.
+     * @param rules converting rules.
+     */
+    void addRules(List<Rule> rules) {
+        synchronized (lock) {
+            boolean changed = false;
+            List<String> created = new ArrayList<>(2);
+            for (Rule rule : rules) {
+                changed |= connect(rule, created) == RuleChange.Result.MERGED;
+            }
+            if (changed || !created.isEmpty()) {
+                publish();
+            }
+        }
+    }
+
+    /**
+     * Creates units of the rule if they do not exist and connects them in the table. It is called under the lock of
+     * the writers, units are not published.
+     * @param rule converting rule.
+     * @param created names of the created units, names of the new units are added to it.
+     * @return MERGED if components were merged, else REDUNDANT.
+     */
+    private RuleChange.Result connect(Rule rule, List<String> created) {
+        logger.trace("unit 1 name : {}", rule.getName1());
+        logger.trace("unit 2 name : {}", rule.getName2());
+        logger.trace("converting rule : {}", rule.getQuotient());
+        UnitTable units = getTable();
+        int id1 = findOrCreateUnit(units, rule.getName1(), created);
+        int id2 = findOrCreateUnit(units, rule.getName2(), created);
+        if (units.addRule(id1, id2, rule.getQuotient())) {
+            logger.debug("connects units : {}, {}", rule.getName1(), rule.getName2());
+            return RuleChange.Result.MERGED;
+        }
+        logger.trace("units {}, {} are already in one graph", rule.getName1(), rule.getName2());
+        return RuleChange.Result.REDUNDANT;
+    }
+
+    /**
+     * Finds id of the unit, if there is no such unit creates it.
+     * @param units table with all units.
+     * @param name name of the unit.
+     * @param created names of the created units, the name is added to it if the unit is created.
+     * @return id of the unit.
+     */
+    private int findOrCreateUnit(UnitTable units, String name, List<String> created) {
+        int id = units.findId(name);
+        if (id >= 0) {
+            return id;
+        }
+        id = units.createUnit(name);
+        created.add(name);
+        NameFilter filter = nameFilter;
+        if (filter != null) {
+            filter.add(name);
+        }
+        return id;
+    }
+
+    /**
+     * Gets units which are used to convert. It is only the read of the volatile field, readers never wait for the
+     * writers. Units do not change while they are used, if the rules are changed the next call gets the new units.
+     * @return immutable units.
+     */
+    public UnitIndex getIndex() {
+        return published.index;
+    }
+
+    /**
+     * Sets units which are used to convert instead of the table, for example the mapped snapshot.
+     * @param newIndex immutable units.
+     */
+    public void setIndex(UnitIndex newIndex) {
+        synchronized (lock) {
+            setPublished(new Published(newIndex, published.version + 1, true));
+        }
+    }
+
+    /**
+     * Replaces all units by the table which is filled in the background and is not read by others, for example by
+     * the preloaded rules.
+     * @param newTable new table of units.
+     * @return version of the rules of the new units.
+     */
+    long replaceUnits(UnitTable newTable) {
+        return replaceUnits(newTable, newTable.snapshot(), false, null);
+    }
+
+    /**
+     * Replaces all units by the units which are built in the background, for example by the reloaded rules. Units are
+     * swapped at once: requests which already got the old units finish with them, next requests get the new ones.
+     * @param newTable new table of units, it is empty if units are set instead of the table.
+     * @param index snapshot of the new table or the units which are set instead of the table.
+     * @param isSet true if units are set instead of the table, for example the mapped snapshot.
+     * @param filter filter of the names of the new units.
+     * @return version of the rules of the new units.
+     */
+    long replaceUnits(UnitTable newTable, UnitIndex index, boolean isSet, NameFilter filter) {
+        synchronized (lock) {
+            setTable(newTable);
+            long version = published.version + 1;
+            nameFilter = filter;
+            setPublished(new Published(index, version, isSet));
+            logger.debug("units of {} of the version {} are replaced", name, version);
+            return version;
+        }
+    }
+
+    /**
+     * Publishes the snapshot of the table of units after the rules are changed, if the units are not set instead of
+     * the table. It is called by the writer under the lock, readers get the new units at once.
+     * @return version of the rules of the published units.
+     */
+    private long publish() {
+        synchronized (lock) {
+            Published current = published;
+            UnitIndex index = current.isSet ? current.index : getTable().snapshot();
+            long version = current.version + 1;
+            setPublished(new Published(index, version, current.isSet));
+            logger.debug("units of {} of the version {} are published", name, version);
+            return version;
+        }
+    }
+
+    /**
+     * Makes the units visible for readers by one volatile write and changes the version of the rules after that. It is
+     * called under the lock of the writers.
+     * @param newPublished units with the new version of the rules.
+     */
+    private void setPublished(Published newPublished) {
+        published = newPublished;
+        rulesVersion.set(newPublished.version);
+    }
+
+    /**
+     * Gets filter of the names of the units.
+     * @param units units which are used to convert.
+     * @return filter or null if it is not built yet or it is not built for these units, then every name may be known.
+     */
+    public NameFilter getNameFilter(UnitIndex units) {
+        return units == published.index ? nameFilter : null;
+    }
+
+    /**
+     * Builds filter of the names of the current units, it is done when units are preloaded. Units which are created
+     * after that are added to the filter.
+     */
+    void buildNameFilter() {
+        nameFilter = NameFilter.of(getIndex());
+    }
+
+    /**
+     * Removes filter of the names, it is done before units are preloaded again.
+     */
+    void removeNameFilter() {
+        nameFilter = null;
+    }
+
+    /**
+     * Gets version of the converting rules. Results which are calculated with the rules of one version are valid
+     * while the version is the same.
+     * @return version of the rules.
+     */
+    public long getRulesVersion() {
+        return rulesVersion.get();
+    }
+
+    /**
+     * Checks if units are preloaded. It is only the read of the volatile field, so it could be checked on every
+     * request.
+     * @return true if units are preloaded, else false.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Sets if units are preloaded.
+     * @param ready true if units are preloaded.
+     */
+    void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    /**
+     * Remembers the preloaded file, so it could be reloaded.
+     * @param path path to the file with converting rules or to the snapshot.
+     * @param mode how the file is preloaded.
+     */
+    void setPreloaded(String path, Preloader.Mode mode) {
+        preloadedPath = path;
+        preloadedMode = mode;
+    }
+
+    /**
+     * Gets path of the preloaded file.
+     * @return path to the file with converting rules or to the snapshot, null if nothing is preloaded.
+     */
+    public String getPreloadedPath() {
+        return preloadedPath;
+    }
+
+    /**
+     * Gets how the file was preloaded.
+     * @return mode or null if nothing is preloaded.
+     */
+    public Preloader.Mode getPreloadedMode() {
+        return preloadedMode;
+    }
+
+    /**
+     * Gets reloader of the preloaded file.
+     * @return reloader.
+     */
+    public Reloader getReloader() {
+        return reloader;
+    }
+
+    /**
+     * Gets amount of the units which are used to convert.
+     * @return amount of the units.
+     */
+    public int getUnitCount() {
+        UnitIndex index = getIndex();
+        return index == null ? 0 : index.size();
+    }
+
+    /**
+     * Gets amount of the components of the units which are used to convert.
+     * @return amount of the components.
+     */
+    public int getComponentCount() {
+        UnitIndex index = getIndex();
+        return index == null ? 0 : index.getComponentCount();
+    }
+
+    /**
+     * Estimates memory of the namespace: the table, the published units and the filter of the names.
+     * @return approximate amount of the bytes.
+     */
+    public long getMemoryBytes() {
+        Published current = published;
+        long bytes = current.isSet ? 0 : getTable().getMemoryBytes();
+        if (current.index != null) {
+            bytes += current.index.getMemoryBytes();
+        }
+        NameFilter filter = nameFilter;
+        if (filter != null) {
+            bytes += filter.getMemoryBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Deletes all units and closes the log.
+     */
+    public void cleanUp() {
+        synchronized (lock) {
+            awaitLogged();
+            if (isDefault) {
+                Node.cleanUp();
+            } else {
+                table = new UnitTable();
+            }
+            closeLog();
+            nameFilter = null;
+            setPublished(new Published(getTable().snapshot(), published.version + 1, false));
+        }
+    }
+
+    /**
+     * Units which are published for the readers with the version of the rules.
+     */
+    private static final class Published {
+
+        /** Immutable units. */
+        private final UnitIndex index;
+
+        /** Version of the rules of the units. */
+        private final long version;
+
+        /** True if units are set instead of the table. */
+        private final boolean isSet;
+
+        /**
+         * Constructs published units.
+         * @param index immutable units.
+         * @param version version of the rules of the units.
+         * @param isSet true if units are set instead of the table.
+         */
+        Published(UnitIndex index, long version, boolean isSet) {
+            this.index = index;
+            this.version = version;
+            this.isSet = isSet;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package app.holdingUnits;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Class to parse the file with converting rules on all cores. The file is split into chunks at the line boundaries,
+ * chunks are parsed on the fork-join pool and then merged one by one in the order of the file. All rules are added in
+ * the order of the file as after the sequential parsing, so conversions are exactly the same, also after rules are
+ * retired or compacted.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public class ParallelIngest {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(ParallelIngest.class);
+
+    /** Default size of the chunk in bytes. */
+    private final static int defaultChunkSize = 16 * 1024 * 1024;
+
+    /** Size of the buffer to search the end of the line. */
+    private final static int lineSearchBufferSize = 4096;
+
+    /**
+     * Class has only static methods.
+     */
+    private ParallelIngest() {
+    }
+
+    /**
+     * Parses the file with converting rules on all cores with the default size of the chunks.
+     * @param path path to the file with converting rules.
+     * @return amount of the lines.
+     * @throws IOException if file could not be read.
+     */
+    public static long ingest(Path path) throws IOException {
+        return ingest(path, Runtime.getRuntime().availableProcessors(), defaultChunkSize);
+    }
+
+    /**
+     * Parses the file with converting rules in parallel and adds rules to the units. Logs the throughput.
+     * @param path path to the file with converting rules.
+     * @param parallelism amount of the threads.
+     * @param chunkSize approximate size of the chunk in bytes.
+     * @return amount of the lines.
+     * @throws IOException if file could not be read.
+     */
+    public static long ingest(Path path, int parallelism, int chunkSize) throws IOException {
+        long start = System.nanoTime();
+        List<RulesChunk> chunks = split(path, chunkSize);
+        logger.debug("file is split into {} chunks", chunks.size());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(chunks)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+        long lineCount = 0;
+        for (RulesChunk chunk : chunks) {
+            for (int i = 0; i < chunk.getErrors().size(); i++) {
+                logger.error("line {} {}", lineCount + chunk.getErrorLines().get(i), chunk.getErrors().get(i));
+            }
+            GraphHolder.getDefault().addRules(chunk.getRules());
+            lineCount += chunk.getLineCount();
+        }
+        long time = Math.max(1, System.nanoTime() - start);
+        logger.info("parsed {} lines in {} ms, {} lines/s", lineCount, time / 1_000_000,
+                lineCount * 1_000_000_000L / time);
+        return lineCount;
+    }
+
+    /**
+     * Splits the file into chunks, every chunk except the last one ends after the line break.
+     * @param path path to the file with converting rules.
+     * @param chunkSize approximate size of the chunk in bytes.
+     * @return chunks in the order of the file.
+     * @throws IOException if file could not be read.
+     */
+    private static List<RulesChunk> split(Path path, int chunkSize) throws IOException {
+        List<RulesChunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(lineSearchBufferSize);
+            long start = 0;
+            while (start < size) {
+                long end = start + chunkSize < size ? findLineEnd(channel, start + chunkSize, buffer) : size;
+                chunks.add(new RulesChunk(path, start, end));
+                start = end;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Finds offset after the first line break from the position.
+     * @param channel channel of the file.
+     * @param position position from which line break is searched.
+     * @param buffer buffer for reading.
+     * @return offset after the line break or size of the file if there is no line break.
+     * @throws IOException if file could not be read.
+     */
+    private static long findLineEnd(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+}
@@ -1,10 +1,20 @@
 package app.holdingUnits;
 
+import app.holdingUnits.containers.MappedUnitIndex;
+import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitImage;
+import app.holdingUnits.containers.UnitTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Special class to preload data.
@@ -22,19 +32,114 @@ public class Preloader extends Thread{
     /** Exit status if no file with converting rules. */
     private final static int noFileExitStatus = 13;
 
+    /** Size of the file window which is mapped at once. */
+    private final static long mappingSize = 1L << 30;
+
+    /** Exit status if the snapshot could not be read or written. */
+    private final static int snapshotExitStatus = 14;
+
+    /** Exit status if the log of the rules could not be opened. */
+    private final static int logExitStatus = 15;
+
     /** Preloading thread. */
-    private static Thread preloader;
+    private static volatile Preloader preloader;
 
-    /** Path to the file with converting rules. */
+    /** Path to the file with converting rules or to the snapshot. */
     private final String path;
 
+    /** How the file is preloaded. */
+    private final Mode mode;
+
+    /**
+     * Ways to preload units.
+     */
+    public enum Mode {
+        /** Parses the file with converting rules line by line. */
+        RULES,
+        /** Parses chunks of the file with converting rules on all cores. */
+        PARALLEL_RULES,
+        /** Maps the compiled snapshot. */
+        SNAPSHOT
+    }
+
     /**
      * Creates instance of Preloader and starts it to preload units and converting rules.
      * @param path path to the file with units and converting rules.
      */
     public static void preload(String path) {
+        start(new Preloader(path, Mode.RULES));
+    }
+
+    /**
+     * Creates instance of Preloader and starts it to map the compiled snapshot of units. Nothing is parsed, so it
+     * does not depend on the amount of units.
+     * @param path path to the snapshot.
+     */
+    public static void preloadSnapshot(String path) {
+        start(new Preloader(path, Mode.SNAPSHOT));
+    }
+
+    /**
+     * Creates instance of Preloader and starts it to parse chunks of the file with converting rules on all cores.
+     * @param path path to the file with units and converting rules.
+     */
+    public static void preloadParallel(String path) {
+        start(new Preloader(path, Mode.PARALLEL_RULES));
+    }
+
+    /**
+     * Preloads units of the namespace, for example of the namespace which is created at runtime. New units are built
+     * in the current thread and replace the old ones at once, requests to the new namespace are answered with 503
+     * status until it is done. Unlike preloading of the default namespace at start, errors do not stop the server.
+     * @param namespace namespace.
+     * @param path path to the file with converting rules or to the snapshot.
+     * @param mode how the file is preloaded, the file with rules is parsed line by line in any rules mode.
+     * @throws IOException if the file could not be read, then the namespace keeps its old units.
+     */
+    public static void preload(Namespace namespace, String path, Mode mode) throws IOException {
+        logger.info("start preloading {} into {}", path, namespace.getName());
+        namespace.getReloader().load(path, mode);
+        namespace.setPreloaded(path, mode);
+        if (mode != Mode.SNAPSHOT && RuleLog.isEnabled()) {
+            namespace.openLog(path);
+            namespace.buildNameFilter();
+        }
+        namespace.setReady(true);
+        logger.info("preloading of {} is done", namespace.getName());
+    }
+
+    /**
+     * Reads converting rules, builds units and writes them into the snapshot, which could be mapped later by
+     * {@link #preloadSnapshot(String)}.
+     * @param rulesPath path to the file with units and converting rules.
+     * @param snapshotPath path to the snapshot.
+     */
+    public static void compile(String rulesPath, String snapshotPath) {
+        long start = System.nanoTime();
+        readingStartInfo(rulesPath);
+        logger.info("rules are parsed in {} ms", (System.nanoTime() - start) / 1_000_000);
+        start = System.nanoTime();
+        try {
+            MappedUnitIndex.write(Node.getUnits(), Paths.get(snapshotPath));
+        } catch (IOException e) {
+            logger.error("unable to write snapshot {} : {}", snapshotPath, e.getMessage());
+            System.exit(snapshotExitStatus);
+        }
+        logger.info("snapshot with {} units is written in {} ms", Node.getUnits().size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Starts preloading thread and waits it.
+     * @param thread preloading thread.
+     */
+    private static void start(Preloader thread) {
         logger.info("start preloading");
-        preloader = new Preloader(path);
+        Namespace namespace = GraphHolder.getDefault();
+        namespace.setReady(false);
+        namespace.removeNameFilter();
+        namespace.setPreloaded(thread.path, thread.mode);
+        preloader = thread;
         preloader.start();
         try {
             preloader.join();
@@ -50,7 +155,17 @@ public class Preloader extends Thread{
      * @param path path to preloading file.
      */
     public Preloader(String path) {
+        this(path, Mode.RULES);
+    }
+
+    /**
+     * Constructor of the preloader.
+     * @param path path to preloading file.
+     * @param mode how the file is preloaded.
+     */
+    public Preloader(String path, Mode mode) {
         this.path = path;
+        this.mode = mode;
     }
 
     /**
@@ -58,44 +173,186 @@ public class Preloader extends Thread{
      */
     @Override
     public void run() {
-        readingStartInfo(path);
+        UnitTable image = mode != Mode.SNAPSHOT && RuleLog.isEnabled() ? readImage(path) : null;
+        if (image != null) {
+            GraphHolder.getDefault().replaceUnits(image);
+        } else {
+            switch (mode) {
+                case SNAPSHOT:
+                    mapSnapshot(path);
+                    break;
+                case PARALLEL_RULES:
+                    readingInParallel(path);
+                    break;
+                default:
+                    readingStartInfo(path);
+            }
+        }
+        if (mode != Mode.SNAPSHOT && RuleLog.isEnabled()) {
+            openLog(path);
+        }
+        GraphHolder.buildNameFilter();
+        GraphHolder.getDefault().setReady(true);
     }
 
     /**
-     * Reads converting rules and pars it.
+     * Reads converting rules in parallel chunks.
      * @param filePath path to file with converting rules.
      */
-    public static void readingStartInfo(String filePath) {
-        try (BufferedReader reader = preloadReader(filePath)) {
-            logger.debug("start reading converting rules");
-            reader.lines().forEach(GraphHolder::parseLine);
-            logger.debug("reading converting rules is done");
+    public static void readingInParallel(String filePath) {
+        try {
+            ParallelIngest.ingest(Paths.get(filePath));
+        } catch (NoSuchFileException e) {
+            logger.error("no such file : {}", filePath);
+            System.exit(noFileExitStatus);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Preloads buffer reader of the file.
-     * @param filePath path to the file with converting rules.
-     * @return buffer reader.
+     * Opens the log of the rules which are changed at runtime and replays it on top of the preloaded rules.
+     * @param filePath path to file with converting rules.
      */
-    private static BufferedReader preloadReader(String filePath) {
-        logger.debug("searching the file");
-        File input = new File(filePath);
-        InputStreamReader isr = null;
+    private static void openLog(String filePath) {
         try {
-            isr = new InputStreamReader(new FileInputStream(input),
-                    StandardCharsets.UTF_8);
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
+            GraphHolder.openLog(filePath);
+        } catch (IOException e) {
+            logger.error("unable to open log of {} : {}", filePath, e.getMessage());
+            System.exit(logExitStatus);
         }
-        if (isr == null) {
+    }
+
+    /**
+     * Maps the snapshot and makes it the units which are used to convert.
+     * @param filePath path to the snapshot.
+     */
+    public static void mapSnapshot(String filePath) {
+        long start = System.nanoTime();
+        try {
+            MappedUnitIndex index = MappedUnitIndex.map(Paths.get(filePath));
+            GraphHolder.setIndex(index);
+            logger.info("snapshot with {} units is mapped in {} ms", index.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            logger.error("unable to map snapshot {} : {}", filePath, e.getMessage());
+            System.exit(snapshotExitStatus);
+        }
+    }
+
+    /**
+     * Reads converting rules and pars it. The file is memory-mapped by big windows and read by the tokenizer straight
+     * from the bytes into the new table, which then replaces units of the default namespace at once. Lines are
+     * numbered from 1 to report malformed rules.
+     * @param filePath path to file with converting rules.
+     */
+    public static void readingStartInfo(String filePath) {
+        try {
+            UnitTable table = new UnitTable();
+            read(filePath, new RulesTokenizer(table));
+            GraphHolder.getDefault().replaceUnits(table);
+        } catch (NoSuchFileException e) {
             logger.error("no such file : {}", filePath);
             System.exit(noFileExitStatus);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads converting rules into the table. The file is memory-mapped by big windows and read by the tokenizer
+     * straight from the bytes.
+     * @param filePath path to file with converting rules.
+     * @param units table to which rules are added, it is not read by others yet.
+     * @throws IOException if the file could not be read.
+     */
+    public static void readRules(String filePath, UnitTable units) throws IOException {
+        read(filePath, new RulesTokenizer(units));
+    }
+
+    /**
+     * Loads units of the file with converting rules: from the image which is written by the last compaction of the
+     * log, if it is the image of this file, else the file is parsed.
+     * @param filePath path to file with converting rules.
+     * @return new table, it is not read by others yet.
+     * @throws IOException if the file could not be read.
+     */
+    static UnitTable loadRules(String filePath) throws IOException {
+        UnitTable units = readImage(filePath);
+        if (units == null) {
+            units = new UnitTable();
+            readRules(filePath, units);
         }
-        logger.debug("file is founded");
-        return new BufferedReader(isr);
+        return units;
+    }
+
+    /**
+     * Loads units from the image which is written by the last compaction of the log of the file with converting
+     * rules. The damaged image is only reported, then the file should be parsed.
+     * @param filePath path to file with converting rules.
+     * @return new table or null if there is no valid image of this file.
+     */
+    private static UnitTable readImage(String filePath) {
+        long start = System.nanoTime();
+        Path imagePath = RuleLog.imagePathOf(filePath);
+        try {
+            UnitTable units = UnitImage.read(imagePath, Paths.get(filePath));
+            if (units != null) {
+                logger.info("image {} with {} units is loaded in {} ms", imagePath, units.size(),
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+            return units;
+        } catch (IOException e) {
+            logger.warn("unable to load image {}, rules are parsed : {}", imagePath, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads converting rules from the stream into the table. All bytes of the stream are read at once.
+     * @param input stream with converting rules, it is not closed.
+     * @param units table to which rules are added, it is not read by others yet.
+     * @throws IOException if the stream could not be read.
+     */
+    public static void readRules(InputStream input, UnitTable units) throws IOException {
+        RulesTokenizer tokenizer = new RulesTokenizer(units);
+        tokenizer.parse(ByteBuffer.wrap(input.readAllBytes()), true);
+        logger.debug("reading converting rules is done, {} lines", tokenizer.getLineCount());
+    }
+
+    /**
+     * Reads converting rules by the tokenizer. The file is memory-mapped by big windows and read by the tokenizer
+     * straight from the bytes.
+     * @param filePath path to file with converting rules.
+     * @param tokenizer tokenizer which adds rules to its table.
+     * @throws IOException if the file could not be read.
+     */
+    private static void read(String filePath, RulesTokenizer tokenizer) throws IOException {
+        logger.debug("searching the file");
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            logger.debug("start reading converting rules");
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(size - position, mappingSize);
+                boolean last = position + length == size;
+                int read = tokenizer.parse(channel.map(FileChannel.MapMode.READ_ONLY, position, length), last);
+                if (read == 0) {
+                    throw new IOException("line " + (tokenizer.getLineCount() + 1) + " is too long");
+                }
+                position += read;
+            }
+            logger.debug("reading converting rules is done, {} lines", tokenizer.getLineCount());
+        }
+    }
+
+    /**
+     * Checks if units of the default namespace are preloaded. It is only the read of the volatile field, so it could
+     * be checked on every request.
+     * @return true if units are preloaded, else false.
+     */
+    public static boolean isReady() {
+        return GraphHolder.getDefault().isReady();
     }
 
     /**
@@ -0,0 +1,219 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.MappedUnitIndex;
+import app.holdingUnits.containers.NameFilter;
+import app.holdingUnits.containers.UnitIndex;
+import app.holdingUnits.containers.UnitTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class to reload the preloaded file of the namespace without stopping the server. New units are built in the
+ * background thread, off the path of the requests, and then replace the old units at once, so requests which already
+ * got the old units finish with them and never see half loaded rules. If the file could not be read the old units stay.
+ * Reloads are done one at a time: reload which is requested while the other one waits is merged with it. If there is
+ * the log of the rules it is replayed on top of the reloaded rules, records which are written meanwhile are replayed
+ * under the lock of the writers just before units are replaced. If the log is compacted meanwhile, positions of its
+ * records are not valid anymore, so the new file and the whole log are read again under the lock. Amount of the
+ * reloads, duration of the last one and the version of the rules are kept as metrics.
+ * <p>
+ * Units are always built again from the file and the log, so rules which are changed at runtime survive the reload
+ * only if they are in the log. Without the log such changes are lost by the next reload or change of the file, that
+ * is why "admin/rules" refuses them when the namespace has no log.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public final class Reloader {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(Reloader.class);
+
+    /** Threads which reload units, namespaces are reloaded independently. */
+    private static final ExecutorService executor = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "reloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Namespace which units are reloaded. */
+    private final Namespace namespace;
+
+    /** True if reload is requested and has not started yet. */
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    /** Amount of the successful reloads. */
+    private final AtomicLong reloadCount = new AtomicLong();
+
+    /** Amount of the failed reloads. */
+    private final AtomicLong failureCount = new AtomicLong();
+
+    /** Duration of the last successful reload in milliseconds. */
+    private volatile long lastDurationMillis = -1;
+
+    /** Time of the end of the last successful reload in milliseconds since the epoch. */
+    private volatile long lastReloadTime = -1;
+
+    /** Message of the error of the last failed reload or null if the last reload is successful. */
+    private volatile String lastError;
+
+    /**
+     * Constructs reloader.
+     * @param namespace namespace which units are reloaded.
+     */
+    Reloader(Namespace namespace) {
+        this.namespace = namespace;
+    }
+
+    /**
+     * Gets reloader of the default namespace.
+     * @return reloader.
+     */
+    public static Reloader getDefault() {
+        return GraphHolder.getDefault().getReloader();
+    }
+
+    /**
+     * Requests the reload of the preloaded file in the background thread.
+     * @return true if the reload is requested, false if the other reload is already requested and has not started
+     * yet, then the file is read by that reload.
+     */
+    public boolean requestReload() {
+        if (!pending.compareAndSet(false, true)) {
+            logger.debug("reload is already requested");
+            return false;
+        }
+        executor.execute(() -> {
+            pending.set(false);
+            reload();
+        });
+        return true;
+    }
+
+    /**
+     * Reloads the preloaded file in the current thread.
+     * @return true if units are reloaded, false if nothing is preloaded or the file could not be read.
+     */
+    public synchronized boolean reload() {
+        String path = namespace.getPreloadedPath();
+        Preloader.Mode mode = namespace.getPreloadedMode();
+        if (path == null || !namespace.isReady()) {
+            logger.warn("nothing to reload, units are not preloaded");
+            return false;
+        }
+        logger.info("start reloading {} into {}", path, namespace.getName());
+        long start = System.nanoTime();
+        try {
+            long version = load(path, mode);
+            lastDurationMillis = (System.nanoTime() - start) / 1_000_000;
+            lastReloadTime = System.currentTimeMillis();
+            lastError = null;
+            reloadCount.incrementAndGet();
+            logger.info("units of the version {} are reloaded in {} ms", version, lastDurationMillis);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            lastError = e.toString();
+            failureCount.incrementAndGet();
+            logger.error("unable to reload {} : {}", path, e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Builds new units from the file and replaces the old units by them. If the namespace has the log, units are
+     * loaded from the image of the last compaction when it is the image of this file and the log is replayed on top.
+     * @param path path to the file with converting rules or to the snapshot.
+     * @param mode how the file was preloaded.
+     * @return version of the rules of the new units.
+     * @throws IOException if the file could not be read.
+     */
+    long load(String path, Preloader.Mode mode) throws IOException {
+        if (mode == Preloader.Mode.SNAPSHOT) {
+            UnitIndex index = MappedUnitIndex.map(Paths.get(path));
+            return namespace.replaceUnits(new UnitTable(), index, true, NameFilter.of(index));
+        }
+        RuleLog log = namespace.getLog();
+        long generation = log == null ? 0 : log.getGeneration();
+        if (log == null) {
+            UnitTable table = new UnitTable();
+            Preloader.readRules(path, table);
+            UnitIndex index = table.snapshot();
+            return namespace.replaceUnits(table, index, false, NameFilter.of(index));
+        }
+        UnitTable table = Preloader.loadRules(path);
+        Path logPath = RuleLog.pathOf(path);
+        long end = RuleLog.replay(logPath, table, 0);
+        UnitIndex index = table.snapshot();
+        NameFilter filter = NameFilter.of(index);
+        synchronized (namespace.lock) {
+            namespace.awaitLogged();
+            boolean compacted = namespace.getLog() != log || log.getGeneration() != generation;
+            if (compacted) {
+                logger.debug("log of {} is compacted while it is reloaded, rules are read again", path);
+                table = Preloader.loadRules(path);
+            }
+            if (RuleLog.replay(logPath, table, compacted ? 0 : end) != end || compacted) {
+                index = table.snapshot();
+                filter = NameFilter.of(index);
+            }
+            return namespace.replaceUnits(table, index, false, filter);
+        }
+    }
+
+    /**
+     * Checks if the reload is requested and has not started yet.
+     * @return true if the reload is pending.
+     */
+    public boolean isPending() {
+        return pending.get();
+    }
+
+    /**
+     * Gets amount of the successful reloads.
+     * @return amount of the reloads.
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * Gets amount of the failed reloads.
+     * @return amount of the failures.
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Gets duration of the last successful reload.
+     * @return duration in milliseconds, -1 if there were no reloads.
+     */
+    public long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    /**
+     * Gets time of the end of the last successful reload.
+     * @return time in milliseconds since the epoch, -1 if there were no reloads.
+     */
+    public long getLastReloadTime() {
+        return lastReloadTime;
+    }
+
+    /**
+     * Gets error of the last failed reload.
+     * @return message of the error or null if the last reload is successful.
+     */
+    public String getLastError() {
+        return lastError;
+    }
+}
@@ -0,0 +1,84 @@
+package app.holdingUnits;
+
+import app.search.Value;
+
+/**
+ * Converting rule "1 unit1 = quotient unit2" which is read from one line of the file with converting rules.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class Rule {
+
+    /** Name of the first unit. */
+    private final String name1;
+
+    /** Name of the second unit. */
+    private final String name2;
+
+    /** How many second units are in the first unit. */
+    private final Value quotient;
+
+    /**
+     * Constructs rule.
+     * @param name1 name of the first unit.
+     * @param name2 name of the second unit.
+     * @param quotient how many second units are in the first unit.
+     */
+    Rule(String name1, String name2, Value quotient) {
+        this.name1 = name1;
+        this.name2 = name2;
+        this.quotient = quotient;
+    }
+
+    /**
+     * Reads the rule from the line "unit1,unit2,quotient", spaces are ignored.
+     * @param line the line with names and quotient.
+     * @return the rule.
+     * @throws IllegalArgumentException if line does not have both names and the quotient or quotient is malformed or
+     * zero. Message of the exception describes the problem.
+     */
+    static Rule parse(String line) {
+        line = line.replace(" ", "");
+        int firstComma = line.indexOf(',');
+        int secondComma = firstComma < 0 ? -1 : line.indexOf(',', firstComma + 1);
+        if (secondComma < 0) {
+            throw new IllegalArgumentException("does not have two units and quotient : " + line);
+        }
+        Value quotient;
+        try {
+            quotient = Value.parse(line, secondComma + 1, line.length());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("has malformed quotient : " + e.getMessage());
+        }
+        if (quotient.isZero()) {
+            throw new IllegalArgumentException("has zero quotient : " + line);
+        }
+        return new Rule(line.substring(0, firstComma), line.substring(firstComma + 1, secondComma), quotient);
+    }
+
+    /**
+     * Gets name of the first unit.
+     * @return name of the first unit.
+     */
+    String getName1() {
+        return name1;
+    }
+
+    /**
+     * Gets name of the second unit.
+     * @return name of the second unit.
+     */
+    String getName2() {
+        return name2;
+    }
+
+    /**
+     * Gets how many second units are in the first unit.
+     * @return quotient.
+     */
+    Value getQuotient() {
+        return quotient;
+    }
+}
@@ -0,0 +1,75 @@
+package app.holdingUnits;
+
+import java.util.List;
+
+/**
+ * Report about the converting rule which is added or retired at runtime: what happened with the components and which
+ * units were created.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public final class RuleChange {
+
+    /**
+     * What happened with the components.
+     */
+    public enum Result {
+        /** Rule is added and connects two components. */
+        MERGED,
+        /** Rule is added, but units were already in one component. */
+        REDUNDANT,
+        /** Rule is retired, units are still in one component by other rules. */
+        RETIRED,
+        /** Rule is retired and the component is split into two. */
+        SPLIT,
+        /** Rule is not retired, there is no such rule. */
+        NOT_FOUND
+    }
+
+    /** What happened with the components. */
+    private final Result result;
+
+    /** Names of the units which were created by the rule. */
+    private final List<String> createdUnits;
+
+    /** Version of the converting rules after the change. */
+    private final long rulesVersion;
+
+    /**
+     * Constructs report.
+     * @param result what happened with the components.
+     * @param createdUnits names of the units which were created by the rule.
+     * @param rulesVersion version of the converting rules after the change.
+     */
+    RuleChange(Result result, List<String> createdUnits, long rulesVersion) {
+        this.result = result;
+        this.createdUnits = createdUnits;
+        this.rulesVersion = rulesVersion;
+    }
+
+    /**
+     * Gets what happened with the components.
+     * @return result.
+     */
+    public Result getResult() {
+        return result;
+    }
+
+    /**
+     * Gets names of the units which were created by the rule.
+     * @return names, empty if no units were created.
+     */
+    public List<String> getCreatedUnits() {
+        return createdUnits;
+    }
+
+    /**
+     * Gets version of the converting rules after the change.
+     * @return version of the rules.
+     */
+    public long getRulesVersion() {
+        return rulesVersion;
+    }
+}
@@ -0,0 +1,499 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.UnitImage;
+import app.holdingUnits.containers.UnitTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of the converting rules which are added and retired at runtime. It is kept next to the file with
+ * converting rules, with ".log" at the end of the name, and is replayed on top of the rules when they are preloaded,
+ * so changes are not lost after restart. Every record is "length, checksum, type, text": the text is the rule line
+ * for the added rule and "unit1,unit2" for the retired one. Replay stops at the first record with the wrong checksum,
+ * it is the record which was not written completely before the crash. Records are forced to the disk in batches:
+ * while one writer waits for the disk, the records of the others are written and forced by the next force together.
+ * There is at most one rule between two units, so replaying the record again does not change the units. When the log
+ * becomes big it is compacted: all rules are written into the new file with converting rules, which replaces the old
+ * one, the image of the table is written next to it with ".image" at the end of the name and the log is cleared. At
+ * start the image is loaded instead of parsing the file and only the log is replayed, so the time of the recovery
+ * depends on the size of the log, not on the amount of the rules. The mapped snapshot has no log, its units could not
+ * be changed at runtime.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public final class RuleLog {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(RuleLog.class);
+
+    /** Name of the system property which enables the log. */
+    static final String PROPERTY = "rules.log.enabled";
+
+    /** Name of the system property which sets the size of the log in bytes after which it is compacted. */
+    static final String COMPACTION_PROPERTY = "rules.log.compaction.size";
+
+    /** Default size of the log in bytes after which it is compacted. */
+    static final long DEFAULT_COMPACTION_SIZE = 64L * 1024 * 1024;
+
+    /** Type of the record of the added rule. */
+    static final byte ADD = 1;
+
+    /** Type of the record of the retired rule. */
+    static final byte RETIRE = 2;
+
+    /** Size of the header of the record: length, checksum and type. */
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + 1;
+
+    /** Biggest length of the text of the record, longer ones are surely broken. */
+    private static final int MAX_TEXT_LENGTH = 1 << 20;
+
+    /** Thread which compacts logs. */
+    private static final ExecutorService compactor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "rule-log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Path to the file with converting rules. */
+    private final Path rulesPath;
+
+    /** Namespace which rules are logged or null, then the log is not compacted by itself. */
+    private final Namespace namespace;
+
+    /** Path to the log. */
+    private final Path path;
+
+    /** Channel to which records are written. */
+    private final FileChannel channel;
+
+    /** Size of the log after which it is compacted. */
+    private final long compactionSize;
+
+    /** Lock of the forcing to the disk. */
+    private final Object syncLock = new Object();
+
+    /** Position after the last written record. */
+    private volatile long written;
+
+    /** Position until which records are forced to the disk. */
+    private long synced;
+
+    /** Generation of the log, it is changed by every compaction, so positions of the records are valid only in it. */
+    private volatile long generation;
+
+    /** True if the log could not be forced, then records are not written until the log is compacted. */
+    private volatile boolean broken;
+
+    /** True if compaction is requested and has not started yet. */
+    private final AtomicBoolean compactionPending = new AtomicBoolean();
+
+    /**
+     * Constructs log which is opened at the end of its valid records.
+     * @param rulesPath path to the file with converting rules.
+     * @param namespace namespace which rules are logged or null.
+     * @param path path to the log.
+     * @param channel channel of the log.
+     * @param end position after the last valid record.
+     * @param compactionSize size of the log after which it is compacted.
+     */
+    private RuleLog(Path rulesPath, Namespace namespace, Path path, FileChannel channel, long end,
+                    long compactionSize) {
+        this.rulesPath = rulesPath;
+        this.namespace = namespace;
+        this.path = path;
+        this.channel = channel;
+        this.compactionSize = compactionSize;
+        written = end;
+        synced = end;
+    }
+
+    /**
+     * Checks if the log is enabled by the system property.
+     * @return true if the log should be opened when rules are preloaded.
+     */
+    static boolean isEnabled() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * Gets path to the log of the file with converting rules.
+     * @param rulesPath path to the file with converting rules.
+     * @return path to the log.
+     */
+    public static Path pathOf(String rulesPath) {
+        return Paths.get(rulesPath + ".log");
+    }
+
+    /**
+     * Gets path to the image of the table which is written by the compaction of the log.
+     * @param rulesPath path to the file with converting rules.
+     * @return path to the image.
+     */
+    public static Path imagePathOf(String rulesPath) {
+        return Paths.get(rulesPath + ".image");
+    }
+
+    /**
+     * Opens the log of the file with converting rules and replays it on top of the rules in the table. The broken
+     * record at the end of the log is cut off. If there is no log it is created.
+     * @param rulesPath path to the file with converting rules.
+     * @param units table with the rules of the file.
+     * @return opened log.
+     * @throws IOException if the log could not be read or created.
+     */
+    public static RuleLog open(String rulesPath, UnitTable units) throws IOException {
+        return open(rulesPath, units, null);
+    }
+
+    /**
+     * Opens the log of the file with converting rules of the namespace and replays it on top of the rules in the
+     * table. The log is compacted by itself when it becomes big.
+     * @param rulesPath path to the file with converting rules.
+     * @param units table with the rules of the file.
+     * @param namespace namespace which rules are logged or null, then the log is not compacted by itself.
+     * @return opened log.
+     * @throws IOException if the log could not be read or created.
+     */
+    static RuleLog open(String rulesPath, UnitTable units, Namespace namespace) throws IOException {
+        Path path = pathOf(rulesPath);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long start = System.nanoTime();
+            long end = replay(channel, units, 0);
+            if (end < channel.size()) {
+                logger.warn("log {} is broken at {}, the rest {} bytes are cut off", path, end, channel.size() - end);
+                channel.truncate(end);
+                channel.force(true);
+            }
+            logger.info("log {} of {} bytes is replayed in {} ms", path, end, (System.nanoTime() - start) / 1_000_000);
+            return new RuleLog(Paths.get(rulesPath), namespace, path, channel, end,
+                    Long.getLong(COMPACTION_PROPERTY, DEFAULT_COMPACTION_SIZE));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replays the log on top of the rules in the table, if there is the log.
+     * @param path path to the log.
+     * @param units table with the rules.
+     * @param start position of the first replayed record, 0 to replay all records. It should be the position which is
+     * read in the same generation of the log, see {@link #getGeneration()}.
+     * @return position after the last valid record.
+     * @throws IOException if the log could not be read.
+     */
+    static long replay(Path path, UnitTable units, long start) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return replay(channel, units, start);
+        }
+    }
+
+    /**
+     * Reads records of the log and applies them to the table.
+     * @param channel channel of the log.
+     * @param units table with the rules.
+     * @param start position of the first record.
+     * @return position after the last valid record.
+     * @throws IOException if the log could not be read.
+     */
+    private static long replay(FileChannel channel, UnitTable units, long start) throws IOException {
+        long size = channel.size();
+        long position = start;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        CRC32C checksum = new CRC32C();
+        long count = 0;
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            int expected = header.getInt();
+            byte type = header.get();
+            if (length < 0 || length > MAX_TEXT_LENGTH || position + HEADER_SIZE + length > size) {
+                break;
+            }
+            ByteBuffer text = ByteBuffer.allocate(length);
+            readFully(channel, text, position + HEADER_SIZE);
+            checksum.reset();
+            checksum.update(type);
+            checksum.update(text.array());
+            if ((int) checksum.getValue() != expected || (type != ADD && type != RETIRE)) {
+                break;
+            }
+            apply(units, type, new String(text.array(), StandardCharsets.UTF_8));
+            position += HEADER_SIZE + length;
+            count++;
+        }
+        logger.debug("{} records are replayed", count);
+        return position;
+    }
+
+    /**
+     * Reads bytes from the channel until the buffer is full.
+     * @param channel channel.
+     * @param buffer buffer.
+     * @param position position in the channel.
+     * @throws IOException if the channel ends before the buffer is full.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("unexpected end of the log");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Applies the record to the table.
+     * @param units table with the rules.
+     * @param type type of the record.
+     * @param text text of the record.
+     */
+    private static void apply(UnitTable units, byte type, String text) {
+        if (type == ADD) {
+            Rule rule;
+            try {
+                rule = Rule.parse(text);
+            } catch (IllegalArgumentException e) {
+                logger.error("log record {}", e.getMessage());
+                return;
+            }
+            units.addRule(findOrCreate(units, rule.getName1()), findOrCreate(units, rule.getName2()),
+                    rule.getQuotient());
+        } else {
+            int comma = text.indexOf(',');
+            if (comma < 0) {
+                logger.error("log record does not have two units : {}", text);
+                return;
+            }
+            int id1 = units.findId(text.substring(0, comma));
+            int id2 = units.findId(text.substring(comma + 1));
+            if (id1 >= 0 && id2 >= 0) {
+                units.removeRule(id1, id2);
+            }
+        }
+    }
+
+    /**
+     * Finds id of the unit, if there is no such unit creates it.
+     * @param units table with the rules.
+     * @param name name of the unit.
+     * @return id of the unit.
+     */
+    private static int findOrCreate(UnitTable units, String name) {
+        int id = units.findId(name);
+        return id >= 0 ? id : units.createUnit(name);
+    }
+
+    /**
+     * Writes the record of the added rule. The record is not forced to the disk, {@link #sync(long)} should be called
+     * before the change is reported.
+     * @param line the line "unit1,unit2,quotient".
+     * @return position after the record.
+     * @throws IOException if the record could not be written.
+     */
+    long appendAdd(String line) throws IOException {
+        return append(ADD, line);
+    }
+
+    /**
+     * Writes the record of the retired rule. The record is not forced to the disk, {@link #sync(long)} should be
+     * called before the change is reported.
+     * @param name1 name of one unit.
+     * @param name2 name of the other unit.
+     * @return position after the record.
+     * @throws IOException if the record could not be written.
+     */
+    long appendRetire(String name1, String name2) throws IOException {
+        return append(RETIRE, name1 + ',' + name2);
+    }
+
+    /**
+     * Writes the record at the end of the log.
+     * @param type type of the record.
+     * @param text text of the record.
+     * @return position after the record.
+     * @throws IOException if the record could not be written.
+     */
+    private synchronized long append(byte type, String text) throws IOException {
+        if (broken) {
+            throw new IOException("log " + path + " is broken, it should be compacted");
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        CRC32C checksum = new CRC32C();
+        checksum.update(type);
+        checksum.update(bytes);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + bytes.length);
+        record.putInt(bytes.length).putInt((int) checksum.getValue()).put(type).put(bytes).flip();
+        long position = written;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        written = position;
+        return position;
+    }
+
+    /**
+     * Waits until the log is forced to the disk up to the position. One force writes records of all writers which
+     * came before it, so writers which wait at the same time are forced together. Requests compaction if the log is
+     * big. If the force fails it is not known which records are on the disk, so the log is broken: this and all next
+     * records are reported as failed until the log is compacted.
+     * @param position position after the record.
+     * @throws IOException if the log could not be forced or it is broken.
+     */
+    void sync(long position) throws IOException {
+        synchronized (syncLock) {
+            if (broken) {
+                throw new IOException("log " + path + " is broken, it should be compacted");
+            }
+            if (synced < position) {
+                long target = written;
+                try {
+                    channel.force(false);
+                } catch (IOException e) {
+                    broken = true;
+                    throw e;
+                }
+                synced = target;
+            }
+        }
+        if (namespace != null && position >= compactionSize && compactionPending.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                compactionPending.set(false);
+                try {
+                    namespace.compactLog();
+                } catch (IOException | RuntimeException e) {
+                    logger.error("unable to compact log {} : {}", path, e.toString());
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes all rules of the table into the new file with converting rules, replaces the old file by it, writes the
+     * image of the table and clears the log. The directory is forced after the files are moved, so the log is cleared
+     * only when the new file surely replaces the old one after the crash. The image is only the faster way to load the
+     * new file, if it could not be written it is deleted and the file is parsed at the next start. It should be called
+     * under the lock of the writers, so the rules are not changed meanwhile. If it fails before the file is replaced
+     * nothing is changed, if it fails after that the log is replayed on top of the new file, which does not change the
+     * rules.
+     * @param units table with the rules.
+     * @return amount of the written rules.
+     * @throws IOException if the file could not be written or the log could not be cleared.
+     */
+    synchronized long compact(UnitTable units) throws IOException {
+        long start = System.nanoTime();
+        Path temporary = rulesPath.resolveSibling(rulesPath.getFileName() + ".compacting");
+        long count;
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(out),
+                    StandardCharsets.UTF_8), 1 << 16);
+            count = units.writeRules(writer);
+            writer.flush();
+            out.force(true);
+        }
+        generation++;
+        Files.move(temporary, rulesPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(rulesPath.toAbsolutePath().getParent());
+        Path image = imagePathOf(rulesPath.toString());
+        try {
+            UnitImage.write(units, image, rulesPath);
+        } catch (IOException e) {
+            logger.warn("unable to write image {} : {}", image, e.getMessage());
+            Files.deleteIfExists(image);
+        }
+        forceDirectory(rulesPath.toAbsolutePath().getParent());
+        synchronized (syncLock) {
+            channel.truncate(0);
+            channel.force(true);
+            written = 0;
+            synced = 0;
+            broken = false;
+        }
+        logger.info("log {} is compacted into {} rules in {} ms", path, count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * Forces the directory to the disk, so the file which is moved into it is not lost after the crash.
+     * @param directory path to the directory.
+     * @throws IOException if the directory could not be forced.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Gets generation of the log. Positions of the records which are read in one generation are not valid in the
+     * other one, because the compaction clears the log and the new records are written from its start.
+     * @return generation.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Checks if the log could not be forced and is not compacted after that.
+     * @return true if the log is broken.
+     */
+    boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * Gets size of the log.
+     * @return position after the last written record.
+     */
+    public long size() {
+        return written;
+    }
+
+    /**
+     * Gets path to the log.
+     * @return path.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Closes the log.
+     */
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("unable to close log {} : {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package app.holdingUnits;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Part of the file with converting rules which starts and ends at the line boundary. Chunk is parsed independently of
+ * the other chunks and keeps all its rules in the order of the lines. Rules which close cycles do not connect units,
+ * but they are kept by the table of units as after the sequential parsing, so the component is built from the same
+ * rules when one of its rules is retired or the rules are compacted.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class RulesChunk extends RecursiveAction {
+
+    /** Version of the serialized form. */
+    private static final long serialVersionUID = 1L;
+
+    /** Path to the file with converting rules. */
+    private final Path path;
+
+    /** Offset of the first byte of the chunk. */
+    private final long start;
+
+    /** Offset after the last byte of the chunk. */
+    private final long end;
+
+    /** Rules of the chunk, in the order of the lines. */
+    private final List<Rule> rules = new ArrayList<>();
+
+    /** Numbers of the malformed lines in the chunk, counted from 1. */
+    private final List<Long> errorLines = new ArrayList<>();
+
+    /** Descriptions of the malformed lines. */
+    private final List<String> errors = new ArrayList<>();
+
+    /** Amount of the lines in the chunk. */
+    private long lineCount;
+
+    /**
+     * Constructs chunk.
+     * @param path path to the file with converting rules.
+     * @param start offset of the first byte of the chunk.
+     * @param end offset after the last byte of the chunk.
+     */
+    RulesChunk(Path path, long start, long end) {
+        this.path = path;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Maps the chunk, decodes it and parses its lines.
+     */
+    @Override
+    protected void compute() {
+        String text;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            text = StandardCharsets.UTF_8.decode(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start))
+                    .toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            int next = lineEnd < 0 ? text.length() : lineEnd + 1;
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            if (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            parseLine(text.substring(lineStart, lineEnd));
+            lineStart = next;
+        }
+    }
+
+    /**
+     * Parses the line and keeps the rule.
+     * @param line the line with names and quotient.
+     */
+    private void parseLine(String line) {
+        lineCount++;
+        Rule rule;
+        try {
+            rule = Rule.parse(line);
+        } catch (IllegalArgumentException e) {
+            errorLines.add(lineCount);
+            errors.add(e.getMessage());
+            return;
+        }
+        rules.add(rule);
+    }
+
+    /**
+     * Gets rules of the chunk.
+     * @return rules in the order of the lines.
+     */
+    List<Rule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Gets numbers of the malformed lines.
+     * @return numbers of the lines in the chunk, counted from 1.
+     */
+    List<Long> getErrorLines() {
+        return errorLines;
+    }
+
+    /**
+     * Gets descriptions of the malformed lines.
+     * @return descriptions in the same order as the numbers of the lines.
+     */
+    List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets amount of the lines in the chunk.
+     * @return amount of the lines.
+     */
+    long getLineCount() {
+        return lineCount;
+    }
+}
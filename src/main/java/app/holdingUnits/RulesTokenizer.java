@@ -0,0 +1,202 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.UnitTable;
+import app.search.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Class which reads converting rules straight from the bytes of the file, for example from the memory-mapped file.
+ * Every line is copied without spaces into one reusable array, names are interned by their bytes and the quotient
+ * is parsed from the same array, so strings are created only for the new names and for the malformed lines. Lines
+ * end with "\n", "\r" or "\r\n" as in {@link java.io.BufferedReader#readLine()}.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class RulesTokenizer {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(RulesTokenizer.class);
+
+    /** Table with all units. */
+    private final UnitTable units;
+
+    /** Ids of the units by the bytes of their names. */
+    private final NameInterner names;
+
+    /** Bytes of the current line without spaces. */
+    private byte[] line = new byte[256];
+
+    /** Quotient of the current line as the chars. */
+    private final ByteSequence quotient = new ByteSequence();
+
+    /** Amount of the read lines. */
+    private long lineCount;
+
+    /**
+     * Constructs tokenizer.
+     * @param units table with all units, rules are added to it.
+     */
+    RulesTokenizer(UnitTable units) {
+        this.units = units;
+        this.names = new NameInterner(units);
+    }
+
+    /**
+     * Reads all complete lines of the buffer from its start to its limit and adds rules to the units. The table is
+     * not read by others yet, for example it is the preloaded or reloaded one, so no lock is taken. Malformed lines
+     * are logged with the line number and skipped.
+     * @param buffer bytes of the file.
+     * @param last true if the buffer ends at the end of the file, so the last line is complete without line break.
+     * @return index after the last read line, the rest bytes should be read again with the next bytes of the file.
+     */
+    int parse(ByteBuffer buffer, boolean last) {
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int length = 0;
+            int position = lineStart;
+            byte symbol = 0;
+            for (; position < limit; position++) {
+                symbol = buffer.get(position);
+                if (symbol == '\n' || symbol == '\r') {
+                    break;
+                }
+                if (symbol != ' ') {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, length * 2);
+                    }
+                    line[length++] = symbol;
+                }
+            }
+            if (position == limit || (symbol == '\r' && position + 1 == limit)) {
+                if (!last) {
+                    return lineStart;
+                }
+            }
+            if (symbol == '\r' && position + 1 < limit && buffer.get(position + 1) == '\n') {
+                position++;
+            }
+            parseLine(length);
+            lineStart = position + 1;
+        }
+        return limit;
+    }
+
+    /**
+     * Gets amount of the read lines.
+     * @return amount of the lines.
+     */
+    long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Reads the rule from the current line and adds it to the units.
+     * @param length length of the line.
+     */
+    private void parseLine(int length) {
+        lineCount++;
+        int firstComma = indexOfComma(0, length);
+        int secondComma = firstComma < 0 ? -1 : indexOfComma(firstComma + 1, length);
+        if (secondComma < 0) {
+            logger.error("line {} does not have two units and quotient : {}", lineCount, lineText(length));
+            return;
+        }
+        Value value;
+        try {
+            quotient.set(line, secondComma + 1, length);
+            value = Value.parse(quotient, 0, quotient.length());
+        } catch (NumberFormatException e) {
+            logger.error("line {} has malformed quotient : {}", lineCount, e.getMessage());
+            return;
+        }
+        if (value.isZero()) {
+            logger.error("line {} has zero quotient : {}", lineCount, lineText(length));
+            return;
+        }
+        int id1 = names.intern(line, 0, firstComma);
+        int id2 = names.intern(line, firstComma + 1, secondComma);
+        if (units.addRule(id1, id2, value)) {
+            logger.debug("connects units : {}, {}", units.getName(id1), units.getName(id2));
+        }
+    }
+
+    /**
+     * Finds comma in the current line.
+     * @param from index from which comma is searched.
+     * @param length length of the line.
+     * @return index of the comma or -1 if there is no comma.
+     */
+    private int indexOfComma(int from, int length) {
+        for (int i = from; i < length; i++) {
+            if (line[i] == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes the current line to log it.
+     * @param length length of the line.
+     * @return the line.
+     */
+    private String lineText(int length) {
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Chars of the part of the byte array, it is reused for all quotients. Numbers have only ASCII chars, so every
+     * byte is one char, other bytes are not digits and make number malformed.
+     */
+    private static class ByteSequence implements CharSequence {
+
+        /** Array with the bytes. */
+        private byte[] bytes;
+
+        /** Index of the first byte. */
+        private int start;
+
+        /** Index after the last byte. */
+        private int end;
+
+        /**
+         * Sets the part of the array.
+         * @param bytes array with the bytes.
+         * @param start index of the first byte.
+         * @param end index after the last byte.
+         */
+        void set(byte[] bytes, int start, int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes[start + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new String(bytes, start + from, to - from, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        }
+    }
+}
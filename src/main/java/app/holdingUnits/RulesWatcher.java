@@ -0,0 +1,134 @@
+package app.holdingUnits;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread which watches the file with converting rules and requests the reload when the file is changed. The
+ * directory of the file is watched, so the file which is replaced by the rename is noticed too. Events which come
+ * while the file is written are merged: reload is requested when the file is not changed for a while. The reload
+ * builds units from the file and the log of the rules, see {@link Reloader}, rules which are changed at runtime are
+ * kept only if they are in the log.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public class RulesWatcher extends Thread {
+
+    /** Logger for this class. */
+    private final static Logger logger = LoggerFactory.getLogger(RulesWatcher.class);
+
+    /** Milliseconds without changes of the file after which the reload is requested. */
+    private final static long quietMillis = 200;
+
+    /** Reloader of the namespace of the file. */
+    private final Reloader reloader;
+
+    /** Watched file. */
+    private final Path file;
+
+    /** Service which watches the directory of the file. */
+    private final WatchService service;
+
+    /**
+     * Creates the watcher of the file of the default namespace and starts it.
+     * @param path path to the file with converting rules.
+     * @return started watcher.
+     * @throws IOException if the directory of the file could not be watched.
+     */
+    public static RulesWatcher watch(String path) throws IOException {
+        return watch(GraphHolder.getDefault(), path);
+    }
+
+    /**
+     * Creates the watcher of the file of the namespace and starts it.
+     * @param namespace namespace which is reloaded when the file is changed.
+     * @param path path to the file with converting rules.
+     * @return started watcher.
+     * @throws IOException if the directory of the file could not be watched.
+     */
+    public static RulesWatcher watch(Namespace namespace, String path) throws IOException {
+        RulesWatcher watcher = new RulesWatcher(Paths.get(path), namespace.getReloader());
+        watcher.start();
+        return watcher;
+    }
+
+    /**
+     * Constructor of the watcher.
+     * @param file watched file.
+     * @param reloader reloader which is requested when the file is changed.
+     * @throws IOException if the directory of the file could not be watched.
+     */
+    public RulesWatcher(Path file, Reloader reloader) throws IOException {
+        super("rules-watcher");
+        setDaemon(true);
+        this.reloader = reloader;
+        this.file = file.toAbsolutePath();
+        service = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    /**
+     * Main body of the thread. Waits changes of the file and requests reloads until the watcher is closed.
+     */
+    @Override
+    public void run() {
+        logger.info("watching {}", file);
+        try {
+            while (true) {
+                if (!isChanged(service.take())) {
+                    continue;
+                }
+                WatchKey key;
+                while ((key = service.poll(quietMillis, TimeUnit.MILLISECONDS)) != null) {
+                    isChanged(key);
+                }
+                logger.info("{} is changed", file);
+                reloader.requestReload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.info("stop watching {}", file);
+        }
+    }
+
+    /**
+     * Checks events of the directory and resets the key to get the next events.
+     * @param key key with the events.
+     * @return true if one of the events is about the watched file.
+     */
+    private boolean isChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    public void close() {
+        try {
+            service.close();
+        } catch (IOException e) {
+            logger.warn("unable to close the watcher : {}", e.getMessage());
+        }
+    }
+}
@@ -2,10 +2,9 @@ package app.holdingUnits.containers;
 
 import app.search.Value;
 
-import java.util.*;
-
 /**
- * Class to hold nodes of the graph. Also it should find way to convert one unit of this graph to other one.
+ * Class to hold nodes of the graph. Also it should find way to convert one unit of this graph to other one. Graph is
+ * the component of the unit table, it holds id of any unit of the component and finds the root by it.
  *
  * @version 1.0.0 10 Mar 2021
  * @author Aleksey Lakhanskii
@@ -13,16 +12,29 @@ import java.util.*;
  */
 public class Graph {
 
-    /** All nodes of the graph. */
-    private final HashMap<String, Node> nodesForNames;
+    /** Table in which nodes of the graph are kept. */
+    private final UnitTable units;
+
+    /** Id of the unit of this graph, it is updated to the root id when the root is searched. */
+    private int root;
 
     /**
      * Constructs the graph and adds start node to this graph.
      * @param startNode first graph node.
      */
     public Graph(Node startNode) {
-        nodesForNames = new HashMap<>();
-        nodesForNames.put(startNode.getName(), startNode);
+        this(startNode.getTable(), startNode.getTable().findComponent(startNode.getId()));
+        units.setGraph(root, this);
+    }
+
+    /**
+     * Constructs the graph of the component.
+     * @param units table in which nodes of the graph are kept.
+     * @param root id of the component.
+     */
+    Graph(UnitTable units, int root) {
+        this.units = units;
+        this.root = root;
     }
 
     /**
@@ -32,51 +44,28 @@ public class Graph {
      * @param startQuotient the quotient of converting from the first node to the second.
      */
     public void addNode(String node1Name, String node2Name, Value startQuotient) {
-        Node existenceNode;
-        Node newNode;
-        Value newRule = new Value();
+        int id1 = units.findId(node1Name);
+        int id2 = units.findId(node2Name);
         if (existenceNode(node1Name)) {
-            existenceNode = nodesForNames.get(node1Name);
-            newNode = Node.createNode(node2Name);
-            newRule.divide(startQuotient);
-            nodesForNames.put(node2Name, newNode);
-        }
-        else {
-            existenceNode = nodesForNames.get(node2Name);
-            newNode = Node.createNode(node1Name);
-            newRule.multiply(startQuotient);
-            nodesForNames.put(node1Name, newNode);
+            id2 = units.createUnit(node2Name);
+        } else {
+            id1 = units.createUnit(node1Name);
         }
-        assert newNode != null;
-        Value rule = new Value();
-        rule.multiply(existenceNode.getConvertingRule());
-        rule.multiply(newRule);
-        newNode.setConvertingRule(rule);
-        Node.setGraphsForName(newNode.getName(), this);
+        units.addRule(id1, id2, startQuotient);
+        units.setGraph(findRoot(), this);
     }
 
     /**
-     * Connects two graphs.
+     * Connects two graphs. The root of the smaller graph is connected to the root of the bigger one, so it takes
+     * constant time. After that this graph holds all nodes of both graphs.
      * @param graph2 the second graph.
      * @param nodeName node name from the first graph.
      * @param graph2NodeName node name from the second graph.
      * @param startQuotient the quotient of converting.
      */
     public void connect(Graph graph2, String nodeName, String graph2NodeName, Value startQuotient) {
-        Node graph2Node = graph2.findNode(graph2NodeName);
-        Node node = findNode(nodeName);
-        Value newRule = new Value();
-
-        newRule.multiply(startQuotient);
-        newRule.multiply(node.getConvertingRule());
-        newRule.divide(graph2Node.getConvertingRule());
-
-        HashMap<String, Node> nodesForNamesGraph2 = graph2.getNodesForNames();
-        for (Map.Entry<String, Node> entry : nodesForNamesGraph2.entrySet()) {
-            entry.getValue().getConvertingRule().multiply(newRule);
-            Node.setGraphsForName(entry.getValue().getName(), this);
-            nodesForNames.put(entry.getKey(), entry.getValue());
-        }
+        units.addRule(units.findId(nodeName), units.findId(graph2NodeName), startQuotient);
+        units.setGraph(findRoot(), this);
     }
 
     /**
@@ -85,7 +74,8 @@ public class Graph {
      * @return if node exists - true, else - false.
      */
     public boolean existenceNode(String nodeName) {
-        return nodesForNames.get(nodeName) != null;
+        int id = units.findId(nodeName);
+        return id >= 0 && units.findComponent(id) == findRoot();
     }
 
     /**
@@ -94,15 +84,7 @@ public class Graph {
      * @return if node with such name exists returns node, else returns null.
      */
     public Node findNode(String nodeName) {
-        return nodesForNames.get(nodeName);
-    }
-
-    /**
-     * Get HashMap with key as node name and value as node.
-     * @return HashMap nodeForNames.
-     */
-    public HashMap<String, Node> getNodesForNames() {
-        return nodesForNames;
+        return existenceNode(nodeName) ? new Node(units, units.findId(nodeName)) : null;
     }
 
     /**
@@ -112,12 +94,7 @@ public class Graph {
      * @return the converting rule.
      */
     public Value findConverting(String startNodeName, String endNodeName) {
-        Value result = new Value();
-        Node startNode = nodesForNames.get(startNodeName);
-        Node endNode = nodesForNames.get(endNodeName);
-        result.multiply(startNode.getConvertingRule());
-        result.divide(endNode.getConvertingRule());
-        return result;
+        return units.findConverting(units.findId(startNodeName), units.findId(endNodeName));
     }
 
     /**
@@ -125,6 +102,15 @@ public class Graph {
      * @return amount of the nodes in this graph.
      */
     public Integer getGraphSize() {
-        return nodesForNames.size();
+        return units.getComponentSize(root);
+    }
+
+    /**
+     * Finds the root of the graph, it could change after connecting graphs.
+     * @return id of the component.
+     */
+    private int findRoot() {
+        root = units.findComponent(root);
+        return root;
     }
 }
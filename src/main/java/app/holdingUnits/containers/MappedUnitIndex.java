@@ -0,0 +1,380 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Units which are read from the memory-mapped snapshot file. Snapshot is the compiled unit table: hash table of the
+ * names, component of each unit and its converting rule to the root of the component. Lookups are served straight
+ * from the mapped file, so neither startup time nor heap depends on the amount of units.
+ * <p>
+ * Snapshot format (big-endian): header (magic, version, unit count, component count, slot count, names length, big
+ * rules length), slots of the name hash table (id + 1 or 0), offsets of the names, records of the units (component,
+ * exponent, numerator, denominator), UTF-8 names and rules which do not fit into long. For such rules denominator in
+ * the record is 0 and numerator is the offset of the rule in the last section. Snapshot is mapped as one buffer, so it
+ * should not be bigger than {@link Integer#MAX_VALUE} bytes: the size is checked when the snapshot is written and when
+ * it is mapped, then all offsets in the snapshot, also offsets of the records by ids, fit into int.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public class MappedUnitIndex implements UnitIndex {
+
+    /** First bytes of the snapshot file ("UCS1"). */
+    private static final int MAGIC = 0x55435331;
+
+    /** Version of the snapshot format. */
+    private static final int VERSION = 1;
+
+    /** Size of the header. */
+    private static final int HEADER_SIZE = 7 * Integer.BYTES;
+
+    /** Size of the unit record. */
+    private static final int RECORD_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES;
+
+    /** Biggest size of the snapshot, it is mapped as one buffer. */
+    private static final long MAX_SIZE = Integer.MAX_VALUE;
+
+    /** Mapped snapshot file. */
+    private final ByteBuffer buffer;
+
+    /** Amount of the units. */
+    private final int unitCount;
+
+    /** Amount of the components. */
+    private final int componentCount;
+
+    /** Amount of the slots in the name hash table, it is the power of two. */
+    private final int slotCount;
+
+    /** Offset of the name hash table slots. */
+    private final int slotsOffset;
+
+    /** Offset of the name offsets. */
+    private final int nameOffsetsOffset;
+
+    /** Offset of the unit records. */
+    private final int recordsOffset;
+
+    /** Offset of the names. */
+    private final int namesOffset;
+
+    /** Offset of the rules which do not fit into long. */
+    private final int bigRulesOffset;
+
+    /**
+     * Constructs index of the mapped snapshot and checks its header.
+     * @param buffer mapped snapshot file.
+     * @throws IOException if the file is not the snapshot or has other version.
+     */
+    private MappedUnitIndex(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("file is not the snapshot of units");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("unsupported snapshot version " + buffer.getInt(4));
+        }
+        unitCount = buffer.getInt(8);
+        componentCount = buffer.getInt(12);
+        slotCount = buffer.getInt(16);
+        int namesLength = buffer.getInt(20);
+        int bigRulesLength = buffer.getInt(24);
+        if (unitCount < 0 || slotCount < 0 || namesLength < 0 || bigRulesLength < 0
+                || size(unitCount, slotCount, namesLength, bigRulesLength) != buffer.capacity()) {
+            throw new IOException("snapshot is damaged");
+        }
+        slotsOffset = HEADER_SIZE;
+        nameOffsetsOffset = slotsOffset + slotCount * Integer.BYTES;
+        recordsOffset = nameOffsetsOffset + (unitCount + 1) * Integer.BYTES;
+        namesOffset = recordsOffset + unitCount * RECORD_SIZE;
+        bigRulesOffset = namesOffset + namesLength;
+    }
+
+    /**
+     * Maps the snapshot file.
+     * @param path path to the snapshot.
+     * @return index which reads the snapshot.
+     * @throws IOException if file could not be mapped or it is not the snapshot.
+     */
+    public static MappedUnitIndex map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedUnitIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes the snapshot of the units. It is written to the temporary file first and then moved, so the old
+     * snapshot is replaced only by the complete one.
+     * @param units table with all units.
+     * @param path path to the snapshot.
+     * @throws IOException if file could not be written.
+     */
+    public static void write(UnitTable units, Path path) throws IOException {
+        int unitCount = units.size();
+        if (size(unitCount, unitCount, 0, 0) > MAX_SIZE) {
+            throw new IOException("snapshot of " + unitCount + " units is bigger than " + MAX_SIZE + " bytes");
+        }
+        int slotCount = Integer.highestOneBit(Math.max(1, unitCount) * 2 - 1) * 2;
+        int[] slots = new int[slotCount];
+        byte[][] names = new byte[unitCount][];
+        long namesLength = 0;
+        for (int id = 0; id < unitCount; id++) {
+            String name = units.getName(id);
+            names[id] = name.getBytes(StandardCharsets.UTF_8);
+            namesLength += names[id].length;
+            int slot = NameTable.hash(name.hashCode()) & (slotCount - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (slotCount - 1);
+            }
+            slots[slot] = id + 1;
+        }
+        Value[] rules = new Value[unitCount];
+        long bigRulesLength = 0;
+        for (int id = 0; id < unitCount; id++) {
+            rules[id] = units.getRule(id);
+            if (!rules[id].isPrimitive()) {
+                bigRulesLength += 2 * Integer.BYTES + rules[id].getNumerator().toByteArray().length
+                        + rules[id].getDenominator().toByteArray().length;
+            }
+        }
+        long size = size(unitCount, slotCount, namesLength, bigRulesLength);
+        if (size > MAX_SIZE) {
+            throw new IOException("snapshot of " + size + " bytes is bigger than " + MAX_SIZE + " bytes");
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(unitCount);
+            output.writeInt(units.getComponentCount());
+            output.writeInt(slotCount);
+            output.writeInt((int) namesLength);
+            output.writeInt((int) bigRulesLength);
+            for (int slot : slots) {
+                output.writeInt(slot);
+            }
+            int nameOffset = 0;
+            for (byte[] name : names) {
+                output.writeInt(nameOffset);
+                nameOffset += name.length;
+            }
+            output.writeInt(nameOffset);
+            int bigRuleOffset = 0;
+            for (int id = 0; id < unitCount; id++) {
+                Value rule = rules[id];
+                output.writeInt(units.findComponent(id));
+                output.writeInt(rule.getExponent());
+                if (rule.isPrimitive()) {
+                    output.writeLong(rule.getPrimitiveNumerator());
+                    output.writeLong(rule.getPrimitiveDenominator());
+                } else {
+                    output.writeLong(bigRuleOffset);
+                    output.writeLong(0);
+                    bigRuleOffset += 2 * Integer.BYTES + rule.getNumerator().toByteArray().length
+                            + rule.getDenominator().toByteArray().length;
+                }
+            }
+            for (byte[] name : names) {
+                output.write(name);
+            }
+            for (Value rule : rules) {
+                if (!rule.isPrimitive()) {
+                    writeBigInteger(output, rule.getNumerator());
+                    writeBigInteger(output, rule.getDenominator());
+                }
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Finds id of the unit by probing the name hash table of the snapshot.
+     * @param name name of the unit.
+     * @return id of the unit or -1 if there is no such unit.
+     */
+    @Override
+    public int findId(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int mask = slotCount - 1;
+        for (int slot = NameTable.hash(name.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int id = buffer.getInt(slotsOffset + slot * Integer.BYTES) - 1;
+            if (id < 0 || nameEquals(id, bytes)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Gets name of the unit.
+     * @param id id of the unit.
+     * @return name.
+     */
+    @Override
+    public String getName(int id) {
+        int start = nameOffset(id);
+        byte[] bytes = new byte[nameOffset(id + 1) - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(namesOffset + start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the component of the unit.
+     * @param id id of the unit.
+     * @return id of the component.
+     */
+    @Override
+    public int findComponent(int id) {
+        return buffer.getInt(recordsOffset + id * RECORD_SIZE);
+    }
+
+    /**
+     * Multiplies the value by the converting rule of the unit to the root of its component.
+     * @param id id of the unit.
+     * @param result value which is multiplied.
+     */
+    @Override
+    public void multiplyRule(int id, Value result) {
+        int record = recordsOffset + id * RECORD_SIZE;
+        long denominator = buffer.getLong(record + 2 * Integer.BYTES + Long.BYTES);
+        if (denominator == 0) {
+            result.multiply(readBigRule(record));
+        } else {
+            result.multiply(buffer.getLong(record + 2 * Integer.BYTES), denominator,
+                    buffer.getInt(record + Integer.BYTES));
+        }
+    }
+
+    /**
+     * Divides the value by the converting rule of the unit to the root of its component.
+     * @param id id of the unit.
+     * @param result value which is divided.
+     */
+    @Override
+    public void divideRule(int id, Value result) {
+        int record = recordsOffset + id * RECORD_SIZE;
+        long denominator = buffer.getLong(record + 2 * Integer.BYTES + Long.BYTES);
+        if (denominator == 0) {
+            result.divide(readBigRule(record));
+        } else {
+            result.divide(buffer.getLong(record + 2 * Integer.BYTES), denominator,
+                    buffer.getInt(record + Integer.BYTES));
+        }
+    }
+
+    /**
+     * Gets amount of the units.
+     * @return amount of the units.
+     */
+    @Override
+    public int size() {
+        return unitCount;
+    }
+
+    /**
+     * Gets amount of the components.
+     * @return amount of the components.
+     */
+    @Override
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Estimates memory of the units, they are the mapped file.
+     * @return size of the mapped file.
+     */
+    @Override
+    public long getMemoryBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Gets offset of the name in the names section.
+     * @param id id of the unit, or amount of the units to get the end of the last name.
+     * @return offset of the name.
+     */
+    private int nameOffset(int id) {
+        return buffer.getInt(nameOffsetsOffset + id * Integer.BYTES);
+    }
+
+    /**
+     * Compares the name of the unit with the bytes.
+     * @param id id of the unit.
+     * @param bytes UTF-8 bytes of the name.
+     * @return true if name has the same bytes.
+     */
+    private boolean nameEquals(int id, byte[] bytes) {
+        int start = nameOffset(id);
+        if (nameOffset(id + 1) - start != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(namesOffset + start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the rule which does not fit into long.
+     * @param record offset of the unit record.
+     * @return the rule.
+     */
+    private Value readBigRule(int record) {
+        int offset = bigRulesOffset + (int) buffer.getLong(record + 2 * Integer.BYTES);
+        byte[] numerator = new byte[buffer.getInt(offset)];
+        offset += Integer.BYTES;
+        for (int i = 0; i < numerator.length; i++) {
+            numerator[i] = buffer.get(offset++);
+        }
+        byte[] denominator = new byte[buffer.getInt(offset)];
+        offset += Integer.BYTES;
+        for (int i = 0; i < denominator.length; i++) {
+            denominator[i] = buffer.get(offset++);
+        }
+        return new Value(new BigInteger(numerator), new BigInteger(denominator), buffer.getInt(record + Integer.BYTES));
+    }
+
+    /**
+     * Computes size of the snapshot without overflow.
+     * @param unitCount amount of the units.
+     * @param slotCount amount of the slots in the name hash table.
+     * @param namesLength length of the names.
+     * @param bigRulesLength length of the rules which do not fit into long.
+     * @return size of the snapshot in bytes.
+     */
+    private static long size(long unitCount, long slotCount, long namesLength, long bigRulesLength) {
+        return HEADER_SIZE + slotCount * Integer.BYTES + (unitCount + 1) * Integer.BYTES + unitCount * RECORD_SIZE
+                + namesLength + bigRulesLength;
+    }
+
+    /**
+     * Writes length and bytes of the number.
+     * @param output output stream.
+     * @param number number to write.
+     * @throws IOException if stream throws it.
+     */
+    private static void writeBigInteger(DataOutputStream output, BigInteger number) throws IOException {
+        byte[] bytes = number.toByteArray();
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
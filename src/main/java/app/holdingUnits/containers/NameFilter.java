@@ -0,0 +1,138 @@
+package app.holdingUnits.containers;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over the names of the units. It answers without the lookup in the units that the name is surely
+ * unknown, or that it may be known. About {@value #BITS_PER_NAME} bits are used for every name with
+ * {@value #HASH_COUNT} hashes, so about one unknown name of a hundred passes the filter. Names are hashed straight
+ * from the chars, so checking the name does not allocate. Names could be added while the filter is read.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public final class NameFilter {
+
+    /** Bits of the filter for one name. */
+    static final int BITS_PER_NAME = 10;
+
+    /** Amount of the hashes of one name. */
+    static final int HASH_COUNT = 7;
+
+    /** Bits of the filter. */
+    private final AtomicLongArray bits;
+
+    /** Mask of the bit index, amount of the bits is the power of two. */
+    private final int mask;
+
+    /**
+     * Constructs empty filter.
+     * @param expectedNames amount of the names which are expected to be added.
+     */
+    public NameFilter(int expectedNames) {
+        long bitCount = Math.max(64, Long.highestOneBit(Math.max(1L, (long) expectedNames * BITS_PER_NAME) * 2 - 1));
+        bitCount = Math.min(bitCount, 1L << 31);
+        bits = new AtomicLongArray((int) (bitCount >>> 6));
+        mask = (int) (bitCount - 1);
+    }
+
+    /**
+     * Constructs filter of all names of the units.
+     * @param units units.
+     * @return filter.
+     */
+    public static NameFilter of(UnitIndex units) {
+        int size = units.size();
+        NameFilter filter = new NameFilter(size);
+        for (int id = 0; id < size; id++) {
+            filter.add(units.getName(id));
+        }
+        return filter;
+    }
+
+    /**
+     * Adds the name.
+     * @param name name of the unit.
+     */
+    public void add(String name) {
+        int hash1 = name.hashCode();
+        int hash2 = secondHash(name, name.length());
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (hash1 + i * hash2) & mask;
+            long word;
+            long newWord;
+            do {
+                word = bits.get(bit >>> 6);
+                newWord = word | (1L << bit);
+            } while (word != newWord && !bits.compareAndSet(bit >>> 6, word, newWord));
+        }
+    }
+
+    /**
+     * Checks the name.
+     * @param name name of the unit.
+     * @return false if the name is surely not added, true if it may be added.
+     */
+    public boolean mightContain(CharSequence name) {
+        int hash1 = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash1 = 31 * hash1 + name.charAt(i);
+        }
+        return mightContain(hash1, secondHash(name, name.length()));
+    }
+
+    /**
+     * Checks the name which is written in the chars.
+     * @param name array with the chars of the name.
+     * @param length amount of the chars of the name from the start of the array.
+     * @return false if the name is surely not added, true if it may be added.
+     */
+    public boolean mightContain(char[] name, int length) {
+        int hash1 = 0;
+        int hash2 = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash1 = 31 * hash1 + name[i];
+            hash2 = (hash2 ^ name[i]) * 0x01000193;
+        }
+        return mightContain(hash1, hash2 | 1);
+    }
+
+    /**
+     * Gets memory of the filter.
+     * @return amount of the bytes of the bits.
+     */
+    public long getMemoryBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    /**
+     * Checks bits of the hashes.
+     * @param hash1 the first hash, the same as the hash of the string.
+     * @param hash2 the second hash.
+     * @return true if all bits are set.
+     */
+    private boolean mightContain(int hash1, int hash2) {
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (hash1 + i * hash2) & mask;
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the second hash of the name, FNV-1a of the chars. It is odd, so all steps of the bits differ.
+     * @param name name.
+     * @param length length of the name.
+     * @return hash.
+     */
+    private static int secondHash(CharSequence name, int length) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ name.charAt(i)) * 0x01000193;
+        }
+        return hash | 1;
+    }
+}
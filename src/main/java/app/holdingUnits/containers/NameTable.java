@@ -0,0 +1,265 @@
+package app.holdingUnits.containers;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Class to intern unit names to dense int ids. It is the open addressing hash table which keeps only ids in the
+ * slots, names are held in the array by ids, so there are no entries and boxed integers for each name. Names are only
+ * appended, so the view of the first names shares the arrays with the table: names are added after the ids of the
+ * view and slots are only filled, the slot with the id which is not in the view is the empty slot for the view.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class NameTable {
+
+    /** Approximate amount of the bytes of the string besides its chars. */
+    private static final int STRING_OVERHEAD = 56;
+
+    /** Start amount of the slots, should be the power of two. */
+    private static final int START_CAPACITY = 16;
+
+    /** Names for ids. */
+    private String[] names;
+
+    /** Slots of the hash table, each slot has id + 1 of the name or 0 if slot is empty. */
+    private int[] slots;
+
+    /** Amount of the names. */
+    private int size;
+
+    /**
+     * Constructs empty table.
+     */
+    NameTable() {
+        names = new String[START_CAPACITY];
+        slots = new int[START_CAPACITY * 2];
+        size = 0;
+    }
+
+    /**
+     * Constructs the view of the first names of the table.
+     * @param table table which names are seen.
+     */
+    private NameTable(NameTable table) {
+        names = table.names;
+        slots = table.slots;
+        size = table.size;
+    }
+
+    /**
+     * Constructs table from its arrays.
+     * @param names names for ids.
+     * @param slots slots of the hash table.
+     * @param size amount of the names.
+     */
+    private NameTable(String[] names, int[] slots, int size) {
+        this.names = names;
+        this.slots = slots;
+        this.size = size;
+    }
+
+    /**
+     * Creates the view of the current names, which does not change when names are added to the table. Nothing is
+     * copied, the view should only be read.
+     * @return view of the names.
+     */
+    NameTable view() {
+        return new NameTable(this);
+    }
+
+    /**
+     * Finds id of the name.
+     * @param name name of the unit.
+     * @return id or -1 if there is no such name.
+     */
+    int find(String name) {
+        int mask = slots.length - 1;
+        for (int slot = hash(name.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < 0 || id >= size) {
+                return -1;
+            }
+            if (names[id].equals(name)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Finds id of the name which is written in the chars, without creating the string.
+     * @param name array with the chars of the name.
+     * @param length amount of the chars of the name from the start of the array.
+     * @return id or -1 if there is no such name.
+     */
+    int find(char[] name, int length) {
+        int hashCode = 0;
+        for (int i = 0; i < length; i++) {
+            hashCode = 31 * hashCode + name[i];
+        }
+        int mask = slots.length - 1;
+        for (int slot = hash(hashCode) & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < 0 || id >= size) {
+                return -1;
+            }
+            if (equals(names[id], name, length)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Adds the name which does not exist yet and gives it the next id.
+     * @param name new name.
+     * @return id of the name.
+     */
+    int add(String name) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            rehash(slots.length * 2);
+        }
+        int id = size++;
+        names[id] = name;
+        insert(id);
+        return id;
+    }
+
+    /**
+     * Gets name by id.
+     * @param id id of the name.
+     * @return name.
+     */
+    String getName(int id) {
+        return names[id];
+    }
+
+    /**
+     * Gets amount of the names.
+     * @return amount of the names.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Estimates memory of the table with the names, names are counted as strings of two-byte chars.
+     * @return approximate amount of the bytes.
+     */
+    long getMemoryBytes() {
+        long bytes = (long) names.length * Long.BYTES + (long) slots.length * Integer.BYTES;
+        for (int id = 0; id < size; id++) {
+            bytes += STRING_OVERHEAD + 2L * names[id].length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the slots and the names into the image of the table, see {@link UnitImage}.
+     * @param output output stream.
+     * @throws IOException if stream throws it.
+     */
+    void writeImage(DataOutputStream output) throws IOException {
+        output.writeInt(size);
+        output.writeInt(slots.length);
+        for (int slot : slots) {
+            output.writeInt(slot);
+        }
+        for (int id = 0; id < size; id++) {
+            UnitImage.writeBytes(output, names[id].getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads the table which is written by {@link #writeImage(DataOutputStream)}. Slots are read as they are, so names
+     * are not hashed again.
+     * @param input input stream.
+     * @return new table.
+     * @throws IOException if stream throws it or the image is damaged.
+     */
+    static NameTable readImage(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        int slotCount = input.readInt();
+        if (slotCount < START_CAPACITY * 2 || Integer.bitCount(slotCount) != 1 || size < 0 || size > slotCount / 2) {
+            throw new IOException("wrong amount of names " + size + " or slots " + slotCount);
+        }
+        int[] slots = new int[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            slots[slot] = input.readInt();
+            if (slots[slot] < 0 || slots[slot] > size) {
+                throw new IOException("wrong slot " + slots[slot]);
+            }
+        }
+        String[] names = new String[slotCount / 2];
+        for (int id = 0; id < size; id++) {
+            names[id] = new String(UnitImage.readBytes(input), StandardCharsets.UTF_8);
+        }
+        return new NameTable(names, slots, size);
+    }
+
+    /**
+     * Deletes all names.
+     */
+    void clear() {
+        names = new String[START_CAPACITY];
+        slots = new int[START_CAPACITY * 2];
+        size = 0;
+    }
+
+    /**
+     * Puts id of the name into the first empty slot.
+     * @param id id of the name.
+     */
+    private void insert(int id) {
+        int mask = slots.length - 1;
+        int slot = hash(names[id].hashCode()) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+    }
+
+    /**
+     * Creates new slots and puts all ids into them.
+     * @param capacity new amount of slots.
+     */
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        for (int id = 0; id < size; id++) {
+            insert(id);
+        }
+    }
+
+    /**
+     * Compares the string with the chars.
+     * @param string the string.
+     * @param chars array with the chars.
+     * @param length amount of the chars from the start of the array.
+     * @return true if the string has the same chars.
+     */
+    private static boolean equals(String string, char[] chars, int length) {
+        if (string.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Spreads bits of the hash code, so names with close hash codes get far slots.
+     * @param hashCode hash code of the name.
+     * @return spread hash code.
+     */
+    static int hash(int hashCode) {
+        return (hashCode ^ (hashCode >>> 16)) * 0x9E3779B9;
+    }
+}
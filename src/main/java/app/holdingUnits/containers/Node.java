@@ -2,11 +2,10 @@ package app.holdingUnits.containers;
 
 import app.search.Value;
 
-import java.util.HashMap;
-
 /**
- * Node is holding name of the unit and all its rules converting (edges). Also class Node holding all units (Nodes)
- * which have been preloaded.
+ * Node is the unit with its name and its converting rule to the root unit of the graph. Units themselves are kept in
+ * the unit table by int ids, node is only the light handle of the id. Also class Node holding the table with all units
+ * (Nodes) which have been preloaded.
  *
  * @version 1.0.0 10 Mar 2021
  * @author Aleksey Lkahanskii
@@ -14,17 +13,14 @@ import java.util.HashMap;
  */
 public class Node {
 
-    /** Contains all added nodes. */
-    private final static HashMap<String, Node> nodesForNames = new HashMap<>();
-
-    /** Contains graph for existing nodes. */
-    private final static HashMap<String, Graph> graphsForNames = new HashMap<>();
+    /** Contains all added nodes, it is replaced when units are reloaded. */
+    private static volatile UnitTable units = new UnitTable();
 
-    /** Name of the node. */
-    private final String name;
+    /** Table in which the node is kept. */
+    private final UnitTable table;
 
-    /** Converting rule to the first unit in the graph. */
-    private Value convertingRule;
+    /** Id of the node. */
+    private final int id;
 
     /**
      * Creates new node if node with the same name does not exist yet.
@@ -32,12 +28,8 @@ public class Node {
      * @return new node or null if node already exists.
      */
     public static Node createNode(String name) {
-        if (checkExistence(name)) {
-            return null;
-        }
-        Node newNode = new Node(name);
-        nodesForNames.put(name, newNode);
-        return newNode;
+        int id = units.createUnit(name);
+        return id < 0 ? null : new Node(units, id);
     }
 
     /**
@@ -46,58 +38,59 @@ public class Node {
      * @return true if node exists else return false.
      */
     public static boolean checkExistence (String name) {
-        return nodesForNames.get(name) != null;
+        return units.findId(name) >= 0;
     }
 
     /**
      * Constructs node.
-     * @param nodeName name of new node.
+     * @param table table in which the node is kept.
+     * @param id id of the node.
      */
-    private Node(String nodeName) {
-        name = nodeName;
-        convertingRule = new Value();
+    Node(UnitTable table, int id) {
+        this.table = table;
+        this.id = id;
     }
 
     /**
-     * Gets converting rule from this node to the first node of the graph in which it's exists.
-     * @return the converting rule to the start node of the graph.
+     * Gets converting rule from this node to the root node of the graph in which it's exists.
+     * @return the converting rule to the root node of the graph.
      */
     public Value getConvertingRule() {
-        return convertingRule;
+        return table.getRule(id);
     }
 
     /**
-     * Sets new converting rule from this node to the first node of the graph in which it's exists.
-     * @param convertingRule new converting rule to the start node of the graph.
+     * Gets graph in which Node with such name is located.
+     * @param name node name.
+     * @return if node with such name exists returns graph, else returns null.
      */
-    public void setConvertingRule(Value convertingRule) {
-        this.convertingRule = convertingRule;
+    public static Graph getGraph(String name) {
+        int id = units.findId(name);
+        return id < 0 ? null : units.getGraph(id);
     }
 
     /**
-     * Sets graph for node with such name.
-     * @param name name of the node for which graph sets.
-     * @param graph graph to set.
+     * Gets name of the node.
+     * @return name name of the node.
      */
-    public static void setGraphsForName(String name, Graph graph) {
-        graphsForNames.put(name, graph);
+    public String getName() {
+        return table.getName(id);
     }
 
     /**
-     * Gets graph in which Node with such name is located.
-     * @param name node name.
-     * @return if node with such name exists returns graph, else returns null.
+     * Gets id of the node.
+     * @return id of the node.
      */
-    public static Graph getGraph(String name) {
-        return graphsForNames.get(name);
+    public int getId() {
+        return id;
     }
 
     /**
-     * Gets name of the node.
-     * @return name name of the node.
+     * Gets table in which the node is kept.
+     * @return table.
      */
-    public String getName() {
-        return name;
+    UnitTable getTable() {
+        return table;
     }
 
     /**
@@ -106,13 +99,53 @@ public class Node {
      * @return if such Node exists returns it, else returns null.
      */
     public static Node findNode(String nodeName) {
-        return nodesForNames.get(nodeName);
+        int id = units.findId(nodeName);
+        return id < 0 ? null : new Node(units, id);
+    }
+
+    /**
+     * Gets table with all units.
+     * @return table.
+     */
+    public static UnitTable getUnits() {
+        return units;
+    }
+
+    /**
+     * Replaces table with all units, for example by the reloaded one.
+     * @param table new table.
+     */
+    public static void setUnits(UnitTable table) {
+        units = table;
     }
 
     /**
      * Deletes all nodes.
      */
     public static void cleanUp() {
-        nodesForNames.clear();
+        units.clear();
+    }
+
+    /**
+     * Nodes are equal if they have the same id in the same table.
+     * @param object other object.
+     * @return true if object is the same node.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof Node)) {
+            return false;
+        }
+        Node node = (Node) object;
+        return table == node.table && id == node.id;
+    }
+
+    /**
+     * Hash code of the node is its id.
+     * @return hash code.
+     */
+    @Override
+    public int hashCode() {
+        return id;
     }
 }
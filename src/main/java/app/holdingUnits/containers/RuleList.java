@@ -0,0 +1,350 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class which keeps all converting rules of the table, so components could be built again when the rule is removed.
+ * Rules are kept in primitive arrays indexed by rule ids, every rule is in two linked lists of the rules of its
+ * units. The link is "rule id * 2 + side", where side is 0 for the first unit of the rule and 1 for the second one,
+ * so rules of the unit are listed without looking at the other rules. Rule ids are given in the order in which rules
+ * are added, so they are the sequence numbers of the rules. Removed rules leave holes, their ids are not reused.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class RuleList {
+
+    /** Approximate amount of the bytes of the quotient which does not fit into long. */
+    static final int BIG_VALUE_BYTES = 128;
+
+    /** Start capacity of the arrays. */
+    private static final int START_CAPACITY = 16;
+
+    /** Units of the rules by links, for the removed rules they are -1. */
+    private int[] units;
+
+    /** Next links of the lists of the units by links, -1 at the end of the list. */
+    private int[] nextLinks;
+
+    /** First links of the lists by unit ids, -1 if unit does not have rules. */
+    private int[] firstLinks;
+
+    /** Numerators of the quotients. */
+    private long[] numerators;
+
+    /** Denominators of the quotients. */
+    private long[] denominators;
+
+    /** Exponents of ten of the quotients. */
+    private int[] exponents;
+
+    /** Quotients which do not fit into long, for other rules it is null. */
+    private Value[] bigQuotients;
+
+    /** Amount of the rule ids, with removed rules. */
+    private int count;
+
+    /**
+     * Constructs empty list.
+     */
+    RuleList() {
+        allocate(START_CAPACITY);
+    }
+
+    /**
+     * Adds rule "1 unit1 = quotient unit2".
+     * @param id1 id of the first unit.
+     * @param id2 id of the second unit.
+     * @param quotient how many second units are in the first unit.
+     * @return id of the rule.
+     */
+    int add(int id1, int id2, Value quotient) {
+        if (count == numerators.length) {
+            grow(count * 2);
+        }
+        ensureUnit(Math.max(id1, id2));
+        int rule = count++;
+        link(rule * 2, id1);
+        link(rule * 2 + 1, id2);
+        if (quotient.isPrimitive()) {
+            numerators[rule] = quotient.getPrimitiveNumerator();
+            denominators[rule] = quotient.getPrimitiveDenominator();
+            exponents[rule] = quotient.getExponent();
+            bigQuotients[rule] = null;
+        } else {
+            bigQuotients[rule] = quotient;
+        }
+        return rule;
+    }
+
+    /**
+     * Finds rule between two units, in any direction.
+     * @param id1 id of one unit.
+     * @param id2 id of the other unit.
+     * @return id of the last added such rule or -1 if there is no such rule.
+     */
+    int find(int id1, int id2) {
+        if (id1 >= firstLinks.length) {
+            return -1;
+        }
+        for (int link = firstLinks[id1]; link >= 0; link = nextLinks[link]) {
+            if (units[link ^ 1] == id2) {
+                return link >>> 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the rule from the lists of its units.
+     * @param rule id of the rule.
+     */
+    void remove(int rule) {
+        unlink(rule * 2);
+        unlink(rule * 2 + 1);
+        units[rule * 2] = -1;
+        units[rule * 2 + 1] = -1;
+    }
+
+    /**
+     * Gets the first link of the rules of the unit.
+     * @param id id of the unit.
+     * @return link or -1 if unit does not have rules.
+     */
+    int firstLink(int id) {
+        return id < firstLinks.length ? firstLinks[id] : -1;
+    }
+
+    /**
+     * Gets the next link of the rules of the same unit.
+     * @param link link.
+     * @return next link or -1 if it is the last one.
+     */
+    int nextLink(int link) {
+        return nextLinks[link];
+    }
+
+    /**
+     * Gets unit on the other side of the rule.
+     * @param link link of the rule from one unit.
+     * @return id of the other unit.
+     */
+    int otherUnit(int link) {
+        return units[link ^ 1];
+    }
+
+    /**
+     * Gets amount of the rule ids, removed rules are counted too.
+     * @return the next rule id.
+     */
+    int getIdCount() {
+        return count;
+    }
+
+    /**
+     * Checks if the rule is removed.
+     * @param rule id of the rule.
+     * @return true if the rule is removed.
+     */
+    boolean isRemoved(int rule) {
+        return units[rule * 2] < 0;
+    }
+
+    /**
+     * Gets the first unit of the rule.
+     * @param rule id of the rule.
+     * @return id of the unit.
+     */
+    int getUnit1(int rule) {
+        return units[rule * 2];
+    }
+
+    /**
+     * Gets the second unit of the rule.
+     * @param rule id of the rule.
+     * @return id of the unit.
+     */
+    int getUnit2(int rule) {
+        return units[rule * 2 + 1];
+    }
+
+    /**
+     * Gets quotient of the rule.
+     * @param rule id of the rule.
+     * @return new value with how many second units are in the first unit.
+     */
+    Value getQuotient(int rule) {
+        Value quotient = new Value();
+        if (bigQuotients[rule] != null) {
+            quotient.multiply(bigQuotients[rule]);
+        } else {
+            quotient.multiply(numerators[rule], denominators[rule], exponents[rule]);
+        }
+        return quotient;
+    }
+
+    /**
+     * Estimates memory of the rules.
+     * @return approximate amount of the bytes.
+     */
+    long getMemoryBytes() {
+        long bytes = (long) units.length * Integer.BYTES * 2 + (long) firstLinks.length * Integer.BYTES
+                + (long) numerators.length * (Long.BYTES * 3 + Integer.BYTES);
+        for (int rule = 0; rule < count; rule++) {
+            if (bigQuotients[rule] != null) {
+                bytes += BIG_VALUE_BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the rules which are not removed into the image of the table, see {@link UnitImage}. Rules are written in
+     * the order of their ids, so they get new ids without holes in the same order.
+     * @param output output stream.
+     * @throws IOException if stream throws it.
+     */
+    void writeImage(DataOutputStream output) throws IOException {
+        int live = 0;
+        for (int rule = 0; rule < count; rule++) {
+            if (!isRemoved(rule)) {
+                live++;
+            }
+        }
+        output.writeInt(live);
+        for (int rule = 0; rule < count; rule++) {
+            if (isRemoved(rule)) {
+                continue;
+            }
+            output.writeInt(units[rule * 2]);
+            output.writeInt(units[rule * 2 + 1]);
+            if (bigQuotients[rule] != null) {
+                output.writeLong(0);
+                UnitImage.writeValue(output, bigQuotients[rule]);
+            } else {
+                output.writeLong(denominators[rule]);
+                output.writeLong(numerators[rule]);
+                output.writeInt(exponents[rule]);
+            }
+        }
+    }
+
+    /**
+     * Reads the rules which are written by {@link #writeImage(DataOutputStream)}. The lists of the units are linked in
+     * the order of the rules, as if the rules were added one by one.
+     * @param input input stream.
+     * @param unitCount amount of the units.
+     * @return new list.
+     * @throws IOException if stream throws it or the image is damaged.
+     */
+    static RuleList readImage(DataInputStream input, int unitCount) throws IOException {
+        int count = input.readInt();
+        if (count < 0) {
+            throw new IOException("wrong amount of rules " + count);
+        }
+        RuleList rules = new RuleList();
+        if (count > START_CAPACITY) {
+            rules.allocate(count);
+        }
+        if (unitCount > 0) {
+            rules.ensureUnit(unitCount - 1);
+        }
+        for (int rule = 0; rule < count; rule++) {
+            rules.link(rule * 2, UnitImage.readId(input, unitCount));
+            rules.link(rule * 2 + 1, UnitImage.readId(input, unitCount));
+            long denominator = input.readLong();
+            if (denominator == 0) {
+                rules.bigQuotients[rule] = UnitImage.readValue(input);
+            } else {
+                rules.denominators[rule] = denominator;
+                rules.numerators[rule] = input.readLong();
+                rules.exponents[rule] = input.readInt();
+            }
+            rules.count++;
+        }
+        return rules;
+    }
+
+    /**
+     * Deletes all rules.
+     */
+    void clear() {
+        count = 0;
+        allocate(START_CAPACITY);
+    }
+
+    /**
+     * Adds the link to the head of the list of the unit.
+     * @param link link.
+     * @param id id of the unit.
+     */
+    private void link(int link, int id) {
+        units[link] = id;
+        nextLinks[link] = firstLinks[id];
+        firstLinks[id] = link;
+    }
+
+    /**
+     * Removes the link from the list of its unit.
+     * @param link link.
+     */
+    private void unlink(int link) {
+        int id = units[link];
+        if (firstLinks[id] == link) {
+            firstLinks[id] = nextLinks[link];
+            return;
+        }
+        int previous = firstLinks[id];
+        while (nextLinks[previous] != link) {
+            previous = nextLinks[previous];
+        }
+        nextLinks[previous] = nextLinks[link];
+    }
+
+    /**
+     * Makes the array of the first links big enough for the unit.
+     * @param id id of the unit.
+     */
+    private void ensureUnit(int id) {
+        if (id < firstLinks.length) {
+            return;
+        }
+        int length = firstLinks.length;
+        firstLinks = Arrays.copyOf(firstLinks, Math.max(length * 2, id + 1));
+        Arrays.fill(firstLinks, length, firstLinks.length, -1);
+    }
+
+    /**
+     * Creates empty arrays.
+     * @param capacity capacity of the arrays.
+     */
+    private void allocate(int capacity) {
+        units = new int[capacity * 2];
+        nextLinks = new int[capacity * 2];
+        firstLinks = new int[capacity];
+        Arrays.fill(firstLinks, -1);
+        numerators = new long[capacity];
+        denominators = new long[capacity];
+        exponents = new int[capacity];
+        bigQuotients = new Value[capacity];
+    }
+
+    /**
+     * Makes arrays of the rules bigger.
+     * @param capacity new capacity of the arrays.
+     */
+    private void grow(int capacity) {
+        units = Arrays.copyOf(units, capacity * 2);
+        nextLinks = Arrays.copyOf(nextLinks, capacity * 2);
+        numerators = Arrays.copyOf(numerators, capacity);
+        denominators = Arrays.copyOf(denominators, capacity);
+        exponents = Arrays.copyOf(exponents, capacity);
+        bigQuotients = Arrays.copyOf(bigQuotients, capacity);
+    }
+}
@@ -0,0 +1,246 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Image of the unit table, which is written next to the file with converting rules when the log is compacted and is
+ * loaded instead of parsing the file. The image keeps the arrays of the table as they are: names with the slots of
+ * their hash table, union-find arrays and all rules in the order in which they were added, so the table is loaded
+ * without parsing, hashing and connecting units and only the log is replayed on top of it.
+ * <p>
+ * Image format (big-endian): header (magic, version, size and modification time of the file with converting rules),
+ * names, rules, units and the checksum of all bytes before it. The image is loaded only if the file with converting
+ * rules has the same size and modification time, so the image of the old file is never loaded after the file is
+ * changed by other means.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public final class UnitImage {
+
+    /** First bytes of the image file ("UCI1"). */
+    private static final int MAGIC = 0x55434931;
+
+    /** Version of the image format. */
+    private static final int VERSION = 1;
+
+    /** Size of the header: magic, version, size and modification time of the file with converting rules. */
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES;
+
+    /** Size of the buffers of the streams. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Constructor is hidden, there are only static methods.
+     */
+    private UnitImage() {
+    }
+
+    /**
+     * Writes the image of the table. It is written to the temporary file first, forced and then moved, so the old
+     * image is replaced only by the complete one. The directory is not forced.
+     * @param units table with all units and rules.
+     * @param path path to the image.
+     * @param rulesPath path to the file with converting rules which has the same rules as the table.
+     * @throws IOException if the image could not be written.
+     */
+    public static void write(UnitTable units, Path path, Path rulesPath) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32C checksum = new CRC32C();
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), checksum), BUFFER_SIZE));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(Files.size(rulesPath));
+            output.writeLong(getModifiedTime(rulesPath));
+            units.writeImage(output);
+            output.flush();
+            output.writeInt((int) checksum.getValue());
+            output.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads the table from the image. The checksum of the whole image is checked before the table is built.
+     * @param path path to the image.
+     * @param rulesPath path to the file with converting rules.
+     * @return new table or null if there is no image or it is the image of the other version of the file.
+     * @throws IOException if the image could not be read or it is damaged.
+     */
+    public static UnitTable read(Path path, Path rulesPath) throws IOException {
+        if (!Files.exists(path) || !Files.exists(rulesPath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + Integer.BYTES) {
+                throw new IOException("image " + path + " is damaged");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("image " + path + " is damaged");
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("file " + path + " is not the image of units");
+            }
+            if (header.getInt() != VERSION) {
+                throw new IOException("unsupported image version " + header.getInt(Integer.BYTES));
+            }
+            if (header.getLong() != Files.size(rulesPath) || header.getLong() != getModifiedTime(rulesPath)) {
+                return null;
+            }
+            checkChecksum(channel, size, path);
+            channel.position(HEADER_SIZE);
+            InputStream stream = Channels.newInputStream(channel);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(stream, BUFFER_SIZE));
+            try {
+                UnitTable units = UnitTable.readImage(input);
+                input.readInt();
+                if (input.read() >= 0) {
+                    throw new IOException("image " + path + " is damaged");
+                }
+                return units;
+            } catch (EOFException | RuntimeException e) {
+                throw new IOException("image " + path + " is damaged", e);
+            }
+        }
+    }
+
+    /**
+     * Computes the checksum of all bytes of the image before the last int and compares it with that int.
+     * @param channel channel of the image.
+     * @param size size of the image.
+     * @param path path to the image.
+     * @throws IOException if the image could not be read or the checksum is wrong.
+     */
+    private static void checkChecksum(FileChannel channel, long size, Path path) throws IOException {
+        CRC32C checksum = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long end = size - Integer.BYTES;
+        long position = 0;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("image " + path + " is damaged");
+            }
+            buffer.flip();
+            checksum.update(buffer);
+            position += read;
+        }
+        ByteBuffer expected = ByteBuffer.allocate(Integer.BYTES);
+        while (expected.hasRemaining()) {
+            if (channel.read(expected, end + expected.position()) < 0) {
+                throw new IOException("image " + path + " is damaged");
+            }
+        }
+        if (expected.getInt(0) != (int) checksum.getValue()) {
+            throw new IOException("image " + path + " is damaged");
+        }
+    }
+
+    /**
+     * Gets modification time of the file.
+     * @param path path to the file.
+     * @return modification time in nanoseconds.
+     * @throws IOException if the time could not be read.
+     */
+    private static long getModifiedTime(Path path) throws IOException {
+        return Files.getLastModifiedTime(path).to(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Writes the value which does not fit into long: exponent, length and bytes of the numerator and denominator.
+     * @param output output stream.
+     * @param value the value.
+     * @throws IOException if stream throws it.
+     */
+    static void writeValue(DataOutputStream output, Value value) throws IOException {
+        output.writeInt(value.getExponent());
+        writeBytes(output, value.getNumerator().toByteArray());
+        writeBytes(output, value.getDenominator().toByteArray());
+    }
+
+    /**
+     * Reads the value which is written by {@link #writeValue(DataOutputStream, Value)}.
+     * @param input input stream.
+     * @return the value.
+     * @throws IOException if stream throws it.
+     */
+    static Value readValue(DataInputStream input) throws IOException {
+        int exponent = input.readInt();
+        BigInteger numerator = new BigInteger(readBytes(input));
+        BigInteger denominator = new BigInteger(readBytes(input));
+        return new Value(numerator, denominator, exponent);
+    }
+
+    /**
+     * Writes length and the bytes.
+     * @param output output stream.
+     * @param bytes the bytes.
+     * @throws IOException if stream throws it.
+     */
+    static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads the bytes which are written by {@link #writeBytes(DataOutputStream, byte[])}.
+     * @param input input stream.
+     * @return the bytes.
+     * @throws IOException if stream throws it or the length is wrong.
+     */
+    static byte[] readBytes(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("wrong length " + length);
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Reads id and checks that it is the id of the unit.
+     * @param input input stream.
+     * @param size amount of the units.
+     * @return id of the unit.
+     * @throws IOException if stream throws it or id is wrong.
+     */
+    static int readId(DataInputStream input, int size) throws IOException {
+        int id = input.readInt();
+        if (id < 0 || id >= size) {
+            throw new IOException("wrong unit id " + id);
+        }
+        return id;
+    }
+}
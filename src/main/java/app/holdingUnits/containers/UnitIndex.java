@@ -0,0 +1,90 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+
+/**
+ * Read operations on the units which are needed to convert them. Units have dense int ids, units of one component
+ * (graph) have the same component id and every unit has the converting rule to the root of its component.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public interface UnitIndex {
+
+    /**
+     * Finds id of the unit.
+     * @param name name of the unit.
+     * @return id of the unit or -1 if there is no such unit.
+     */
+    int findId(String name);
+
+    /**
+     * Finds id of the unit by the name which is written in the chars.
+     * @param name array with the chars of the name.
+     * @param length amount of the chars of the name from the start of the array.
+     * @return id of the unit or -1 if there is no such unit.
+     */
+    default int findId(char[] name, int length) {
+        return findId(new String(name, 0, length));
+    }
+
+    /**
+     * Gets name of the unit.
+     * @param id id of the unit.
+     * @return name.
+     */
+    String getName(int id);
+
+    /**
+     * Finds the component of the unit.
+     * @param id id of the unit.
+     * @return id of the component.
+     */
+    int findComponent(int id);
+
+    /**
+     * Multiplies the value by the converting rule of the unit to the root of its component.
+     * @param id id of the unit.
+     * @param result value which is multiplied.
+     */
+    void multiplyRule(int id, Value result);
+
+    /**
+     * Divides the value by the converting rule of the unit to the root of its component.
+     * @param id id of the unit.
+     * @param result value which is divided.
+     */
+    void divideRule(int id, Value result);
+
+    /**
+     * Gets converting rule from one unit to other one of the same component.
+     * @param startId unit from which rule search.
+     * @param endId unit to which rule search.
+     * @return how many end units are in the start unit.
+     */
+    default Value findConverting(int startId, int endId) {
+        Value result = new Value();
+        multiplyRule(startId, result);
+        divideRule(endId, result);
+        return result;
+    }
+
+    /**
+     * Gets amount of the units.
+     * @return amount of the units.
+     */
+    int size();
+
+    /**
+     * Gets amount of the components.
+     * @return amount of the components.
+     */
+    int getComponentCount();
+
+    /**
+     * Estimates memory of the units.
+     * @return approximate amount of the bytes which are held by the units.
+     */
+    long getMemoryBytes();
+}
@@ -0,0 +1,206 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+
+/**
+ * Immutable snapshot of the units of the table. Every unit is kept with the id of its component and its converting
+ * rule to the root of the component, so reading the snapshot never writes to it and it could be read by many threads
+ * at once. Units are kept in pages of the fixed size: the next snapshot of the table shares all pages of this one
+ * except the pages of the units which were changed, so publishing the change costs the units of the changed
+ * components and not all units. Names are shared with the table too, the table only appends them.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+final class UnitSnapshot implements UnitIndex {
+
+    /** Amount of the bits of the index of the unit in the page. */
+    static final int PAGE_BITS = 10;
+
+    /** Amount of the units in the page. */
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    /** Mask of the index of the unit in the page. */
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /** Names of the units, only the first units of the snapshot are seen. */
+    private final NameTable names;
+
+    /** Pages of the units. */
+    private final Page[] pages;
+
+    /** Amount of the units. */
+    private final int size;
+
+    /** Amount of the components. */
+    private final int componentCount;
+
+    /**
+     * Constructs snapshot.
+     * @param names names of the units.
+     * @param pages pages of the units, they should not be changed after that.
+     * @param size amount of the units.
+     * @param componentCount amount of the components.
+     */
+    UnitSnapshot(NameTable names, Page[] pages, int size, int componentCount) {
+        this.names = names;
+        this.pages = pages;
+        this.size = size;
+        this.componentCount = componentCount;
+    }
+
+    /**
+     * Finds id of the unit.
+     * @param name name of the unit.
+     * @return id of the unit or -1 if there is no such unit in the snapshot.
+     */
+    @Override
+    public int findId(String name) {
+        return names.find(name);
+    }
+
+    /**
+     * Finds id of the unit by the name which is written in the chars, without creating the string.
+     * @param name array with the chars of the name.
+     * @param length amount of the chars of the name from the start of the array.
+     * @return id of the unit or -1 if there is no such unit in the snapshot.
+     */
+    @Override
+    public int findId(char[] name, int length) {
+        return names.find(name, length);
+    }
+
+    /**
+     * Gets name of the unit.
+     * @param id id of the unit.
+     * @return name.
+     */
+    @Override
+    public String getName(int id) {
+        return names.getName(id);
+    }
+
+    /**
+     * Finds the component of the unit, it is only the read of the page.
+     * @param id id of the unit.
+     * @return id of the component.
+     */
+    @Override
+    public int findComponent(int id) {
+        return pages[id >>> PAGE_BITS].roots[id & PAGE_MASK];
+    }
+
+    /**
+     * Multiplies the value by the converting rule of the unit to the root of its component.
+     * @param id id of the unit.
+     * @param result value which is multiplied.
+     */
+    @Override
+    public void multiplyRule(int id, Value result) {
+        Page page = pages[id >>> PAGE_BITS];
+        int index = id & PAGE_MASK;
+        if (page.bigRules[index] != null) {
+            result.multiply(page.bigRules[index]);
+        } else {
+            result.multiply(page.numerators[index], page.denominators[index], page.exponents[index]);
+        }
+    }
+
+    /**
+     * Divides the value by the converting rule of the unit to the root of its component.
+     * @param id id of the unit.
+     * @param result value which is divided.
+     */
+    @Override
+    public void divideRule(int id, Value result) {
+        Page page = pages[id >>> PAGE_BITS];
+        int index = id & PAGE_MASK;
+        if (page.bigRules[index] != null) {
+            result.divide(page.bigRules[index]);
+        } else {
+            result.divide(page.numerators[index], page.denominators[index], page.exponents[index]);
+        }
+    }
+
+    /**
+     * Gets amount of the units.
+     * @return amount of the units.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets amount of the components.
+     * @return amount of the components.
+     */
+    @Override
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Estimates memory of the snapshot: pages of the units and names, pages and names are shared with the other
+     * snapshots of the same table.
+     * @return approximate amount of the bytes.
+     */
+    @Override
+    public long getMemoryBytes() {
+        long bytes = (long) pages.length * (Long.BYTES + Page.BYTES) + names.getMemoryBytes();
+        for (int id = 0; id < size; id++) {
+            if (pages[id >>> PAGE_BITS].bigRules[id & PAGE_MASK] != null) {
+                bytes += RuleList.BIG_VALUE_BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Units of one page: the component and the converting rule to the root of the component for every unit.
+     */
+    static final class Page {
+
+        /** Approximate amount of the bytes of the page. */
+        static final long BYTES = (long) PAGE_SIZE * (Integer.BYTES * 2 + Long.BYTES * 3);
+
+        /** Ids of the components. */
+        final int[] roots;
+
+        /** Numerators of the converting rules to the roots. */
+        final long[] numerators;
+
+        /** Denominators of the converting rules to the roots. */
+        final long[] denominators;
+
+        /** Exponents of ten of the converting rules to the roots. */
+        final int[] exponents;
+
+        /** Converting rules which do not fit into long, for other units it is null. */
+        final Value[] bigRules;
+
+        /**
+         * Constructs empty page.
+         */
+        Page() {
+            roots = new int[PAGE_SIZE];
+            numerators = new long[PAGE_SIZE];
+            denominators = new long[PAGE_SIZE];
+            exponents = new int[PAGE_SIZE];
+            bigRules = new Value[PAGE_SIZE];
+        }
+
+        /**
+         * Constructs the copy of the page.
+         * @param page page which is copied.
+         */
+        Page(Page page) {
+            roots = page.roots.clone();
+            numerators = page.numerators.clone();
+            denominators = page.denominators.clone();
+            exponents = page.exponents.clone();
+            bigRules = page.bigRules.clone();
+        }
+    }
+}
@@ -0,0 +1,695 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Class which holds all units. Names are interned to dense int ids once, when the unit is created, and everything
+ * else is kept in primitive arrays indexed by ids: parent in the union-find tree (the component id after the path is
+ * compressed), size of the component and the converting rule to the parent as the long fraction "numerator /
+ * denominator * 10^exponent". Only rules which do not fit into long are kept as Value. All added converting rules
+ * are kept too, so when the rule is removed its component is built again from the rest of its rules. Units of every
+ * component are linked into the ring, so the units of the component which is connected to the other one are found
+ * without looking at the other units. Such units are remembered as changed, and the next snapshot copies only the
+ * pages of the changed units and shares the rest with the previous snapshot.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public class UnitTable implements UnitIndex {
+
+    /** Start capacity of the arrays. */
+    private static final int START_CAPACITY = 16;
+
+    /** Ids of the unit names. */
+    private final NameTable names;
+
+    /** Parent id in the union-find tree, for the root it is the id itself. */
+    private int[] parents;
+
+    /** Amount of the units in the tree, valid only for roots. */
+    private int[] sizes;
+
+    /** Numerators of the converting rules to the parents, sign of the numerator is the sign of the rule. */
+    private long[] numerators;
+
+    /** Denominators of the converting rules to the parents. */
+    private long[] denominators;
+
+    /** Exponents of ten of the converting rules to the parents. */
+    private int[] exponents;
+
+    /** Converting rules which do not fit into long, for other units it is null. */
+    private Value[] bigRules;
+
+    /** Graphs of the components by root ids, created only when graph is asked. */
+    private Graph[] graphs;
+
+    /** Next unit of the ring of the units of the same component. */
+    private int[] members;
+
+    /** Amount of the components. */
+    private int componentCount;
+
+    /** All added converting rules. */
+    private final RuleList rules;
+
+    /** Pages of the last snapshot or null if there is no snapshot yet. */
+    private UnitSnapshot.Page[] snapshotPages;
+
+    /** Numbers of the last snapshots in which pages were copied, by the indexes of the pages. */
+    private int[] pageStamps = new int[0];
+
+    /** Number of the last snapshot. */
+    private int snapshotCount;
+
+    /** Ids of the units which are changed after the last snapshot, they may repeat. */
+    private int[] changed = new int[START_CAPACITY];
+
+    /** Amount of the ids of the changed units. */
+    private int changedCount;
+
+    /** True if so many units are changed that the next snapshot is built from scratch. */
+    private boolean allChanged = true;
+
+    /**
+     * Constructs empty table.
+     */
+    public UnitTable() {
+        names = new NameTable();
+        rules = new RuleList();
+        allocate(START_CAPACITY);
+    }
+
+    /**
+     * Constructs table with the names and the rules, its arrays are allocated but not filled.
+     * @param names ids of the unit names.
+     * @param rules all converting rules.
+     */
+    private UnitTable(NameTable names, RuleList rules) {
+        this.names = names;
+        this.rules = rules;
+        allocate(Math.max(START_CAPACITY, names.size()));
+    }
+
+    /**
+     * Creates the snapshot of the units, which does not change when the table is changed. Every unit of the snapshot
+     * is connected directly to its root, so reading the snapshot never writes to it and it could be read by many
+     * threads at once. Only paths of the units which are changed after the previous snapshot are compressed and only
+     * their pages are copied, other pages and the names are shared with the previous snapshot, so it costs the size
+     * of the changed components and the array of the references to the pages.
+     * @return snapshot of the units.
+     */
+    public UnitIndex snapshot() {
+        int size = size();
+        int pageCount = (size + UnitSnapshot.PAGE_MASK) >>> UnitSnapshot.PAGE_BITS;
+        UnitSnapshot.Page[] pages;
+        if (allChanged || snapshotPages == null) {
+            pages = new UnitSnapshot.Page[pageCount];
+            for (int page = 0; page < pageCount; page++) {
+                pages[page] = new UnitSnapshot.Page();
+            }
+            for (int id = 0; id < size; id++) {
+                writeUnit(pages, id);
+            }
+        } else {
+            pages = Arrays.copyOf(snapshotPages, pageCount);
+            if (pageStamps.length < pageCount) {
+                pageStamps = Arrays.copyOf(pageStamps, Math.max(pageCount, pageStamps.length * 2));
+            }
+            int stamp = ++snapshotCount;
+            for (int i = 0; i < changedCount; i++) {
+                int id = changed[i];
+                int page = id >>> UnitSnapshot.PAGE_BITS;
+                if (pageStamps[page] != stamp) {
+                    pages[page] = pages[page] == null ? new UnitSnapshot.Page() : new UnitSnapshot.Page(pages[page]);
+                    pageStamps[page] = stamp;
+                }
+                writeUnit(pages, id);
+            }
+        }
+        snapshotPages = pages;
+        changedCount = 0;
+        allChanged = false;
+        return new UnitSnapshot(names.view(), pages, size, componentCount);
+    }
+
+    /**
+     * Writes the component of the unit and its converting rule to the root into the page of the snapshot.
+     * @param pages pages of the snapshot, the page of the unit is not published yet.
+     * @param id id of the unit.
+     */
+    private void writeUnit(UnitSnapshot.Page[] pages, int id) {
+        UnitSnapshot.Page page = pages[id >>> UnitSnapshot.PAGE_BITS];
+        int index = id & UnitSnapshot.PAGE_MASK;
+        page.roots[index] = findComponent(id);
+        page.numerators[index] = numerators[id];
+        page.denominators[index] = denominators[id];
+        page.exponents[index] = exponents[id];
+        page.bigRules[index] = bigRules[id];
+    }
+
+    /**
+     * Remembers that the component or the converting rule to the root of the unit is changed. If more then half of
+     * the units are changed the next snapshot is built from scratch and units are not remembered anymore.
+     * @param id id of the unit.
+     */
+    private void changed(int id) {
+        if (allChanged) {
+            return;
+        }
+        if (changedCount == changed.length) {
+            if (changedCount > size() / 2) {
+                allChanged = true;
+                changedCount = 0;
+                return;
+            }
+            changed = Arrays.copyOf(changed, changedCount * 2);
+        }
+        changed[changedCount++] = id;
+    }
+
+    /**
+     * Finds id of the unit.
+     * @param name name of the unit.
+     * @return id of the unit or -1 if there is no such unit.
+     */
+    @Override
+    public int findId(String name) {
+        return names.find(name);
+    }
+
+    /**
+     * Finds id of the unit by the name which is written in the chars, without creating the string.
+     * @param name array with the chars of the name.
+     * @param length amount of the chars of the name from the start of the array.
+     * @return id of the unit or -1 if there is no such unit.
+     */
+    @Override
+    public int findId(char[] name, int length) {
+        return names.find(name, length);
+    }
+
+    /**
+     * Creates new unit which is the only unit of its component.
+     * @param name name of the unit.
+     * @return id of the new unit or -1 if unit already exists.
+     */
+    public int createUnit(String name) {
+        if (names.find(name) >= 0) {
+            return -1;
+        }
+        int id = names.add(name);
+        if (id == parents.length) {
+            grow(parents.length * 2);
+        }
+        parents[id] = id;
+        sizes[id] = 1;
+        numerators[id] = 1;
+        denominators[id] = 1;
+        exponents[id] = 0;
+        members[id] = id;
+        componentCount++;
+        changed(id);
+        return id;
+    }
+
+    /**
+     * Gets name of the unit.
+     * @param id id of the unit.
+     * @return name.
+     */
+    @Override
+    public String getName(int id) {
+        return names.getName(id);
+    }
+
+    /**
+     * Adds converting rule "1 unit1 = quotient unit2". If units are in different components connects the root of the
+     * smaller component to the root of the bigger one. There is at most one rule between two units: if units already
+     * have the rule in any direction the new rule is not kept, so adding the same rule again does not change anything.
+     * @param id1 id of the first unit.
+     * @param id2 id of the second unit.
+     * @param quotient how many second units are in the first unit, it should not be changed after that.
+     * @return true if components were connected, false if units were already in one component.
+     */
+    public boolean addRule(int id1, int id2, Value quotient) {
+        if (findComponent(id1) == findComponent(id2) && rules.find(id1, id2) >= 0) {
+            return false;
+        }
+        rules.add(id1, id2, quotient);
+        return connect(id1, id2, quotient);
+    }
+
+    /**
+     * Writes all kept converting rules as lines of the file with converting rules, "unit1,unit2,quotient". Rules are
+     * written in the order in which they were added, so the file connects the same units by the same rules and gives
+     * the same conversions even if some rules disagree with each other. Quotients are written exactly, as "numerator"
+     * or "numerator e exponent".
+     * @param writer writer to which rules are written.
+     * @return amount of the written rules.
+     * @throws IOException if writer throws it or if the quotient is not the decimal number, quotients which are read
+     * from the lines always are.
+     */
+    public long writeRules(Writer writer) throws IOException {
+        long count = 0;
+        int idCount = rules.getIdCount();
+        for (int rule = 0; rule < idCount; rule++) {
+            if (rules.isRemoved(rule)) {
+                continue;
+            }
+            Value quotient = rules.getQuotient(rule);
+            if (!quotient.getDenominator().equals(BigInteger.ONE)) {
+                throw new IOException("quotient " + quotient + " is not the decimal number");
+            }
+            writer.write(getName(rules.getUnit1(rule)));
+            writer.write(',');
+            writer.write(getName(rules.getUnit2(rule)));
+            writer.write(',');
+            writer.write(quotient.getNumerator().toString());
+            if (quotient.getExponent() != 0) {
+                writer.write('e');
+                writer.write(Integer.toString(quotient.getExponent()));
+            }
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Removes converting rule between two units, which was added in any direction. Units of the component of the rule
+     * are made single and connected again by the rest of their rules, so only this component is built again. Rules
+     * are connected in the order in which they were added, so the same rules connect units as if the removed rule was
+     * never added, and conversions which did not use it do not change even if some rules of the component disagree
+     * with each other. If there is no other way between the units the component is split into two.
+     * @param id1 id of one unit.
+     * @param id2 id of the other unit.
+     * @return true if the rule is removed, false if there is no such rule.
+     */
+    public boolean removeRule(int id1, int id2) {
+        int rule = rules.find(id1, id2);
+        if (rule < 0) {
+            return false;
+        }
+        int[] component = new int[sizes[findComponent(id1)]];
+        rules.remove(rule);
+        int count = collect(id1, component, 0);
+        if (parents[id2] >= 0) {
+            count = collect(id2, component, count);
+        }
+        componentCount += count - 1;
+        for (int i = 0; i < count; i++) {
+            int id = component[i];
+            parents[id] = id;
+            sizes[id] = 1;
+            numerators[id] = 1;
+            denominators[id] = 1;
+            exponents[id] = 0;
+            bigRules[id] = null;
+            graphs[id] = null;
+            members[id] = id;
+            changed(id);
+        }
+        int[] componentRules = new int[count];
+        int ruleCount = 0;
+        for (int i = 0; i < count; i++) {
+            for (int link = rules.firstLink(component[i]); link >= 0; link = rules.nextLink(link)) {
+                if ((link & 1) == 0) {
+                    if (ruleCount == componentRules.length) {
+                        componentRules = Arrays.copyOf(componentRules, ruleCount * 2);
+                    }
+                    componentRules[ruleCount++] = link >>> 1;
+                }
+            }
+        }
+        Arrays.sort(componentRules, 0, ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            int other = componentRules[i];
+            connect(rules.getUnit1(other), rules.getUnit2(other), rules.getQuotient(other));
+        }
+        return true;
+    }
+
+    /**
+     * Collects units which are connected with the unit by rules. Collected units are marked by -1 parent until they
+     * are made single.
+     * @param id id of the unit.
+     * @param component array to which ids are collected.
+     * @param count amount of the already collected ids.
+     * @return amount of the collected ids.
+     */
+    private int collect(int id, int[] component, int count) {
+        parents[id] = -1;
+        component[count++] = id;
+        for (int i = count - 1; i < count; i++) {
+            for (int link = rules.firstLink(component[i]); link >= 0; link = rules.nextLink(link)) {
+                int other = rules.otherUnit(link);
+                if (parents[other] >= 0) {
+                    parents[other] = -1;
+                    component[count++] = other;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks if there is the converting rule between two units, which was added in any direction.
+     * @param id1 id of one unit.
+     * @param id2 id of the other unit.
+     * @return true if there is such rule.
+     */
+    public boolean hasRule(int id1, int id2) {
+        return rules.find(id1, id2) >= 0;
+    }
+
+    /**
+     * Connects components of two units by the converting rule "1 unit1 = quotient unit2".
+     * @param id1 id of the first unit.
+     * @param id2 id of the second unit.
+     * @param quotient how many second units are in the first unit.
+     * @return true if components were connected, false if units were already in one component.
+     */
+    private boolean connect(int id1, int id2, Value quotient) {
+        int root1 = findComponent(id1);
+        int root2 = findComponent(id2);
+        if (root1 == root2) {
+            return false;
+        }
+        Value rule = new Value();
+        if (sizes[root1] >= sizes[root2]) {
+            multiplyRule(id1, rule);
+            rule.divide(quotient);
+            divideRule(id2, rule);
+            attach(root2, root1, rule);
+        } else {
+            rule.multiply(quotient);
+            multiplyRule(id2, rule);
+            divideRule(id1, rule);
+            attach(root1, root2, rule);
+        }
+        return true;
+    }
+
+    /**
+     * Finds the component of the unit (id of its root). Connects all units on the way directly to the root and
+     * multiplies their rules, so after that they are rules to the root. Depth of the tree is not bigger then
+     * logarithm of its size, because smaller trees are always connected to the bigger ones.
+     * @param id id of the unit.
+     * @return id of the component.
+     */
+    @Override
+    public int findComponent(int id) {
+        int parent = parents[id];
+        if (parent == id) {
+            return id;
+        }
+        int root = findComponent(parent);
+        if (parent != root) {
+            Value rule = getParentRule(id);
+            multiplyParentRule(parent, rule);
+            setParentRule(id, rule);
+            parents[id] = root;
+        }
+        return root;
+    }
+
+    /**
+     * Multiplies the value by the converting rule of the unit to the root of its component.
+     * @param id id of the unit.
+     * @param result value which is multiplied.
+     */
+    @Override
+    public void multiplyRule(int id, Value result) {
+        findComponent(id);
+        multiplyParentRule(id, result);
+    }
+
+    /**
+     * Divides the value by the converting rule of the unit to the root of its component.
+     * @param id id of the unit.
+     * @param result value which is divided.
+     */
+    @Override
+    public void divideRule(int id, Value result) {
+        findComponent(id);
+        if (bigRules[id] != null) {
+            result.divide(bigRules[id]);
+        } else {
+            result.divide(numerators[id], denominators[id], exponents[id]);
+        }
+    }
+
+    /**
+     * Gets converting rule of the unit to the root of its component.
+     * @param id id of the unit.
+     * @return new value with the rule.
+     */
+    public Value getRule(int id) {
+        Value rule = new Value();
+        multiplyRule(id, rule);
+        return rule;
+    }
+
+    /**
+     * Gets amount of the units in the component.
+     * @param id id of any unit of the component.
+     * @return amount of the units.
+     */
+    public int getComponentSize(int id) {
+        return sizes[findComponent(id)];
+    }
+
+    /**
+     * Gets amount of the units.
+     * @return amount of the units.
+     */
+    @Override
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Gets amount of the components.
+     * @return amount of the components.
+     */
+    @Override
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Estimates memory of the table: arrays of the units, names and kept rules.
+     * @return approximate amount of the bytes.
+     */
+    @Override
+    public long getMemoryBytes() {
+        long bytes = (long) parents.length * (Integer.BYTES * 4 + Long.BYTES * 4) + names.getMemoryBytes()
+                + (long) changed.length * Integer.BYTES;
+        int size = size();
+        for (int id = 0; id < size; id++) {
+            if (bigRules[id] != null) {
+                bytes += RuleList.BIG_VALUE_BYTES;
+            }
+        }
+        return bytes + rules.getMemoryBytes();
+    }
+
+    /**
+     * Gets graph of the component, creates it if component does not have graph yet.
+     * @param id id of any unit of the component.
+     * @return graph.
+     */
+    public Graph getGraph(int id) {
+        int root = findComponent(id);
+        if (graphs[root] == null) {
+            graphs[root] = new Graph(this, root);
+        }
+        return graphs[root];
+    }
+
+    /**
+     * Sets graph of the component.
+     * @param root id of the component.
+     * @param graph graph.
+     */
+    void setGraph(int root, Graph graph) {
+        graphs[root] = graph;
+    }
+
+    /**
+     * Writes the table into the image, see {@link UnitImage}: names, all rules and union-find arrays of the units. For
+     * each unit there are its parent, size, next unit of the ring and the converting rule to the parent, rules which
+     * do not fit into long have 0 denominator and are written after it.
+     * @param output output stream.
+     * @throws IOException if stream throws it.
+     */
+    void writeImage(DataOutputStream output) throws IOException {
+        names.writeImage(output);
+        rules.writeImage(output);
+        output.writeInt(componentCount);
+        for (int id = 0; id < size(); id++) {
+            output.writeInt(parents[id]);
+            output.writeInt(sizes[id]);
+            output.writeInt(members[id]);
+            if (bigRules[id] != null) {
+                output.writeLong(0);
+                UnitImage.writeValue(output, bigRules[id]);
+            } else {
+                output.writeLong(denominators[id]);
+                output.writeLong(numerators[id]);
+                output.writeInt(exponents[id]);
+            }
+        }
+    }
+
+    /**
+     * Reads the table which is written by {@link #writeImage(DataOutputStream)}. Arrays are filled as they are, so
+     * units are not connected again.
+     * @param input input stream.
+     * @return new table.
+     * @throws IOException if stream throws it or the image is damaged.
+     */
+    static UnitTable readImage(DataInputStream input) throws IOException {
+        NameTable names = NameTable.readImage(input);
+        int size = names.size();
+        UnitTable units = new UnitTable(names, RuleList.readImage(input, size));
+        units.componentCount = input.readInt();
+        if (units.componentCount < 0 || units.componentCount > size) {
+            throw new IOException("wrong amount of components " + units.componentCount);
+        }
+        for (int id = 0; id < size; id++) {
+            units.parents[id] = UnitImage.readId(input, size);
+            units.sizes[id] = input.readInt();
+            units.members[id] = UnitImage.readId(input, size);
+            long denominator = input.readLong();
+            if (denominator == 0) {
+                units.bigRules[id] = UnitImage.readValue(input);
+            } else {
+                units.denominators[id] = denominator;
+                units.numerators[id] = input.readLong();
+                units.exponents[id] = input.readInt();
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Deletes all units.
+     */
+    public void clear() {
+        names.clear();
+        rules.clear();
+        allocate(START_CAPACITY);
+        componentCount = 0;
+        snapshotPages = null;
+        changedCount = 0;
+        allChanged = true;
+    }
+
+    /**
+     * Connects the root to the other root. Units of the connected component get the new root and the new rules to it,
+     * they are remembered as changed and their ring is joined with the ring of the other component.
+     * @param root id of the root which is connected.
+     * @param newParent id of the root to which it is connected.
+     * @param rule how many parent units are in the root.
+     */
+    private void attach(int root, int newParent, Value rule) {
+        if (!allChanged) {
+            int id = root;
+            do {
+                changed(id);
+                id = members[id];
+            } while (id != root);
+        }
+        int next = members[root];
+        members[root] = members[newParent];
+        members[newParent] = next;
+        parents[root] = newParent;
+        sizes[newParent] += sizes[root];
+        setParentRule(root, rule);
+        if (graphs[newParent] == null) {
+            graphs[newParent] = graphs[root];
+        }
+        graphs[root] = null;
+        componentCount--;
+    }
+
+    /**
+     * Multiplies the value by the converting rule of the unit to its parent.
+     * @param id id of the unit.
+     * @param result value which is multiplied.
+     */
+    private void multiplyParentRule(int id, Value result) {
+        if (bigRules[id] != null) {
+            result.multiply(bigRules[id]);
+        } else {
+            result.multiply(numerators[id], denominators[id], exponents[id]);
+        }
+    }
+
+    /**
+     * Gets converting rule of the unit to its parent.
+     * @param id id of the unit.
+     * @return new value with the rule.
+     */
+    private Value getParentRule(int id) {
+        Value rule = new Value();
+        multiplyParentRule(id, rule);
+        return rule;
+    }
+
+    /**
+     * Sets converting rule of the unit to its parent. If the rule fits into long it is kept in the arrays.
+     * @param id id of the unit.
+     * @param rule new rule, it should not be changed after that.
+     */
+    private void setParentRule(int id, Value rule) {
+        if (rule.isPrimitive()) {
+            numerators[id] = rule.getPrimitiveNumerator();
+            denominators[id] = rule.getPrimitiveDenominator();
+            exponents[id] = rule.getExponent();
+            bigRules[id] = null;
+        } else {
+            bigRules[id] = rule;
+        }
+    }
+
+    /**
+     * Creates empty arrays.
+     * @param capacity capacity of the arrays.
+     */
+    private void allocate(int capacity) {
+        parents = new int[capacity];
+        sizes = new int[capacity];
+        numerators = new long[capacity];
+        denominators = new long[capacity];
+        exponents = new int[capacity];
+        bigRules = new Value[capacity];
+        graphs = new Graph[capacity];
+        members = new int[capacity];
+    }
+
+    /**
+     * Makes arrays bigger.
+     * @param capacity new capacity of the arrays.
+     */
+    private void grow(int capacity) {
+        parents = Arrays.copyOf(parents, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        numerators = Arrays.copyOf(numerators, capacity);
+        denominators = Arrays.copyOf(denominators, capacity);
+        exponents = Arrays.copyOf(exponents, capacity);
+        bigRules = Arrays.copyOf(bigRules, capacity);
+        graphs = Arrays.copyOf(graphs, capacity);
+        members = Arrays.copyOf(members, capacity);
+    }
+}
@@ -0,0 +1,121 @@
+package app.search;
+
+import app.holdingUnits.containers.UnitIndex;
+
+/**
+ * Class to convert many amounts from one unit to the other. Converting rule is found once and then applied to all
+ * amounts in the simple loop over the primitive arrays, which the JIT compiler unrolls and vectorizes. Amounts as
+ * doubles are multiplied by the nearest double of the rule, exact amounts are multiplied by the rule itself.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public final class AmountConverter {
+
+    /**
+     * Class has only static methods.
+     */
+    private AmountConverter() {
+    }
+
+    /**
+     * Converts amounts from one unit to the other unit of the same component.
+     * @param units units which are used to convert.
+     * @param startId id of the unit FROM which amounts are converted.
+     * @param endId id of the unit TO which amounts are converted.
+     * @param amounts amounts in the start unit.
+     * @return new array with the amounts in the end unit.
+     */
+    public static double[] convert(UnitIndex units, int startId, int endId, double[] amounts) {
+        double[] result = new double[amounts.length];
+        apply(units.findConverting(startId, endId), amounts, result);
+        return result;
+    }
+
+    /**
+     * Converts amounts from one unit to the other unit of the same component.
+     * @param units units which are used to convert.
+     * @param startId id of the unit FROM which amounts are converted.
+     * @param endId id of the unit TO which amounts are converted.
+     * @param amounts amounts in the start unit.
+     * @return new array with the amounts in the end unit.
+     */
+    public static double[] convert(UnitIndex units, int startId, int endId, long[] amounts) {
+        double[] result = new double[amounts.length];
+        apply(units.findConverting(startId, endId), amounts, result);
+        return result;
+    }
+
+    /**
+     * Converts amounts from one unit to the other unit of the same component without rounding.
+     * @param units units which are used to convert.
+     * @param startId id of the unit FROM which amounts are converted.
+     * @param endId id of the unit TO which amounts are converted.
+     * @param amounts amounts in the start unit.
+     * @return new array with the exact amounts in the end unit.
+     */
+    public static Value[] convertExact(UnitIndex units, int startId, int endId, long[] amounts) {
+        return applyExact(units.findConverting(startId, endId), amounts);
+    }
+
+    /**
+     * Multiplies amounts by the converting rule.
+     * @param rule converting rule.
+     * @param amounts amounts.
+     * @param result array for the results, it could be the same array as amounts.
+     */
+    public static void apply(Value rule, double[] amounts, double[] result) {
+        double factor = rule.doubleValue();
+        int length = amounts.length;
+        for (int i = 0; i < length; i++) {
+            result[i] = amounts[i] * factor;
+        }
+    }
+
+    /**
+     * Multiplies amounts by the converting rule.
+     * @param rule converting rule.
+     * @param amounts amounts.
+     * @param result array for the results.
+     */
+    public static void apply(Value rule, long[] amounts, double[] result) {
+        double factor = rule.doubleValue();
+        int length = amounts.length;
+        for (int i = 0; i < length; i++) {
+            result[i] = amounts[i] * factor;
+        }
+    }
+
+    /**
+     * Multiplies amounts by the converting rule without rounding.
+     * @param rule converting rule.
+     * @param amounts amounts.
+     * @return new array with the exact results.
+     */
+    public static Value[] applyExact(Value rule, long[] amounts) {
+        Value[] result = new Value[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            result[i] = Value.valueOf(amounts[i]);
+            result[i].multiply(rule);
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies amounts which are written as text by the converting rule without rounding.
+     * @param rule converting rule.
+     * @param amounts amounts as numbers in text, for example "1.5e3".
+     * @return new array with the exact results.
+     * @throws NumberFormatException if one of the amounts is malformed.
+     * @throws ArithmeticException if the exponent of one of the results is out of range.
+     */
+    public static Value[] applyExact(Value rule, CharSequence[] amounts) {
+        Value[] result = new Value[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            result[i] = Value.parse(amounts[i], 0, amounts[i].length());
+            result[i].multiply(rule);
+        }
+        return result;
+    }
+}
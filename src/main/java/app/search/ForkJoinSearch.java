@@ -0,0 +1,91 @@
+package app.search;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs searchers on the shared fork-join pool with one thread per core. Searchers are split into batches, so one
+ * task is not one multiplication.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public class ForkJoinSearch implements SearchStrategy {
+
+    /** The only instance, it uses the shared pool. */
+    public static final ForkJoinSearch INSTANCE = new ForkJoinSearch();
+
+    /** Pool which is shared by all requests. */
+    private static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /** Minimum amount of the searchers in one task. */
+    private static final int MIN_BATCH = 64;
+
+    /**
+     * Constructs strategy.
+     */
+    private ForkJoinSearch() {
+    }
+
+    /**
+     * Runs searchers on the pool and waits them.
+     * @param searchers searchers of the request.
+     */
+    @Override
+    public void execute(List<Searcher> searchers) {
+        int batch = Math.max(MIN_BATCH, searchers.size() / (pool.getParallelism() * 4));
+        pool.invoke(new SearchTask(searchers, 0, searchers.size(), batch));
+    }
+
+    /**
+     * Task which runs part of the searchers, splits itself into halves if the part is bigger then the batch.
+     */
+    private static class SearchTask extends RecursiveAction {
+
+        /** Version of the serialized form. */
+        private static final long serialVersionUID = 1L;
+
+        /** Searchers of the request. */
+        private final List<Searcher> searchers;
+
+        /** Index of the first searcher of the part. */
+        private final int from;
+
+        /** Index after the last searcher of the part. */
+        private final int to;
+
+        /** Maximum amount of the searchers which are run without splitting. */
+        private final int batch;
+
+        /**
+         * Constructs task.
+         * @param searchers searchers of the request.
+         * @param from index of the first searcher of the part.
+         * @param to index after the last searcher of the part.
+         * @param batch maximum amount of the searchers which are run without splitting.
+         */
+        SearchTask(List<Searcher> searchers, int from, int to, int batch) {
+            this.searchers = searchers;
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+        }
+
+        /**
+         * Runs the part or splits it.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= batch) {
+                for (int i = from; i < to; i++) {
+                    searchers.get(i).run();
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SearchTask(searchers, from, middle, batch), new SearchTask(searchers, middle, to, batch));
+        }
+    }
+}
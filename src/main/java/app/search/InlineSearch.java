@@ -0,0 +1,33 @@
+package app.search;
+
+import java.util.List;
+
+/**
+ * Runs searchers one by one on the calling thread.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public class InlineSearch implements SearchStrategy {
+
+    /** The only instance, class does not have state. */
+    public static final InlineSearch INSTANCE = new InlineSearch();
+
+    /**
+     * Constructs strategy.
+     */
+    private InlineSearch() {
+    }
+
+    /**
+     * Runs searchers on the calling thread.
+     * @param searchers searchers of the request.
+     */
+    @Override
+    public void execute(List<Searcher> searchers) {
+        for (Searcher searcher : searchers) {
+            searcher.run();
+        }
+    }
+}
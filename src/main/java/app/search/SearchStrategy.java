@@ -0,0 +1,45 @@
+package app.search;
+
+import java.util.List;
+
+/**
+ * Way to run the searchers of one request. Every searcher is only few multiplications, so small requests are
+ * calculated on the request thread and only big ones are split between threads.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public interface SearchStrategy {
+
+    /** Name of the system property which sets the strategy: "auto", "inline", "forkjoin" or "virtual". */
+    String PROPERTY = "search.strategy";
+
+    /** Maximum amount of the searchers which are run on the request thread by the automatic choice. */
+    int INLINE_LIMIT = 256;
+
+    /**
+     * Runs all searchers and returns when all of them have results.
+     * @param searchers searchers of the request.
+     */
+    void execute(List<Searcher> searchers);
+
+    /**
+     * Chooses strategy for the request. If the system property sets the strategy it is used for all requests, else
+     * small requests are run inline and big ones on the fork-join pool.
+     * @param searchCount amount of the searchers of the request.
+     * @return strategy.
+     */
+    static SearchStrategy choose(int searchCount) {
+        switch (System.getProperty(PROPERTY, "auto")) {
+            case "inline":
+                return InlineSearch.INSTANCE;
+            case "forkjoin":
+                return ForkJoinSearch.INSTANCE;
+            case "virtual":
+                return VirtualThreadSearch.isSupported() ? VirtualThreadSearch.INSTANCE : ForkJoinSearch.INSTANCE;
+            default:
+                return searchCount <= INLINE_LIMIT ? InlineSearch.INSTANCE : ForkJoinSearch.INSTANCE;
+        }
+    }
+}
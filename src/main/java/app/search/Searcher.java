@@ -1,47 +1,70 @@
 package app.search;
 
-import app.holdingUnits.containers.Graph;
+import app.holdingUnits.containers.UnitIndex;
 
 /**
- * Class only to parallelize converting.
+ * Class which finds one converting rule of the request. Searchers of the request are run by the search strategy,
+ * inline or on the pool.
  *
  * @version 1.0.0 10 Mar 2021
  * @author Aleksey Lakhanskii
  *
  */
-public class Searcher extends Thread {
-    /* extends thread to start Graph.findConverting at new thread. */
+public class Searcher implements Runnable {
 
-    /** Result of converting. */
+    /** Result of converting or null if it is out of range of the values. */
     private Value result;
 
-    /** The graph, where converting will be. */
-    private final Graph graph;
+    /** The table with units, where converting will be. */
+    private final UnitIndex units;
 
-    /** Name of the node FROM which we are converting. */
-    private final String startNodeName;
+    /** Id of the unit FROM which we are converting. */
+    private final int startId;
 
-    /** Name of the node TO which we are converting. */
-    private final String endNodeName;
+    /** Id of the unit TO which we are converting. */
+    private final int endId;
+
+    /** Power to which the converting rule is raised. */
+    private final int power;
 
     /**
      * Gets result.
-     * @return result.
+     * @return result or null if the exponent of the result is out of range.
      */
     public Value getResult() {
         return result;
     }
 
+    /**
+     * Gets id of the unit FROM which we are converting.
+     * @return id of the unit.
+     */
+    public int getStartId() {
+        return startId;
+    }
+
     /**
      * Constructor of the searcher.
-     * @param graph the graph, where converting will be.
-     * @param startNodeName name of the node FROM which we are converting.
-     * @param endNodeName name of the node TO which we are converting.
+     * @param units the table with units, where converting will be.
+     * @param startId id of the unit FROM which we are converting.
+     * @param endId id of the unit TO which we are converting.
+     */
+    public Searcher(UnitIndex units, int startId, int endId) {
+        this(units, startId, endId, 1);
+    }
+
+    /**
+     * Constructor of the searcher of the rule raised to the power, for example from "м^3" to "см^3".
+     * @param units the table with units, where converting will be.
+     * @param startId id of the unit FROM which we are converting.
+     * @param endId id of the unit TO which we are converting.
+     * @param power power to which the converting rule is raised.
      */
-    public Searcher(Graph graph, String startNodeName, String endNodeName) {
-        this.endNodeName = endNodeName;
-        this.startNodeName = startNodeName;
-        this.graph = graph;
+    public Searcher(UnitIndex units, int startId, int endId, int power) {
+        this.endId = endId;
+        this.startId = startId;
+        this.units = units;
+        this.power = power;
     }
 
     /**
@@ -49,6 +72,14 @@ public class Searcher extends Thread {
      */
     @Override
     public void run() {
-        result = graph.findConverting(startNodeName, endNodeName);
+        try {
+            Value rule = units.findConverting(startId, endId);
+            if (power != 1) {
+                rule.pow(power);
+            }
+            result = rule;
+        } catch (ArithmeticException e) {
+            result = null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,17 @@
 package app.search;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.math.BigInteger;
+import java.math.MathContext;
 
 /**
- * Class for precise calculations.
+ * Class for precise calculations. Holds the number as the exact fraction "numerator / denominator * 10^exponent"
+ * which is reduced by gcd after every operation. Rounding happens only when the value converts to the string.
+ * While numerator and denominator fit into long all operations are done on primitives, if one of them overflows
+ * the fraction is moved to BigInteger, and back when it becomes small enough again. The exponent is kept in the range
+ * of {@link #MAX_EXPONENT}, operations which would leave it throw ArithmeticException instead of wrapping around.
  *
  * @version 1.0.0 17 Mar 2021
  * @author Aleksey Lakhanskii
@@ -12,217 +19,441 @@ import java.math.RoundingMode;
  */
 public class Value {
 
-    /** The number of significant digits (Should be not bigger then 18 number of long digits). */
-    private static final Integer NUMBER_SIGNIFICANT_DIGITS = 15;
-
-    /** The number of insignificant digits. More numbers = more precision, but spends more time for operations. */
-    private static final Integer NUMBER_OF_INSIGNIFICANT_DIGITS = 90;
+    /** Maximum absolute value of the exponent. */
+    public static final int MAX_EXPONENT = 1_000_000_000;
 
     /** if value lower then 0 it is true, else it is false */
-    private Boolean negative;
+    private boolean negative;
 
-    /**
-     * Numerator of the digit that has NUMBER_SIGNIFICANT_DIGITS before "." and NUMBER_OF_INSIGNIFICANT_DIGITS after
-     * ".".
-     */
-    private BigDecimal numerator;
+    /** Numerator of the fraction while the fraction fits into long, it is never negative. */
+    private long numerator;
 
-    /** Numerator exponent on which "bigDecimal" should be multiplied to convert it to the normal form. */
-    private Long numeratorExponent;
+    /** Denominator of the fraction while the fraction fits into long, it is always positive. */
+    private long denominator;
 
-    /** If this instance has denominator become true */
-    private boolean denominatorIsInitialized;
+    /** Numerator of the fraction if it does not fit into long, else null. */
+    private BigInteger bigNumerator;
 
-    /**
-     * Denominator of the digit that has NUMBER_SIGNIFICANT_DIGITS before "." and NUMBER_OF_INSIGNIFICANT_DIGITS
-     * after ".".
-     */
-    private BigDecimal denominator;
+    /** Denominator of the fraction if it does not fit into long, else null. */
+    private BigInteger bigDenominator;
 
-    /** Denominator exponent on which "bigDecimal" should be multiplied to convert it to the normal form. */
-    private Long denominatorExponent;
+    /** Exponent on which fraction should be multiplied to convert it to the normal form. */
+    private int exponent;
 
     /**
      * Constructs Value of 1.
      */
     public Value() {
-        this("1");
+        negative = false;
+        numerator = 1;
+        denominator = 1;
+        exponent = 0;
     }
 
     /**
      * Constructs "Value" by number which is written at the string.
      * @param number the number which presented as the string.
+     * @throws NumberFormatException if the number is malformed.
      */
     public Value(String number) {
-        negative = number.contains("-");
-        number = number.replace("-", "");
-        denominatorIsInitialized = false;
-        numerator = new BigDecimal(number);
-        denominator = new BigDecimal("1");
-        long startNumeratorExponent = Math.round(Math.floor(Math.log10(numerator.doubleValue())));
-        denominatorExponent = 0L;
-        numeratorExponent = NUMBER_SIGNIFICANT_DIGITS - startNumeratorExponent;
-        if (startNumeratorExponent < NUMBER_SIGNIFICANT_DIGITS) {
-            for (long i = startNumeratorExponent; i < NUMBER_SIGNIFICANT_DIGITS; i++) {
-                numerator = numerator.multiply(BigDecimal.TEN);
-            }
-        } else {
-            for (long i = startNumeratorExponent; i > NUMBER_SIGNIFICANT_DIGITS; i--) {
-                numerator = numerator.divide(BigDecimal.TEN, NUMBER_OF_INSIGNIFICANT_DIGITS, RoundingMode.DOWN);
-            }
+        this(ValueParser.parse(number, 0, number.length()));
+    }
+
+    /**
+     * Constructs the copy of the value.
+     * @param value value to copy.
+     */
+    private Value(Value value) {
+        negative = value.negative;
+        numerator = value.numerator;
+        denominator = value.denominator;
+        bigNumerator = value.bigNumerator;
+        bigDenominator = value.bigDenominator;
+        exponent = value.exponent;
+    }
+
+    /**
+     * Constructs "Value" of the integer number multiplied by 10^exponent.
+     * @param negative is the value negative.
+     * @param numerator not negative integer number.
+     * @param exponent exponent of ten.
+     */
+    Value(boolean negative, long numerator, int exponent) {
+        this.negative = negative;
+        this.numerator = numerator;
+        this.denominator = 1;
+        this.exponent = exponent;
+    }
+
+    /**
+     * Constructs "Value" of the integer number which does not fit into long multiplied by 10^exponent.
+     * @param negative is the value negative.
+     * @param numerator not negative integer number.
+     * @param exponent exponent of ten.
+     */
+    Value(boolean negative, BigInteger numerator, int exponent) {
+        this.negative = negative;
+        this.exponent = exponent;
+        setFraction(numerator, BigInteger.ONE);
+    }
+
+    /**
+     * Constructs "Value" of the fraction "numerator / denominator * 10^exponent".
+     * @param numerator numerator, its sign is the sign of the value.
+     * @param denominator positive denominator.
+     * @param exponent exponent of ten.
+     */
+    public Value(BigInteger numerator, BigInteger denominator, int exponent) {
+        this.negative = numerator.signum() < 0;
+        this.exponent = exponent;
+        setFraction(numerator.abs(), denominator);
+    }
+
+    /**
+     * Constructs "Value" of the integer number.
+     * @param number the number.
+     * @return new value.
+     */
+    public static Value valueOf(long number) {
+        if (number == Long.MIN_VALUE) {
+            return new Value(true, BigInteger.valueOf(number).negate(), 0);
         }
-        numerator = numerator.setScale(NUMBER_OF_INSIGNIFICANT_DIGITS, RoundingMode.DOWN);
+        return new Value(number < 0, Math.abs(number), 0);
+    }
+
+    /**
+     * Parses the number which is written in the part of the text, without creating substrings. The number could have
+     * sign, dot and exponent ("-1.5e-3").
+     * @param text text with the number.
+     * @param start index of the first char of the number.
+     * @param end index after the last char of the number.
+     * @return parsed value.
+     * @throws NumberFormatException if the number is malformed, message has the position of the wrong char.
+     */
+    public static Value parse(CharSequence text, int start, int end) {
+        return ValueParser.parse(text, start, end);
     }
 
     /**
      * Multiplies this instance "Value" with the value. Writes the result into this "Value" instance.
      * @param value the value on which this instance of "Value" multiplies.
+     * @throws ArithmeticException if the exponent of the result is out of range, then this value is not changed.
      */
     public void multiply(Value value) {
-        negative = (value.negative && !negative) || (!value.negative && negative);
-        if (value.denominatorIsInitialized) {
-            denominatorIsInitialized = true;
+        if (value.bigNumerator == null) {
+            calculate(value.negative, value.exponent, value.numerator, value.denominator);
+        } else {
+            calculate(value.negative, value.exponent, value.bigNumerator, value.bigDenominator);
         }
-        calculate(value.numeratorExponent, value.denominatorExponent, value.numerator, value.denominator);
     }
 
     /**
      * Divides this instance of "Value" to the value. Writes the result into this "Value" instance.
      * @param value the value on which this instance of "Value" divides.
+     * @throws ArithmeticException if the value is zero or the exponent of the result is out of range, then this value
+     * is not changed.
      */
     public void divide(Value value) {
-        negative = (value.negative && !negative) || (!value.negative && negative);
-        denominatorIsInitialized = true;
-        calculate(value.denominatorExponent, value.numeratorExponent, value.denominator, value.numerator);
+        if (value.isZero()) {
+            throw new ArithmeticException("division by zero");
+        }
+        if (value.bigNumerator == null) {
+            calculate(value.negative, -(long) value.exponent, value.denominator, value.numerator);
+        } else {
+            calculate(value.negative, -(long) value.exponent, value.bigDenominator, value.bigNumerator);
+        }
     }
 
     /**
-     * Multiplies fractions.
-     * @param valueNumeratorExponent the fractions Numerator's Exponent (if it was dividing it is Denominator's).
-     * @param valueDenominatorExponent the fractions Denominator's Exponent (if it was dividing it is Numerator's).
-     * @param valueNumerator the fractions Numerator (if it was dividing it is Denominator).
-     * @param valueDenominator the fractions Denominator (if it was dividing it is Numerator).
+     * Raises this instance of "Value" to the integer power by squaring, so only about log2(power) multiplications
+     * are done. Writes the result into this "Value" instance.
+     * @param power power, if it is negative the value is inverted.
+     * @throws ArithmeticException if the value is zero and the power is negative or if the exponent of the result is
+     * out of range, then this value is not changed.
      */
-    public void calculate(long valueNumeratorExponent, long valueDenominatorExponent,
-                          BigDecimal valueNumerator, BigDecimal valueDenominator) {
-        numeratorExponent += valueNumeratorExponent;
-        numerator = numerator.multiply(valueNumerator);
-        long deltaExponent = Math.round(Math.floor(Math.log10(numerator.doubleValue())));
-        numeratorExponent += NUMBER_SIGNIFICANT_DIGITS - deltaExponent;
-        for (long i = NUMBER_SIGNIFICANT_DIGITS; i < deltaExponent; i++) {
-            numerator = numerator.divide(BigDecimal.TEN, NUMBER_OF_INSIGNIFICANT_DIGITS, RoundingMode.DOWN);
-        }
-        numerator = numerator.setScale(NUMBER_OF_INSIGNIFICANT_DIGITS, RoundingMode.DOWN);
-        if (denominatorIsInitialized) {
-            denominatorExponent += valueDenominatorExponent;
-            denominator = denominator.multiply(valueDenominator);
-            deltaExponent = Math.round(Math.floor(Math.log10(denominator.doubleValue())));
-            denominatorExponent += NUMBER_SIGNIFICANT_DIGITS - deltaExponent;
-            for (long i = NUMBER_SIGNIFICANT_DIGITS; i < deltaExponent; i++) {
-                denominator = denominator.divide(BigDecimal.TEN, NUMBER_OF_INSIGNIFICANT_DIGITS, RoundingMode.DOWN);
+    public void pow(int power) {
+        Value base = new Value(this);
+        Value result = new Value();
+        long rest = Math.abs((long) power);
+        while (rest > 0) {
+            if ((rest & 1) == 1) {
+                result.multiply(base);
             }
-            denominator = denominator.setScale(NUMBER_OF_INSIGNIFICANT_DIGITS, RoundingMode.DOWN);
+            rest >>= 1;
+            if (rest > 0) {
+                base.multiply(new Value(base));
+            }
+        }
+        if (power < 0) {
+            Value inverted = new Value();
+            inverted.divide(result);
+            result = inverted;
         }
+        negative = result.negative;
+        numerator = result.numerator;
+        denominator = result.denominator;
+        bigNumerator = result.bigNumerator;
+        bigDenominator = result.bigDenominator;
+        exponent = result.exponent;
     }
 
     /**
-     * Converts this instance of "Value" to the String.
-     * @return the string with value at the normal form.
+     * Multiplies this instance "Value" with the fraction "numerator / denominator * 10^exponent" which fits into long.
+     * @param numerator numerator, its sign is the sign of the fraction.
+     * @param denominator positive denominator.
+     * @param exponent exponent of ten.
+     * @throws ArithmeticException if the exponent of the result is out of range, then this value is not changed.
      */
-    @Override
-    public String toString() {
-        Value convertValue = divideNumeratorOnDenominator();
-        boolean digitDontHaveNumbersBeforeDot = convertValue.numeratorExponent > NUMBER_SIGNIFICANT_DIGITS;
-        boolean digitHaveNumbersAfterDot = convertValue.numeratorExponent >= 0;
-        if (digitDontHaveNumbersBeforeDot) {
-            return convertValue.convertDigitLessThenOne();
-        }
-        if (digitHaveNumbersAfterDot) {
-            return convertValue.convertDigitWhichHaveNumbersAfterDot();
+    public void multiply(long numerator, long denominator, int exponent) {
+        calculate(numerator < 0, exponent, Math.abs(numerator), denominator);
+    }
+
+    /**
+     * Divides this instance "Value" on the fraction "numerator / denominator * 10^exponent" which fits into long.
+     * @param numerator not zero numerator, its sign is the sign of the fraction.
+     * @param denominator positive denominator.
+     * @param exponent exponent of ten.
+     * @throws ArithmeticException if the numerator is zero or the exponent of the result is out of range, then this
+     * value is not changed.
+     */
+    public void divide(long numerator, long denominator, int exponent) {
+        if (numerator == 0) {
+            throw new ArithmeticException("division by zero");
         }
-        return convertValue.convertDigitWhichDontHaveNumbersAfterDot();
+        calculate(numerator < 0, -(long) exponent, denominator, Math.abs(numerator));
     }
 
     /**
-     * When Value converts to string, divide Numerator Value on Denominator Value.
-     * @return the result of dividing.
+     * Gets numerator of the fraction which fits into long.
+     * @return numerator with the sign of the value, valid only if the value is primitive.
      */
-    private Value divideNumeratorOnDenominator() {
-        Value result = new Value();
-        result.numeratorExponent = numeratorExponent - denominatorExponent;
-        result.numerator = numerator.divide(denominator, NUMBER_OF_INSIGNIFICANT_DIGITS, RoundingMode.DOWN);
-        long deltaExponent = Math.round(Math.floor(Math.log10(result.numerator.doubleValue())));
-        result.numeratorExponent += NUMBER_SIGNIFICANT_DIGITS - deltaExponent;
-        for (long i = deltaExponent; i < NUMBER_SIGNIFICANT_DIGITS; i++) {
-            result.numerator = result.numerator.multiply(BigDecimal.TEN);
+    public long getPrimitiveNumerator() {
+        return negative ? -numerator : numerator;
+    }
+
+    /**
+     * Gets denominator of the fraction which fits into long.
+     * @return positive denominator, valid only if the value is primitive.
+     */
+    public long getPrimitiveDenominator() {
+        return denominator;
+    }
+
+    /**
+     * Gets numerator of the fraction.
+     * @return numerator with the sign of the value.
+     */
+    public BigInteger getNumerator() {
+        return negative ? toBigNumerator().negate() : toBigNumerator();
+    }
+
+    /**
+     * Gets denominator of the fraction.
+     * @return positive denominator.
+     */
+    public BigInteger getDenominator() {
+        return toBigDenominator();
+    }
+
+    /**
+     * Gets exponent of ten on which the fraction is multiplied.
+     * @return exponent.
+     */
+    public int getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Converts the value to the nearest double. Values which are too big for double become infinity.
+     * @return the value as double.
+     */
+    public double doubleValue() {
+        if (isZero()) {
+            return 0;
         }
-        result.numerator = result.numerator.setScale(NUMBER_OF_INSIGNIFICANT_DIGITS, RoundingMode.DOWN);
-        return result;
+        BigDecimal fraction = new BigDecimal(toBigNumerator()).divide(new BigDecimal(toBigDenominator()),
+                MathContext.DECIMAL128);
+        double result = fraction.scaleByPowerOfTen(exponent).doubleValue();
+        return negative ? -result : result;
+    }
+
+    /**
+     * Checks is the value equal to zero.
+     * @return true if value is zero, else false.
+     */
+    public boolean isZero() {
+        return bigNumerator == null ? numerator == 0 : bigNumerator.signum() == 0;
+    }
+
+    /**
+     * Checks are numerator and denominator of the value fit into long.
+     * @return true if the value is computed on primitives, else false.
+     */
+    public boolean isPrimitive() {
+        return bigNumerator == null;
     }
 
     /**
-     * Converts digit which is less then 1 and bigger then 0.
-     * @return the string form of this digit.
+     * Multiplies fractions which fit into long. Numerators and denominators are reduced crosswise before multiplying,
+     * so the result is already reduced. If the result overflows long multiplies them as BigInteger.
+     * @param valueNegative the fractions sign.
+     * @param valueExponent the fractions exponent (if it was dividing it is negated exponent).
+     * @param valueNumerator the fractions Numerator (if it was dividing it is Denominator).
+     * @param valueDenominator the fractions Denominator (if it was dividing it is Numerator).
+     * @throws ArithmeticException if the exponent of the result is out of range.
      */
-    private String convertDigitLessThenOne() {
-        StringBuilder stringForm = new StringBuilder();
-        if (negative) {
-            stringForm.append("-");
+    private void calculate(boolean valueNegative, long valueExponent, long valueNumerator, long valueDenominator) {
+        if (bigNumerator != null) {
+            calculate(valueNegative, valueExponent,
+                    BigInteger.valueOf(valueNumerator), BigInteger.valueOf(valueDenominator));
+            return;
         }
-        stringForm.append("0.");
-        for (long i = NUMBER_SIGNIFICANT_DIGITS; i < numeratorExponent - 1; i++) {
-            stringForm.append("0");
+        long gcd1 = gcd(numerator, valueDenominator);
+        long gcd2 = gcd(valueNumerator, denominator);
+        long numerator1 = numerator / gcd1;
+        long denominator2 = valueDenominator / gcd1;
+        long numerator2 = valueNumerator / gcd2;
+        long denominator1 = denominator / gcd2;
+        if (overflows(numerator1, numerator2) || overflows(denominator1, denominator2)) {
+            calculate(valueNegative, valueExponent,
+                    BigInteger.valueOf(valueNumerator), BigInteger.valueOf(valueDenominator));
+            return;
         }
-        int saveInsignificantDigits = 0;
-        long data = numerator.setScale(saveInsignificantDigits, RoundingMode.DOWN).longValue();
-        while (data % 10 == 0) {
-            data = data / 10;
+        exponent = addExponent(valueExponent);
+        negative = negative != valueNegative;
+        numerator = numerator1 * numerator2;
+        denominator = denominator1 * denominator2;
+    }
+
+    /**
+     * Multiplies fractions as BigInteger and reduces the result by gcd.
+     * @param valueNegative the fractions sign.
+     * @param valueExponent the fractions exponent (if it was dividing it is negated exponent).
+     * @param valueNumerator the fractions Numerator (if it was dividing it is Denominator).
+     * @param valueDenominator the fractions Denominator (if it was dividing it is Numerator).
+     * @throws ArithmeticException if the exponent of the result is out of range.
+     */
+    private void calculate(boolean valueNegative, long valueExponent,
+                           BigInteger valueNumerator, BigInteger valueDenominator) {
+        exponent = addExponent(valueExponent);
+        negative = negative != valueNegative;
+        setFraction(toBigNumerator().multiply(valueNumerator), toBigDenominator().multiply(valueDenominator));
+    }
+
+    /**
+     * Adds the exponent to the exponent of this value.
+     * @param valueExponent added exponent.
+     * @return sum of the exponents.
+     * @throws ArithmeticException if the sum is out of range.
+     */
+    private int addExponent(long valueExponent) {
+        long sum = exponent + valueExponent;
+        if (Math.abs(sum) > MAX_EXPONENT) {
+            throw new ArithmeticException("exponent " + sum + " is out of range");
         }
-        stringForm.append(data);
-        return stringForm.toString();
+        return (int) sum;
     }
 
     /**
-     * Converts digit which is bigger or equals then 1 and less or equals then
-     * 10^"NUMBER_SIGNIFICANT_DIGITS".
-     * @return the string form of this digit.
+     * Reduces the fraction by gcd and saves it. If the reduced fraction fits into long saves it as primitives.
+     * @param newNumerator new numerator.
+     * @param newDenominator new denominator.
      */
-    private String convertDigitWhichHaveNumbersAfterDot() {
-        StringBuilder stringForm = new StringBuilder();
-        if (negative) {
-            stringForm.append("-");
+    private void setFraction(BigInteger newNumerator, BigInteger newDenominator) {
+        BigInteger gcd = newNumerator.gcd(newDenominator);
+        if (!gcd.equals(BigInteger.ONE)) {
+            newNumerator = newNumerator.divide(gcd);
+            newDenominator = newDenominator.divide(gcd);
         }
-        int saveInsignificantDigits = 0;
-        BigDecimal valueCopy = numerator.setScale(saveInsignificantDigits, RoundingMode.DOWN);
-        long data = valueCopy.longValue();
-        int pow = 0;
-        while(data % 10 == 0 && pow < numeratorExponent) {
-            pow++;
-            data = data / 10;
+        if (newNumerator.bitLength() < Long.SIZE && newDenominator.bitLength() < Long.SIZE) {
+            numerator = newNumerator.longValue();
+            denominator = newDenominator.longValue();
+            bigNumerator = null;
+            bigDenominator = null;
+        } else {
+            bigNumerator = newNumerator;
+            bigDenominator = newDenominator;
         }
-        for (long i = 0; i < numeratorExponent; i++) {
-            valueCopy = valueCopy.divide(BigDecimal.TEN, NUMBER_SIGNIFICANT_DIGITS, RoundingMode.DOWN);
+    }
+
+    /**
+     * Gets numerator as BigInteger.
+     * @return numerator.
+     */
+    private BigInteger toBigNumerator() {
+        return bigNumerator == null ? BigInteger.valueOf(numerator) : bigNumerator;
+    }
+
+    /**
+     * Gets denominator as BigInteger.
+     * @return denominator.
+     */
+    private BigInteger toBigDenominator() {
+        return bigDenominator == null ? BigInteger.valueOf(denominator) : bigDenominator;
+    }
+
+    /**
+     * Finds the greatest common divisor of two not negative numbers.
+     * @param a first number.
+     * @param b second number.
+     * @return gcd of the numbers (if both are zero returns 1).
+     */
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
         }
-        valueCopy = valueCopy.setScale(numeratorExponent.intValue() - pow, RoundingMode.DOWN);
-        stringForm.append(valueCopy.toString());
-        return stringForm.toString();
+        return a == 0 ? 1 : a;
+    }
+
+    /**
+     * Checks does multiplication of two not negative numbers overflow long.
+     * @param a first number.
+     * @param b second number.
+     * @return true if the product does not fit into long.
+     */
+    private static boolean overflows(long a, long b) {
+        return Math.multiplyHigh(a, b) != 0 || a * b < 0;
     }
 
     /**
-     * Converts digit which is bigger then 10^"NUMBER_SIGNIFICANT_DIGITS".
-     * @return string form of this digit.
+     * Converts this instance of "Value" to the String.
+     * @return the string with value at the normal form.
      */
-    private String convertDigitWhichDontHaveNumbersAfterDot(){
-        StringBuilder stringForm = new StringBuilder();
-        if (negative) {
-            stringForm.append("-");
+    @Override
+    public String toString() {
+        ValueFormatter formatter = ValueFormatter.get();
+        int length = format(formatter);
+        return new String(formatter.getBuffer(), 0, length);
+    }
+
+    /**
+     * Writes the string form of this instance of "Value" to the writer without creating the string.
+     * @param writer writer to which value is written.
+     * @throws IOException if writer throws it.
+     */
+    public void writeTo(Writer writer) throws IOException {
+        ValueFormatter formatter = ValueFormatter.get();
+        int length = format(formatter);
+        writer.write(formatter.getBuffer(), 0, length);
+    }
+
+    /**
+     * Writes the string form of this instance of "Value" into the formatter buffer.
+     * @param formatter formatter of the current thread.
+     * @return the length of the string form.
+     */
+    private int format(ValueFormatter formatter) {
+        if (isZero()) {
+            formatter.getBuffer()[0] = '0';
+            return 1;
         }
-        int saveInsignificantDigits = 0;
-        BigDecimal valueCopy = numerator.setScale(saveInsignificantDigits, RoundingMode.DOWN);
-        stringForm.append(valueCopy.toString());
-        for (long i = numeratorExponent + NUMBER_SIGNIFICANT_DIGITS; i < NUMBER_SIGNIFICANT_DIGITS; i++) {
-            stringForm.append("0");
+        if (bigNumerator == null) {
+            formatter.extract(numerator, denominator);
+        } else {
+            formatter.extract(bigNumerator, bigDenominator);
         }
-        return stringForm.toString();
+        return formatter.format(negative, exponent);
     }
 }
@@ -0,0 +1,276 @@
+package app.search;
+
+import java.math.BigInteger;
+
+/**
+ * Class to convert values to the string form without creating temporary objects. Every thread has its own formatter
+ * with the reusable char buffer. Significant digits are extracted by the long division of the numerator on the
+ * denominator and written straight into the buffer. Values with many zeros before or after the digits are written in
+ * the scientific notation, "1.5e45", so the length of the string form does not depend on the exponent.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+final class ValueFormatter {
+
+    /** The number of digits which are written (significant digits and one more truncated digit). */
+    private static final int NUMBER_OF_DIGITS = 16;
+
+    /** Start size of the buffer, enough for any value. */
+    private static final int START_BUFFER_SIZE = 64;
+
+    /** Maximum amount of the digits before the dot or the zeros after it in the plain notation. */
+    private static final int MAX_PLAIN_DIGITS = 40;
+
+    /** Powers of ten which fit into long. */
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    /** Smallest value of the digits (10^(NUMBER_OF_DIGITS - 1)). */
+    private static final BigInteger LOWER_BOUND = BigInteger.TEN.pow(NUMBER_OF_DIGITS - 1);
+
+    /** Value which digits should be less then (10^NUMBER_OF_DIGITS). */
+    private static final BigInteger UPPER_BOUND = BigInteger.TEN.pow(NUMBER_OF_DIGITS);
+
+    /** Decimal logarithm of 2, used to estimate the number of digits by the number of bits. */
+    private static final double LOG10_2 = Math.log10(2);
+
+    /** Formatter for each thread. */
+    private static final ThreadLocal<ValueFormatter> formatters = ThreadLocal.withInitial(ValueFormatter::new);
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /** Buffer into which the string form is written. */
+    private char[] buffer = new char[START_BUFFER_SIZE];
+
+    /** NUMBER_OF_DIGITS first digits of the value (without leading zeros). */
+    private long digits;
+
+    /** Number of digits of the value before the dot (negative if there are zeros after the dot). */
+    private long pointPosition;
+
+    /**
+     * Gets formatter of the current thread.
+     * @return formatter.
+     */
+    static ValueFormatter get() {
+        return formatters.get();
+    }
+
+    /**
+     * Gets the buffer with the last formatted value.
+     * @return buffer.
+     */
+    char[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Extracts digits of the fraction which numerator and denominator fit into long.
+     * @param numerator positive numerator.
+     * @param denominator positive denominator.
+     */
+    void extract(long numerator, long denominator) {
+        if (denominator > Long.MAX_VALUE / 10) {
+            extract(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+            return;
+        }
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        int length;
+        if (quotient > 0) {
+            length = countDigits(quotient);
+            pointPosition = length;
+            if (length >= NUMBER_OF_DIGITS) {
+                digits = quotient / POWERS_OF_TEN[length - NUMBER_OF_DIGITS];
+                return;
+            }
+            digits = quotient;
+            remainder *= 10;
+        } else {
+            pointPosition = 0;
+            remainder *= 10;
+            while (remainder < denominator) {
+                remainder *= 10;
+                pointPosition--;
+            }
+            digits = 0;
+            length = 0;
+        }
+        for (; length < NUMBER_OF_DIGITS; length++) {
+            digits = digits * 10 + remainder / denominator;
+            remainder = remainder % denominator * 10;
+        }
+    }
+
+    /**
+     * Extracts digits of the fraction which numerator or denominator does not fit into long.
+     * @param numerator positive numerator.
+     * @param denominator positive denominator.
+     */
+    void extract(BigInteger numerator, BigInteger denominator) {
+        int digitsExponent = NUMBER_OF_DIGITS - 1 - estimateLog10(numerator) + estimateLog10(denominator);
+        BigInteger result = normalize(numerator, denominator, digitsExponent);
+        while (result.compareTo(LOWER_BOUND) < 0) {
+            result = normalize(numerator, denominator, ++digitsExponent);
+        }
+        while (result.compareTo(UPPER_BOUND) >= 0) {
+            result = normalize(numerator, denominator, --digitsExponent);
+        }
+        digits = result.longValue();
+        pointPosition = NUMBER_OF_DIGITS - digitsExponent;
+    }
+
+    /**
+     * Writes extracted digits into the buffer. If the digit is less then 1 writes "0." and zeros before the digits and
+     * removes zeros at the end. If the digit has numbers after dot removes zeros at the end of them. If the digit is
+     * bigger then 10^NUMBER_OF_DIGITS writes zeros after the digits. If there are more then MAX_PLAIN_DIGITS digits
+     * before the dot or zeros after it writes the value in the scientific notation.
+     * @param negative is the value negative.
+     * @param exponent exponent of ten on which extracted fraction should be multiplied.
+     * @return the length of the string form in the buffer.
+     */
+    int format(boolean negative, int exponent) {
+        long point = pointPosition + exponent;
+        if (point > MAX_PLAIN_DIGITS || point < -MAX_PLAIN_DIGITS) {
+            return formatScientific(negative, point - 1);
+        }
+        long length = negative ? 1 : 0;
+        if (point <= 0) {
+            length += 2 - point + NUMBER_OF_DIGITS;
+        } else if (point >= NUMBER_OF_DIGITS) {
+            length += point;
+        } else {
+            length += NUMBER_OF_DIGITS + 1;
+        }
+        ensureCapacity(length);
+        int position = 0;
+        if (negative) {
+            buffer[position++] = '-';
+        }
+        if (point <= 0) {
+            buffer[position++] = '0';
+            buffer[position++] = '.';
+            for (long i = point; i < 0; i++) {
+                buffer[position++] = '0';
+            }
+            return writeDigits(position, NUMBER_OF_DIGITS, NUMBER_OF_DIGITS);
+        }
+        if (point >= NUMBER_OF_DIGITS) {
+            position = writeDigits(position, NUMBER_OF_DIGITS, 0);
+            for (long i = NUMBER_OF_DIGITS; i < point; i++) {
+                buffer[position++] = '0';
+            }
+            return position;
+        }
+        int integerDigits = (int) point;
+        int end = writeDigits(position, NUMBER_OF_DIGITS, NUMBER_OF_DIGITS - integerDigits);
+        int dot = position + integerDigits;
+        if (end == dot) {
+            return end;
+        }
+        System.arraycopy(buffer, dot, buffer, dot + 1, end - dot);
+        buffer[dot] = '.';
+        return end + 1;
+    }
+
+    /**
+     * Writes extracted digits in the scientific notation: the first digit, the dot and the rest digits without zeros
+     * at the end, "e" and the exponent.
+     * @param negative is the value negative.
+     * @param scientificExponent exponent of ten on which the first digit is multiplied.
+     * @return the length of the string form in the buffer.
+     */
+    private int formatScientific(boolean negative, long scientificExponent) {
+        int position = 0;
+        if (negative) {
+            buffer[position++] = '-';
+        }
+        int end = writeDigits(position, NUMBER_OF_DIGITS, NUMBER_OF_DIGITS - 1);
+        if (end > position + 1) {
+            System.arraycopy(buffer, position + 1, buffer, position + 2, end - position - 1);
+            buffer[position + 1] = '.';
+            end++;
+        }
+        buffer[end++] = 'e';
+        String text = Long.toString(scientificExponent);
+        text.getChars(0, text.length(), buffer, end);
+        return end + text.length();
+    }
+
+    /**
+     * Writes the first digits into the buffer starting from the position, removing up to "removableZeros" zeros from
+     * the end.
+     * @param position position in the buffer of the first digit.
+     * @param count amount of digits to write.
+     * @param removableZeros how many zeros at the end could be removed.
+     * @return position after the last written digit.
+     */
+    private int writeDigits(int position, int count, int removableZeros) {
+        long data = digits;
+        while (removableZeros > 0 && data % 10 == 0) {
+            data /= 10;
+            count--;
+            removableZeros--;
+        }
+        for (int i = position + count - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + data % 10);
+            data /= 10;
+        }
+        return position + count;
+    }
+
+    /**
+     * Makes the buffer bigger if the string form does not fit into it.
+     * @param length length of the string form.
+     */
+    private void ensureCapacity(long length) {
+        if (length > buffer.length) {
+            if (length > Integer.MAX_VALUE - 8) {
+                throw new ArithmeticException("value is too big to be written");
+            }
+            buffer = new char[(int) length];
+        }
+    }
+
+    /**
+     * Counts the number of digits of the positive number.
+     * @param number positive number.
+     * @return the number of digits.
+     */
+    private static int countDigits(long number) {
+        int length = 1;
+        while (length < POWERS_OF_TEN.length && number >= POWERS_OF_TEN[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Estimates the decimal logarithm of the number by its bit length. The estimation could differ by one.
+     * @param number positive number.
+     * @return estimated floor of the decimal logarithm.
+     */
+    private static int estimateLog10(BigInteger number) {
+        return (int) ((number.bitLength() - 1) * LOG10_2);
+    }
+
+    /**
+     * Divides numerator on denominator after multiplying the fraction by 10^digitsExponent.
+     * @param numerator numerator of the fraction.
+     * @param denominator denominator of the fraction.
+     * @param digitsExponent exponent of ten on which fraction is multiplied.
+     * @return integer part of the result.
+     */
+    private static BigInteger normalize(BigInteger numerator, BigInteger denominator, int digitsExponent) {
+        if (digitsExponent >= 0) {
+            return numerator.multiply(BigInteger.TEN.pow(digitsExponent)).divide(denominator);
+        }
+        return numerator.divide(denominator.multiply(BigInteger.TEN.pow(-digitsExponent)));
+    }
+}
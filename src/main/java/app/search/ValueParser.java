@@ -0,0 +1,163 @@
+package app.search;
+
+import java.math.BigInteger;
+
+/**
+ * Class to read values from the text in one pass. Reads sign, digits, dot and exponent ("1e-3") straight into the
+ * fraction of the value. Zeros at the end of the digits are moved into the exponent, so "1000" becomes 1 * 10^3.
+ * Numbers with the exponent out of {@link #MAX_EXPONENT} are rejected, so the client could not send the number which
+ * makes every next result out of range.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+final class ValueParser {
+
+    /** Maximum number of digits which are accumulated in long. */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /** Maximum absolute value of the exponent of the written number, numbers of units never need bigger ones. */
+    static final long MAX_EXPONENT = 10_000L;
+
+    /** Powers of ten which fit into long. */
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * Class has only static methods.
+     */
+    private ValueParser() {
+    }
+
+    /**
+     * Parses the number written in the text between start and end.
+     * @param text text with the number.
+     * @param start index of the first char of the number.
+     * @param end index after the last char of the number.
+     * @return parsed value.
+     * @throws NumberFormatException if the number is malformed.
+     */
+    static Value parse(CharSequence text, int start, int end) {
+        int position = start;
+        boolean negative = false;
+        if (position < end && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+            negative = text.charAt(position) == '-';
+            position++;
+        }
+        long mantissa = 0;
+        BigInteger bigMantissa = null;
+        int mantissaDigits = 0;
+        long pendingZeros = 0;
+        long exponent = 0;
+        boolean hasDigits = false;
+        boolean afterDot = false;
+        for (; position < end; position++) {
+            char symbol = text.charAt(position);
+            if (symbol == '.') {
+                if (afterDot) {
+                    throw malformed(text, start, end, position);
+                }
+                afterDot = true;
+                continue;
+            }
+            if (symbol < '0' || symbol > '9') {
+                break;
+            }
+            hasDigits = true;
+            if (afterDot) {
+                exponent--;
+            }
+            int digit = symbol - '0';
+            if (digit == 0) {
+                if (mantissaDigits > 0) {
+                    pendingZeros++;
+                }
+                continue;
+            }
+            if (bigMantissa == null && mantissaDigits + pendingZeros + 1 > MAX_LONG_DIGITS) {
+                bigMantissa = BigInteger.valueOf(mantissa);
+            }
+            if (bigMantissa == null) {
+                mantissa = mantissa * POWERS_OF_TEN[(int) pendingZeros + 1] + digit;
+            } else {
+                bigMantissa = bigMantissa.multiply(BigInteger.TEN.pow(Math.toIntExact(pendingZeros + 1)))
+                        .add(BigInteger.valueOf(digit));
+            }
+            mantissaDigits += pendingZeros + 1;
+            pendingZeros = 0;
+        }
+        if (!hasDigits) {
+            throw malformed(text, start, end, position);
+        }
+        if (position < end && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            position++;
+            exponent += parseExponent(text, start, end, position);
+            position = end;
+        }
+        if (position < end) {
+            throw malformed(text, start, end, position);
+        }
+        exponent += pendingZeros;
+        if (mantissaDigits == 0) {
+            exponent = 0;
+        }
+        if (Math.abs(exponent) > MAX_EXPONENT) {
+            throw new NumberFormatException("exponent is out of range in \"" + text.subSequence(start, end) + "\"");
+        }
+        if (bigMantissa == null) {
+            return new Value(negative, mantissa, (int) exponent);
+        }
+        return new Value(negative, bigMantissa, (int) exponent);
+    }
+
+    /**
+     * Parses the exponent which is written after "e".
+     * @param text text with the number.
+     * @param start index of the first char of the number.
+     * @param end index after the last char of the number.
+     * @param position index of the first char of the exponent.
+     * @return exponent.
+     * @throws NumberFormatException if the exponent is malformed.
+     */
+    private static long parseExponent(CharSequence text, int start, int end, int position) {
+        boolean negative = false;
+        if (position < end && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+            negative = text.charAt(position) == '-';
+            position++;
+        }
+        if (position == end) {
+            throw malformed(text, start, end, position);
+        }
+        long exponent = 0;
+        for (; position < end; position++) {
+            char symbol = text.charAt(position);
+            if (symbol < '0' || symbol > '9') {
+                throw malformed(text, start, end, position);
+            }
+            if (exponent <= MAX_EXPONENT) {
+                exponent = exponent * 10 + symbol - '0';
+            }
+        }
+        return negative ? -exponent : exponent;
+    }
+
+    /**
+     * Creates exception for the malformed number.
+     * @param text text with the number.
+     * @param start index of the first char of the number.
+     * @param end index after the last char of the number.
+     * @param position index of the wrong char.
+     * @return exception with the description of the error.
+     */
+    private static NumberFormatException malformed(CharSequence text, int start, int end, int position) {
+        return new NumberFormatException("malformed number \"" + text.subSequence(start, end)
+                + "\" at position " + (position - start + 1));
+    }
+}
@@ -0,0 +1,84 @@
+package app.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs batches of the searchers on virtual threads. Virtual threads exist only since Java 21, so the executor is
+ * found by reflection and the strategy is not supported on older runtimes.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+public class VirtualThreadSearch implements SearchStrategy {
+
+    /** The only instance, it uses the shared executor. */
+    public static final VirtualThreadSearch INSTANCE = new VirtualThreadSearch();
+
+    /** Executor which starts new virtual thread for every task or null if runtime does not have virtual threads. */
+    private static final ExecutorService executor = createExecutor();
+
+    /** Minimum amount of the searchers in one task. */
+    private static final int MIN_BATCH = 64;
+
+    /**
+     * Constructs strategy.
+     */
+    private VirtualThreadSearch() {
+    }
+
+    /**
+     * Checks if runtime has virtual threads.
+     * @return true if virtual threads could be used.
+     */
+    public static boolean isSupported() {
+        return executor != null;
+    }
+
+    /**
+     * Runs batches of the searchers on virtual threads and waits them.
+     * @param searchers searchers of the request.
+     * @throws UnsupportedOperationException if runtime does not have virtual threads.
+     * @throws IllegalStateException if the thread is interrupted while waiting.
+     */
+    @Override
+    public void execute(List<Searcher> searchers) {
+        if (executor == null) {
+            throw new UnsupportedOperationException("virtual threads are not supported");
+        }
+        int batch = Math.max(MIN_BATCH, searchers.size() / Runtime.getRuntime().availableProcessors());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < searchers.size(); from += batch) {
+            List<Searcher> part = searchers.subList(from, Math.min(from + batch, searchers.size()));
+            futures.add(executor.submit(() -> part.forEach(Searcher::run)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("search is interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("search is failed", e.getCause());
+        }
+    }
+
+    /**
+     * Creates executor with virtual threads if runtime has them.
+     * @return executor or null.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test AdminAccess class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class AdminAccessTest {
+
+    /**
+     * Checks that requests to the admin controller need the token and other requests do not.
+     */
+    @Test
+    void tokenTest() throws NoSuchMethodException {
+        AdminAccess access = new AdminAccess("secret");
+        HandlerMethod admin = new HandlerMethod(new AdminController(), "reloadState", String.class);
+        HandlerMethod lifecycle = new HandlerMethod(new LifecycleController(), "live");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(access.preHandle(new MockHttpServletRequest("GET", "/admin/reload"), response, admin));
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/reload");
+        request.addHeader(AdminAccess.TOKEN_HEADER, "wrong");
+        response = new MockHttpServletResponse();
+        assertFalse(access.preHandle(request, response, admin));
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+
+        request = new MockHttpServletRequest("GET", "//admin/reload");
+        request.addHeader(AdminAccess.TOKEN_HEADER, "secret");
+        assertTrue(access.preHandle(request, new MockHttpServletResponse(), admin));
+        assertTrue(access.preHandle(new MockHttpServletRequest("GET", "/live"), new MockHttpServletResponse(),
+                lifecycle));
+    }
+
+    /**
+     * Checks that the admin controller is disabled if the token is not set.
+     */
+    @Test
+    void disabledTest() throws NoSuchMethodException {
+        AdminAccess access = new AdminAccess("");
+        HandlerMethod admin = new HandlerMethod(new AdminController(), "reloadState", String.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/reload");
+        request.addHeader(AdminAccess.TOKEN_HEADER, "");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(access.preHandle(request, response, admin));
+        assertEquals(HttpStatus.FORBIDDEN.value(), response.getStatus());
+    }
+}
@@ -0,0 +1,115 @@
+package app.controller;
+
+import app.holdingUnits.GraphHolder;
+import app.holdingUnits.Preloader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test AdminController class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class AdminControllerTest {
+
+    /**
+     * Requests the reload and waits until it is done. Checks metrics of the reloads.
+     */
+    @Test
+    void reloadTest() throws InterruptedException {
+        GraphHolder.cleanUp();
+        Preloader.preload("target/test-classes/testData.csv");
+        AdminController controller = new AdminController();
+        long reloads = (Long) controller.reloadState(null).getBody().get("reloads");
+        ResponseEntity<Map<String, Object>> response = controller.reload(null);
+        assertTrue(response.getStatusCode() == HttpStatus.ACCEPTED || response.getStatusCode() == HttpStatus.CONFLICT);
+        Map<String, Object> metrics = controller.reloadState(null).getBody();
+        for (int i = 0; i < 200 && (Long) metrics.get("reloads") == reloads; i++) {
+            Thread.sleep(50);
+            metrics = controller.reloadState(null).getBody();
+        }
+        assertEquals(reloads + 1, metrics.get("reloads"));
+        assertEquals(GraphHolder.getRulesVersion(), metrics.get("rulesVersion"));
+        assertTrue((Long) metrics.get("lastDurationMillis") >= 0);
+        assertEquals("1000", new RequestController().convert(Map.of("from", "км", "to", "м")).getBody());
+    }
+
+    /**
+     * Adds and retires rules and checks responses. Checks that rules are not changed without the log and that the
+     * added rule is kept after the reload.
+     */
+    @Test
+    void rulesTest(@TempDir Path directory) throws IOException {
+        GraphHolder.cleanUp();
+        Preloader.preload("target/test-classes/testData.csv");
+        AdminController controller = new AdminController();
+        assertEquals(HttpStatus.CONFLICT, controller.addRule(null, "миля,км,1.609344").getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, controller.retireRule(null, "км", "м").getStatusCode());
+
+        Path path = directory.resolve("testData.csv");
+        Files.copy(Paths.get("target/test-classes/testData.csv"), path);
+        System.setProperty("rules.log.enabled", "true");
+        try {
+            GraphHolder.cleanUp();
+            Preloader.preload(path.toString());
+            ResponseEntity<Map<String, Object>> response = controller.addRule(null, "миля,км,1.609344\n");
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("MERGED", response.getBody().get("result"));
+            assertEquals(List.of("миля"), response.getBody().get("createdUnits"));
+            RequestController requestController = new RequestController();
+            assertEquals("1609.344", requestController.convert(Map.of("from", "миля", "to", "м")).getBody());
+            assertEquals(HttpStatus.BAD_REQUEST, controller.addRule(null, "миля,км").getStatusCode());
+            assertTrue(GraphHolder.getDefault().getReloader().reload());
+            assertEquals("1609.344", requestController.convert(Map.of("from", "миля", "to", "м")).getBody());
+
+            response = controller.retireRule(null, "км", "миля");
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("SPLIT", response.getBody().get("result"));
+            assertEquals(HttpStatus.NOT_FOUND,
+                    requestController.convert(Map.of("from", "миля", "to", "м")).getStatusCode());
+            assertEquals(HttpStatus.NOT_FOUND, controller.retireRule(null, "км", "миля").getStatusCode());
+        } finally {
+            System.clearProperty("rules.log.enabled");
+            GraphHolder.cleanUp();
+        }
+    }
+
+    /**
+     * Loads the namespace from the directory of the namespaces and checks that files out of it are refused.
+     */
+    @Test
+    void loadNamespaceTest() {
+        AdminController controller = new AdminController();
+        assertEquals(HttpStatus.FORBIDDEN, controller.loadNamespace("files", "testData.csv", "RULES").getStatusCode());
+        System.setProperty(AdminController.NAMESPACES_DIR_PROPERTY, "target/test-classes");
+        try {
+            assertEquals(HttpStatus.FORBIDDEN,
+                    controller.loadNamespace("files", "../../pom.xml", "RULES").getStatusCode());
+            assertEquals(HttpStatus.FORBIDDEN,
+                    controller.loadNamespace("files", new File("pom.xml").getAbsolutePath(), "RULES").getStatusCode());
+            assertEquals(HttpStatus.BAD_REQUEST,
+                    controller.loadNamespace("files", "missing.csv", "RULES").getStatusCode());
+            assertNull(GraphHolder.getNamespace("files"));
+            ResponseEntity<Map<String, Object>> response = controller.loadNamespace("files", "testData.csv", "RULES");
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(true, response.getBody().get("ready"));
+        } finally {
+            System.clearProperty(AdminController.NAMESPACES_DIR_PROPERTY);
+            GraphHolder.removeNamespace("files");
+        }
+    }
+}
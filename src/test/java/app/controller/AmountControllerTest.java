@@ -0,0 +1,85 @@
+package app.controller;
+
+import app.holdingUnits.GraphHolder;
+import app.holdingUnits.Preloader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test AmountController class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class AmountControllerTest {
+
+    /** Reads bodies of the requests. */
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * preloads data for test.
+     */
+    public AmountControllerTest() {
+        GraphHolder.cleanUp();
+        Preloader.preload("target/test-classes/testData.csv");
+    }
+
+    /**
+     * converts amounts as doubles and as exact numbers.
+     * @throws Exception if body could not be read.
+     */
+    @Test
+    void jsonTest() throws Exception {
+        AmountController controller = new AmountController();
+        JsonNode body = mapper.readTree("{\"from\": \"км\", \"to\": \"м\", \"amounts\": [1.5, 2, -3]}");
+        ResponseEntity<Map<String, Object>> response = controller.convertAmounts(null, null, body);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(new double[] {1500, 2000, -3000}, (double[]) response.getBody().get("amounts"));
+
+        body = mapper.readTree("{\"from\": \"час\", \"to\": \"мин\", \"exact\": true,"
+                + " \"amounts\": [\"0.1\", 12345678901234567890]}");
+        response = controller.convertAmounts(null, null, body);
+        assertArrayEquals(new String[] {"6", "740740734074074000000"}, (String[]) response.getBody().get("amounts"));
+
+        body = mapper.readTree("{\"from\": \"км\", \"to\": \"м\", \"amounts\": [\"x\"]}");
+        assertEquals(HttpStatus.BAD_REQUEST, controller.convertAmounts(null, null, body).getStatusCode());
+        body = mapper.readTree("{\"from\": \"км\", \"to\": \"м\", \"exact\": true, \"amounts\": [\"1e999999999\"]}");
+        assertEquals(HttpStatus.BAD_REQUEST, controller.convertAmounts(null, null, body).getStatusCode());
+        body = mapper.readTree("{\"from\": \"км\", \"to\": \"м\", \"exact\": true, \"amounts\": [\"2e9000\"]}");
+        response = controller.convertAmounts(null, null, body);
+        assertArrayEquals(new String[] {"2e9003"}, (String[]) response.getBody().get("amounts"));
+        JsonNode notFound = mapper.readTree("{\"from\": \"км\", \"to\": \"час\", \"amounts\": [1]}");
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> controller.convertAmounts(null, null, notFound));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    /**
+     * converts the binary column of doubles.
+     */
+    @Test
+    void binaryTest() {
+        AmountController controller = new AmountController();
+        ByteBuffer column = ByteBuffer.allocate(3 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        column.putDouble(1).putDouble(0.5).putDouble(-2);
+        ResponseEntity<byte[]> response = controller.convertBinaryAmounts(null, null, "м", "см", column.array());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ByteBuffer result = ByteBuffer.wrap(response.getBody()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(100, result.getDouble());
+        assertEquals(50, result.getDouble());
+        assertEquals(-200, result.getDouble());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.convertBinaryAmounts(null, null, "м", "см", new byte[3]).getStatusCode());
+    }
+}
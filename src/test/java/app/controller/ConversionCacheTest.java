@@ -0,0 +1,95 @@
+package app.controller;
+
+import app.holdingUnits.GraphHolder;
+import app.search.Value;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test ConversionCache class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class ConversionCacheTest {
+
+    /**
+     * caches conversion and finds it by the expressions with other spaces.
+     */
+    @Test
+    void hitTest() {
+        ConversionCache cache = new ConversionCache(32);
+        long version = GraphHolder.getRulesVersion();
+        assertNull(cache.get("км / час", "м / с"));
+        ConversionResult result = new ConversionResult(new Value("3.6"));
+        cache.put("км / час", "м / с", result, version);
+        assertSame(result, cache.get("км/час", " м /с "));
+        assertNull(cache.get("км/час", "м"));
+        assertNull(cache.get("км/час", "1/с*м"));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.size());
+        assertEquals("3.6", result.getResult());
+    }
+
+    /**
+     * checks that the size of the cache is bounded.
+     */
+    @Test
+    void evictionTest() {
+        ConversionCache cache = new ConversionCache(32);
+        long version = GraphHolder.getRulesVersion();
+        for (int i = 0; i < 1000; i++) {
+            cache.put("unit" + i, "м", new ConversionResult(new Value()), version);
+        }
+        assertTrue(cache.size() <= 32);
+        assertEquals(1000 - cache.size(), cache.getEvictions());
+        assertNotNull(cache.get("unit999", "м"));
+    }
+
+    /**
+     * checks that the cache is cleared when the rules are changed.
+     */
+    @Test
+    void invalidationTest() {
+        ConversionCache cache = new ConversionCache(32);
+        long version = GraphHolder.getRulesVersion();
+        cache.put("км", "м", new ConversionResult(new Value("1000")), version);
+        GraphHolder.cleanUp();
+        assertNull(cache.get("км", "м"));
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(0, cache.size());
+        cache.put("км", "м", new ConversionResult(new Value("1000")), version);
+        assertNull(cache.get("км", "м"));
+    }
+
+    /**
+     * checks that the version of the rules which was read before the newer one does not move the cache back.
+     */
+    @Test
+    void staleVersionTest() {
+        ConversionCache cache = new ConversionCache(32);
+        long version = GraphHolder.getRulesVersion();
+        cache.checkVersion(version + 1);
+        ConversionResult result = new ConversionResult(new Value("1000"));
+        cache.put("км", "м", result, version + 1);
+        assertSame(result, cache.get("км", "м"));
+        cache.put("км", "см", new ConversionResult(new Value("100000")), version);
+        assertNull(cache.get("км", "см"));
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * checks that nothing is cached if the size is 0.
+     */
+    @Test
+    void disabledTest() {
+        ConversionCache cache = new ConversionCache(0);
+        cache.put("км", "м", new ConversionResult(new Value("1000")), GraphHolder.getRulesVersion());
+        assertNull(cache.get("км", "м"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,70 @@
+package app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test ConvertRequestConverter class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class ConvertRequestConverterTest {
+
+    /**
+     * Reads the body with the converter.
+     * @param body text of the body.
+     * @return read body.
+     * @throws IOException if body could not be read.
+     */
+    private static ConvertRequest read(String body) throws IOException {
+        MockHttpInputMessage message = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+        return new ConvertRequestConverter().read(ConvertRequest.class, message);
+    }
+
+    /**
+     * reads "from" and "to" and skips other fields.
+     */
+    @Test
+    void readTest() throws IOException {
+        ConvertRequest request = read("{\"extra\": {\"from\": \"с\"}, \"from\": \"км / час\", \"list\": [1, 2],"
+                + " \"to\": \"м / с\", \"n\": 1.5}");
+        assertEquals("км / час", request.getFrom());
+        assertEquals("м / с", request.getTo());
+
+        request = read("{\"from\": 1, \"to\": null}");
+        assertNull(request.getFrom());
+        assertNull(request.getTo());
+    }
+
+    /**
+     * checks that malformed bodies are not read.
+     */
+    @Test
+    void malformedTest() {
+        assertThrows(HttpMessageNotReadableException.class, () -> read("[\"км\"]"));
+        assertThrows(HttpMessageNotReadableException.class, () -> read("{\"from\": \"км\""));
+        assertThrows(HttpMessageNotReadableException.class, () -> read("{\"from\" \"км\"}"));
+        assertThrows(HttpMessageNotReadableException.class, () -> read(""));
+    }
+
+    /**
+     * checks which classes and types are supported.
+     */
+    @Test
+    void supportsTest() {
+        ConvertRequestConverter converter = new ConvertRequestConverter();
+        assertTrue(converter.canRead(ConvertRequest.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(String.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(ConvertRequest.class, MediaType.TEXT_PLAIN));
+        assertFalse(converter.canWrite(ConvertRequest.class, MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,89 @@
+package app.controller;
+
+import app.holdingUnits.GraphHolder;
+import app.holdingUnits.Preloader;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test LifecycleController class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class LifecycleControllerTest {
+
+    /**
+     * Preloads units and checks that server is live and ready.
+     */
+    @Test
+    void readyTest() {
+        GraphHolder.cleanUp();
+        Preloader.preload("target/test-classes/testData.csv");
+        LifecycleController controller = new LifecycleController();
+        assertEquals(HttpStatus.OK, controller.live().getStatusCode());
+        assertTrue(Preloader.isReady());
+        assertEquals(HttpStatus.OK, controller.ready().getStatusCode());
+    }
+
+    /**
+     * Checks readiness of the namespace which is chosen by the header.
+     */
+    @Test
+    void namespaceReadyTest() {
+        LifecycleController controller = new LifecycleController();
+        GraphHolder.createNamespace("lifecycle-test");
+        try {
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, controller.ready("lifecycle-test").getStatusCode());
+        } finally {
+            GraphHolder.removeNamespace("lifecycle-test");
+        }
+        assertThrows(ResponseStatusException.class, () -> controller.ready("lifecycle-test"));
+    }
+
+    /**
+     * Checks the response for the requests which came before units are preloaded.
+     */
+    @Test
+    void notReadyTest() {
+        ResponseEntity<String> response = LifecycleController.notReady();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNull(response.getBody());
+    }
+
+    /**
+     * Checks counters of the cache of the conversions.
+     */
+    @Test
+    void cacheTest() {
+        GraphHolder.cleanUp();
+        Preloader.preload("target/test-classes/testData.csv");
+        Map<String, String> body = new HashMap<>();
+        body.put("from", "км");
+        body.put("to", "м");
+        long hits = ConversionCache.get().getHits();
+        RequestController requestController = new RequestController();
+        assertEquals("1000", requestController.convert(body).getBody());
+        assertEquals("1000", requestController.convert(body).getBody());
+        body.put("to", "с");
+        long rejectedHits = ConversionCache.rejected().getHits();
+        assertEquals(404, requestController.convert(body).getStatusCodeValue());
+        assertEquals(404, requestController.convert(body).getStatusCodeValue());
+        Map<String, Map<String, Long>> caches = new LifecycleController().cache(null).getBody();
+        assertNotNull(caches);
+        assertEquals(hits + 1, caches.get("results").get("hits"));
+        assertEquals(1, caches.get("results").get("size"));
+        assertEquals(rejectedHits + 1, caches.get("rejected").get("hits"));
+        assertEquals(1, caches.get("rejected").get("size"));
+    }
+}
@@ -1,10 +1,22 @@
 package app.controller;
 
 import app.holdingUnits.GraphHolder;
+import app.holdingUnits.Namespace;
 import app.holdingUnits.Preloader;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -151,6 +163,35 @@ class RequestControllerTest {
         assertEquals("1", result);
     }
 
+    /**
+     * searches converting rules of the expressions with exponents and parentheses.
+     */
+    @Test
+    void convertWithExponents() {
+        RequestController controller = new RequestController();
+        HashMap<String, String> startData = new HashMap<>();
+
+        startData.put("from", "км^2");
+        startData.put("to", "м^2");
+        assertEquals("1000000", controller.convert(startData).getBody());
+
+        startData.put("from", "м^3 / с^2");
+        startData.put("to", "(см / мин)^2 * см");
+        assertEquals("3600000000", controller.convert(startData).getBody());
+
+        startData.put("from", "м / с / с");
+        startData.put("to", "м * с^-2");
+        assertEquals("1", controller.convert(startData).getBody());
+
+        startData.put("from", "км^2");
+        startData.put("to", "м^3");
+        assertEquals(404, controller.convert(startData).getStatusCodeValue());
+
+        startData.put("from", "км^");
+        startData.put("to", "м");
+        assertEquals(400, controller.convert(startData).getStatusCodeValue());
+    }
+
     /**
      * checks some cases when answer is "404 NOT FOUND"
      */
@@ -238,4 +279,74 @@ class RequestControllerTest {
         result = controller.convert(startData).getStatusCodeValue();
         assertEquals(expectedResult, result);
     }
-}
\ No newline at end of file
+
+    /**
+     * converts the batch with correct, not found and bad items and compares every item with the single conversion.
+     */
+    @Test
+    public void batchTest() {
+        RequestController controller = new RequestController();
+        String[][] pairs = {
+                {"км", "м"},
+                {"м * кг / мин * мин", "км * г / с * час"},
+                {"км", "м"},
+                {"мин", "км"},
+                {"км", "нет такой"},
+                {"1 / с", "1 / час"},
+                {"м", null}
+        };
+        List<Map<String, String>> body = new ArrayList<>();
+        for (String[] pair : pairs) {
+            HashMap<String, String> item = new HashMap<>();
+            item.put("from", pair[0]);
+            item.put("to", pair[1]);
+            body.add(item);
+        }
+        List<ConversionResult> results = controller.convertBatch(null, null, body).getBody();
+        assertNotNull(results);
+        assertEquals(pairs.length, results.size());
+        for (int i = 0; i < pairs.length; i++) {
+            ResponseEntity<String> single = controller.convert(body.get(i));
+            assertEquals(single.getStatusCodeValue(), results.get(i).getStatus());
+            assertEquals(single.getBody(), results.get(i).getResult());
+        }
+        assertEquals("1000", results.get(0).getResult());
+        assertEquals(404, results.get(3).getStatus());
+        assertEquals(400, results.get(4).getStatus());
+        assertEquals(400, results.get(6).getStatus());
+    }
+
+    /**
+     * Converts with the namespace from the path and from the header. Checks that units of the namespace are used,
+     * that the path wins over the header, that the caches of the namespaces are separate and that the unknown
+     * namespace is answered with 404 status.
+     */
+    @Test
+    public void namespaceTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "км,м,10\n".getBytes(StandardCharsets.UTF_8));
+        Namespace namespace = GraphHolder.createNamespace("tenant");
+        try {
+            RequestController controller = new RequestController();
+            ConvertRequest request = new ConvertRequest("км", "м");
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, controller.convert("tenant", null, request).getStatusCode());
+            Preloader.preload(namespace, path.toString(), Preloader.Mode.RULES);
+
+            assertEquals("1000", controller.convert(null, null, request).getBody());
+            assertEquals("10", controller.convert("tenant", null, request).getBody());
+            assertEquals("10", controller.convert(null, "tenant", request).getBody());
+            assertEquals("1000", controller.convert("default", "tenant", request).getBody());
+            assertEquals(HttpStatus.BAD_REQUEST,
+                    controller.convert("tenant", null, new ConvertRequest("км", "см")).getStatusCode());
+            assertEquals(1, ConversionCache.get(namespace).size());
+            assertEquals(1, ConversionCache.rejected(namespace).size());
+
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> controller.convert("unknown", null, request));
+            assertEquals(HttpStatus.NOT_FOUND, e.getStatus());
+        } finally {
+            GraphHolder.removeNamespace("tenant");
+            ConversionCache.remove(namespace);
+        }
+    }
+}
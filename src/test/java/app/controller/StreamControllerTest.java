@@ -0,0 +1,63 @@
+package app.controller;
+
+import app.holdingUnits.GraphHolder;
+import app.holdingUnits.Preloader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test StreamController class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class StreamControllerTest {
+
+    /**
+     * preloads data for test.
+     */
+    public StreamControllerTest() {
+        GraphHolder.cleanUp();
+        Preloader.preload("target/test-classes/testData.csv");
+    }
+
+    /**
+     * converts the stream with repeated and changed units, wrong records and values. Checks results line by line.
+     * @throws IOException never, streams are in memory.
+     */
+    @Test
+    void convertStreamTest() throws IOException {
+        String input = "{\"value\": 2, \"from\": \"км\", \"to\": \"м\"}\n"
+                + "{\"value\": \"0.5\", \"from\": \"км\", \"to\": \"м\"}\n"
+                + "{\"value\": 12345678901234567890.5, \"from\": \"км\", \"to\": \"м\"}\n"
+                + "\n"
+                + "{\"value\": 3, \"from\": \"час\", \"to\": \"мин\"}\n"
+                + "{\"value\": 3, \"from\": \"час\", \"to\": \"км\"}\n"
+                + "{\"value\": 3, \"from\": \"нет\", \"to\": \"км\"}\n"
+                + "{\"value\": \"три\", \"from\": \"км\", \"to\": \"м\"}\n"
+                + "{\"from\": \"км\", \"to\": \"м\"}\n"
+                + "not a json\n"
+                + "{\"value\": 1, \"from\": \"1 / с\", \"to\": \"1 / час\"}";
+        StringWriter output = new StringWriter();
+        assertEquals(10, StreamController.convertStream(new StringReader(input), output));
+        String[] expected = {
+                "{\"status\":200,\"value\":\"2000\"}",
+                "{\"status\":200,\"value\":\"500\"}",
+                "{\"status\":200,\"value\":\"12345678901234560000000\"}",
+                "{\"status\":200,\"value\":\"180\"}",
+                "{\"status\":404}",
+                "{\"status\":400}",
+                "{\"status\":400}",
+                "{\"status\":400}",
+                "{\"status\":400}",
+                "{\"status\":200,\"value\":\"3600\"}"
+        };
+        assertArrayEquals(expected, output.toString().split("\n"));
+    }
+}
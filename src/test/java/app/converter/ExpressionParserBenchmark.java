@@ -0,0 +1,93 @@
+package app.converter;
+
+import app.holdingUnits.containers.UnitTable;
+import app.search.Value;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the parse stage of the request: "from" and "to" are read into the ids of the units without searching
+ * the converting rules. Run it after "mvn test-compile" by the main method with the test classpath.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionParserBenchmark {
+
+    /** Amount of the units in each of the numerators and denominators. */
+    @Param({"1", "4", "16"})
+    public int unitCount;
+
+    /** Table with the units. */
+    private UnitTable units;
+
+    /** Expression from which converts. */
+    private String from;
+
+    /** Expression to which converts. */
+    private String to;
+
+    /**
+     * Builds the units and the expressions.
+     */
+    @Setup
+    public void setUp() {
+        units = new UnitTable();
+        int amount = 1024;
+        for (int i = 0; i < amount; i++) {
+            units.createUnit("единица" + i);
+        }
+        for (int i = 0; i + 1 < amount; i++) {
+            units.addRule(i, i + 1, new Value("1000"));
+        }
+        from = expression(0);
+        to = expression(amount / 2);
+    }
+
+    /**
+     * Builds expression "a * b * ... / c * d * ...".
+     * @param first id of the first unit.
+     * @return expression.
+     */
+    private String expression(int first) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 2 * unitCount; i++) {
+            if (i > 0) {
+                builder.append(i == unitCount ? " / " : " * ");
+            }
+            builder.append(units.getName(first + i));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parses "from" and "to" of one request.
+     * @return amount of the units.
+     */
+    @Benchmark
+    public int parse() {
+        ExpressionParser parser = ExpressionParser.get();
+        parser.parse(units, from, to);
+        return parser.size();
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args not used.
+     * @throws RunnerException if benchmark is failed.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExpressionParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,166 @@
+package app.converter;
+
+import app.holdingUnits.containers.NameFilter;
+import app.holdingUnits.containers.UnitTable;
+import app.search.Value;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test ExpressionParser class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class ExpressionParserTest {
+
+    /** Units for the tests. */
+    private final UnitTable units = new UnitTable();
+
+    /**
+     * creates units for the tests.
+     */
+    public ExpressionParserTest() {
+        units.createUnit("км");
+        units.createUnit("м");
+        units.createUnit("час");
+        units.createUnit("с");
+        units.addRule(0, 1, new Value("1000"));
+        units.addRule(2, 3, new Value("3600"));
+    }
+
+    /**
+     * Checks the canonical vector of the parser.
+     * @param parser parser after parsing.
+     * @param expected pairs of the id and the exponent, sorted by the ids.
+     */
+    private static void assertVector(ExpressionParser parser, int... expected) {
+        assertEquals(expected.length / 2, parser.size());
+        for (int i = 0; i < parser.size(); i++) {
+            assertEquals(expected[2 * i], parser.getId(i));
+            assertEquals(expected[2 * i + 1], parser.getExponent(i));
+        }
+    }
+
+    /**
+     * checks ids and exponents of the units of "from / to".
+     */
+    @Test
+    void parseTest() {
+        ExpressionParser parser = ExpressionParser.get();
+        assertTrue(parser.parse(units, "км / час", " м*с / с "));
+        assertVector(parser, 0, 1, 1, -1, 2, -1);
+
+        assertTrue(parser.parse(units, "1 / с", "1/ час"));
+        assertVector(parser, 2, 1, 3, -1);
+
+        assertTrue(parser.parse(units, "", "м"));
+        assertVector(parser, 1, -1);
+
+        assertTrue(parser.parse(units, "км ^ 3 / (м * с^2)^2", "м^-1"));
+        assertVector(parser, 0, 3, 1, -1, 3, -4);
+
+        assertTrue(parser.parse(units, "км / час / с", "1 * м"));
+        assertVector(parser, 0, 1, 1, -1, 2, -1, 3, -1);
+
+        assertTrue(parser.parse(units, "м / м", ""));
+        assertVector(parser);
+    }
+
+    /**
+     * checks malformed expressions and unknown units.
+     */
+    @Test
+    void malformedTest() {
+        ExpressionParser parser = ExpressionParser.get();
+        assertFalse(parser.parse(units, "", ""));
+        assertFalse(parser.parse(units, "1", " "));
+        assertFalse(parser.parse(units, "км /", "м"));
+        assertFalse(parser.parse(units, "/", "м"));
+        assertFalse(parser.parse(units, "км * * м", "м"));
+        assertFalse(parser.parse(units, "км", "мм"));
+        assertFalse(parser.parse(units, "км^", "м"));
+        assertFalse(parser.parse(units, "км^2^2", "м"));
+        assertFalse(parser.parse(units, "(км", "м"));
+        assertFalse(parser.parse(units, "км)", "м"));
+        assertFalse(parser.parse(units, "()", "м"));
+        assertFalse(parser.parse(units, "км^1001", "м"));
+        assertFalse(parser.parse(units, "(км^100)^11", "м"));
+        assertFalse(parser.parse(units, "км^1000 * км", "м"));
+        StringBuilder deep = new StringBuilder();
+        for (int i = 0; i <= ExpressionParser.MAX_DEPTH; i++) {
+            deep.append('(');
+        }
+        deep.append("км");
+        for (int i = 0; i <= ExpressionParser.MAX_DEPTH; i++) {
+            deep.append(')');
+        }
+        assertFalse(parser.parse(units, deep, "м"));
+    }
+
+    /**
+     * checks that names which do not pass the filter are unknown.
+     */
+    @Test
+    void filterTest() {
+        ExpressionParser parser = ExpressionParser.get();
+        NameFilter filter = new NameFilter(4);
+        filter.add("м");
+        filter.add("км");
+        assertTrue(parser.parse(units, filter, "км", "м"));
+        assertFalse(parser.parse(units, filter, "час", "с"));
+        assertTrue(parser.parse(units, null, "час", "с"));
+    }
+
+    /**
+     * checks matching of the units by the histograms of their components.
+     */
+    @Test
+    void matchTest() {
+        ExpressionParser parser = ExpressionParser.get();
+        assertTrue(parser.parse(units, "км * час / с", "с * м"));
+        assertFalse(parser.match(units));
+
+        assertTrue(parser.parse(units, "км * с / м", "час * м / м"));
+        assertTrue(parser.match(units));
+        assertEquals(2, parser.getPairCount());
+        int kilometre = parser.getStartId(0) == 0 ? 0 : 1;
+        assertEquals(0, parser.getStartId(kilometre));
+        assertEquals(1, parser.getEndId(kilometre));
+        assertEquals(3, parser.getStartId(1 - kilometre));
+        assertEquals(2, parser.getEndId(1 - kilometre));
+
+        assertTrue(parser.parse(units, "м / с", "м / с"));
+        assertTrue(parser.match(units));
+        assertEquals(0, parser.getPairCount());
+
+        assertTrue(parser.parse(units, "км^2 * м", "м^3"));
+        assertTrue(parser.match(units));
+        assertEquals(1, parser.getPairCount());
+        assertEquals(0, parser.getStartId(0));
+        assertEquals(1, parser.getEndId(0));
+        assertEquals(2, parser.getPower(0));
+
+        assertTrue(parser.parse(units, "км * км^2 * м^-1", "м * м"));
+        assertTrue(parser.match(units));
+        assertEquals(1, parser.getPairCount());
+        assertEquals(3, parser.getPower(0));
+    }
+
+    /**
+     * checks names which are longer then the buffer of the parser.
+     */
+    @Test
+    void longNameTest() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            name.append('ю');
+        }
+        int id = units.createUnit(name.toString());
+        ExpressionParser parser = ExpressionParser.get();
+        assertTrue(parser.parse(units, name, "м"));
+        assertVector(parser, 1, -1, id, 1);
+    }
+}
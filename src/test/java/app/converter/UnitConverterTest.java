@@ -0,0 +1,119 @@
+package app.converter;
+
+import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitTable;
+import app.search.Value;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test UnitConverter class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class UnitConverterTest {
+
+    /**
+     * Builds converter from the file and converts units. Checks the factor as the value and as the double and the
+     * statuses of the conversions which could not be done.
+     */
+    @Test
+    public void convertTest() throws IOException {
+        UnitConverter converter = UnitConverter.fromRules(Paths.get("target/test-classes/testData.csv"));
+        Conversion conversion = converter.convert("км", "м");
+        assertTrue(conversion.isConverted());
+        assertEquals("1000", conversion.getValue().toString());
+        assertEquals(1000.0, conversion.doubleValue());
+        conversion.getValue().multiply(conversion.getValue());
+        assertEquals("1000", conversion.toString());
+
+        assertEquals(Conversion.Status.NOT_CONVERTIBLE, converter.convert("мин", "км").getStatus());
+        assertEquals(Conversion.Status.MALFORMED, converter.convert("км", "нет такой").getStatus());
+        assertEquals(Conversion.Status.MALFORMED, converter.convert("км", null).getStatus());
+        assertNull(converter.convert("км", null).getValue());
+        assertTrue(Double.isNaN(converter.convert("мин", "км").doubleValue()));
+
+        Conversion[] conversions = converter.convertAll(new String[]{"км", "мин", "км", null},
+                new String[]{"м", "км", "м", "м"});
+        assertEquals("1000", conversions[0].toString());
+        assertEquals(Conversion.Status.NOT_CONVERTIBLE, conversions[1].getStatus());
+        assertEquals("1000", conversions[2].toString());
+        assertEquals(Conversion.Status.MALFORMED, conversions[3].getStatus());
+        assertThrows(IllegalArgumentException.class, () -> converter.convertAll(new String[1], new String[2]));
+    }
+
+    /**
+     * Builds two converters from the streams with different rules. Checks that they do not see each other's units
+     * and do not change units of the server.
+     */
+    @Test
+    public void isolationTest() throws IOException {
+        UnitConverter first = UnitConverter.fromRules(
+                new ByteArrayInputStream("лига,миля,3\n".getBytes(StandardCharsets.UTF_8)));
+        UnitConverter second = UnitConverter.fromRules(new ByteArrayInputStream(
+                "лига,миля,4\nмиля,ярд,1760\n".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("3", first.convert("лига", "миля").toString());
+        assertEquals("7040", second.convert("лига", "ярд").toString());
+        assertEquals(Conversion.Status.MALFORMED, first.convert("лига", "ярд").getStatus());
+        assertEquals(2, first.getUnits().size());
+        assertFalse(Node.checkExistence("лига"));
+    }
+
+    /**
+     * Builds converter from the table. Checks that it takes the snapshot and does not see later changes of the table.
+     */
+    @Test
+    public void tableTest() {
+        UnitTable table = new UnitTable();
+        table.addRule(table.createUnit("лига"), table.createUnit("миля"), new Value("3"));
+        UnitConverter converter = UnitConverter.of(table);
+        assertNotSame(table, converter.getUnits());
+        table.addRule(table.findId("миля"), table.createUnit("ярд"), new Value("1760"));
+        assertEquals("3", converter.convert("лига", "миля").toString());
+        assertEquals(Conversion.Status.MALFORMED, converter.convert("лига", "ярд").getStatus());
+    }
+
+    /**
+     * Converts units from many threads at once with one converter. Checks that every thread gets the right factors.
+     */
+    @Test
+    public void concurrencyTest() throws Exception {
+        UnitConverter converter = UnitConverter.fromRules(Paths.get("target/test-classes/testData.csv"));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 100; j++) {
+                        if (converter.convert("км", "м").doubleValue() != 1000.0
+                                || converter.convert("мин", "км").isConverted()) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } catch (ExecutionException e) {
+            fail(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
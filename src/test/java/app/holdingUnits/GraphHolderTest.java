@@ -1,8 +1,16 @@
 package app.holdingUnits;
 
+import app.holdingUnits.containers.NameFilter;
 import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitIndex;
+import app.holdingUnits.containers.UnitTable;
+import app.search.Value;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -14,6 +22,103 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class GraphHolderTest {
 
+    /**
+     * Checks that the filter of the names is built by the preloading, gets new units and is removed by the clean up.
+     */
+    @Test
+    public void nameFilterTest() {
+        GraphHolder.cleanUp();
+        assertNull(GraphHolder.getNameFilter(GraphHolder.getIndex()));
+        Preloader.preload("target/test-classes/testData.csv");
+        NameFilter filter = GraphHolder.getNameFilter(GraphHolder.getIndex());
+        assertNotNull(filter);
+        assertTrue(filter.mightContain("км"));
+        assertNull(GraphHolder.getNameFilter(new UnitTable()));
+        GraphHolder.parseLine("новая,км,1");
+        assertTrue(filter.mightContain("новая"));
+        long version = GraphHolder.getRulesVersion();
+        GraphHolder.parseLine("км,м,1000");
+        assertEquals(version, GraphHolder.getRulesVersion());
+        GraphHolder.cleanUp();
+        assertNull(GraphHolder.getNameFilter(GraphHolder.getIndex()));
+        assertNotEquals(version, GraphHolder.getRulesVersion());
+    }
+
+    /**
+     * Reads units in many threads while rules are added. Every read snapshot should have all units of the chain
+     * connected with the right rules up to the last added unit.
+     */
+    @Test
+    public void concurrentReadTest() throws InterruptedException {
+        GraphHolder.cleanUp();
+        GraphHolder.parseLine("u0,u1,10");
+        int ruleCount = 2000;
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        UnitIndex units = GraphHolder.getIndex();
+                        int last = units.size() - 1;
+                        int first = units.findId("u0");
+                        int lastId = units.findId("u" + last);
+                        assertEquals(units.findComponent(first), units.findComponent(lastId));
+                        Value rule = units.findConverting(first, lastId);
+                        Value power = new Value("10");
+                        power.pow(last);
+                        assertEquals(power.toString(), rule.toString());
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            readers[r].start();
+        }
+        for (int i = 1; i < ruleCount; i++) {
+            GraphHolder.parseLine("u" + i + ",u" + (i + 1) + ",10");
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertEquals(ruleCount + 1, GraphHolder.getIndex().size());
+    }
+
+    /**
+     * Adds and retires rules at runtime and checks reports and units which are published for readers.
+     */
+    @Test
+    public void ruleChangeTest() {
+        GraphHolder.cleanUp();
+        GraphHolder.addRule("км,м,1000");
+        UnitIndex old = GraphHolder.getIndex();
+
+        RuleChange change = GraphHolder.addRule("м,см,100");
+        assertEquals(RuleChange.Result.MERGED, change.getResult());
+        assertEquals(Collections.singletonList("см"), change.getCreatedUnits());
+        assertEquals(GraphHolder.getRulesVersion(), change.getRulesVersion());
+        change = GraphHolder.addRule("км, см, 100000");
+        assertEquals(RuleChange.Result.REDUNDANT, change.getResult());
+        assertTrue(change.getCreatedUnits().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> GraphHolder.addRule("км,см"));
+
+        UnitIndex units = GraphHolder.getIndex();
+        assertEquals(-1, old.findId("см"));
+        assertEquals("100000", units.findConverting(units.findId("км"), units.findId("см")).toString());
+
+        assertEquals(RuleChange.Result.RETIRED, GraphHolder.retireRule("см", "м").getResult());
+        assertEquals(RuleChange.Result.SPLIT, GraphHolder.retireRule("км", "см").getResult());
+        assertEquals(RuleChange.Result.NOT_FOUND, GraphHolder.retireRule("км", "см").getResult());
+        assertEquals(RuleChange.Result.NOT_FOUND, GraphHolder.retireRule("км", "мм").getResult());
+        units = GraphHolder.getIndex();
+        assertEquals(2, units.getComponentCount());
+        assertNotEquals(units.findComponent(units.findId("км")), units.findComponent(units.findId("см")));
+        assertEquals("1000", units.findConverting(units.findId("км"), units.findId("м")).toString());
+    }
+
     /**
      * Checks the existing of nodes which able to convert from one to other in one graph.
      */
@@ -48,6 +153,40 @@ class GraphHolderTest {
         assertEquals(graphHolderEmptySize, GraphHolder.getGraphHolderSize());
     }
 
+    /**
+     * Parses rules which connect two existing graphs. Checks the number of graphs and converting rules between units
+     * which were in the different graphs.
+     */
+    @Test
+    public void connectingTest() {
+        GraphHolder.cleanUp();
+        GraphHolder.parseLine("a,b,2");
+        GraphHolder.parseLine("c,d,3");
+        GraphHolder.parseLine("e,f,7");
+        assertEquals(3, GraphHolder.getGraphHolderSize());
+        GraphHolder.parseLine("b,c,5");
+        GraphHolder.parseLine("f,a,0.5");
+        assertEquals(1, GraphHolder.getGraphHolderSize());
+        assertEquals("30", Node.getGraph("a").findConverting("a", "d").toString());
+        assertEquals("105", Node.getGraph("e").findConverting("e", "d").toString());
+        assertEquals(6, Node.getGraph("d").getGraphSize());
+    }
+
+    /**
+     * Parses malformed lines. Checks that they are skipped and the next lines are parsed.
+     */
+    @Test
+    public void malformedLinesTest() {
+        GraphHolder.cleanUp();
+        GraphHolder.parseLine("км,м", 1);
+        GraphHolder.parseLine("км,м,1o00", 2);
+        GraphHolder.parseLine("км,м,0", 3);
+        assertFalse(Node.checkExistence("км"));
+        GraphHolder.parseLine("км,м,1e3", 4);
+        assertTrue(Node.checkExistence("км"));
+        assertEquals("1000", Node.getGraph("км").findConverting("км", "м").toString());
+    }
+
     /**
      * preloads some converting rules.
      */
@@ -0,0 +1,45 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.UnitTable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test NameInterner class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class NameInternerTest {
+
+    /**
+     * Interns many names from the parts of the arrays. Checks that the same bytes give the same unit and that units
+     * which already exist are found.
+     */
+    @Test
+    public void internTest() {
+        UnitTable units = new UnitTable();
+        int existing = units.createUnit("метр");
+        NameInterner names = new NameInterner(units);
+        byte[] metre = ",метр,".getBytes(StandardCharsets.UTF_8);
+        assertEquals(existing, names.intern(metre, 1, metre.length - 1));
+        assertEquals(existing, names.intern(metre, 1, metre.length - 1));
+        int amount = 1000;
+        for (int i = 0; i < amount; i++) {
+            byte[] name = ("единица" + i).getBytes(StandardCharsets.UTF_8);
+            assertEquals(i + 1, names.intern(name, 0, name.length));
+        }
+        for (int i = 0; i < amount; i++) {
+            byte[] name = ("единица" + i).getBytes(StandardCharsets.UTF_8);
+            assertEquals("единица" + i, units.getName(names.intern(name, 0, name.length)));
+        }
+        assertEquals(amount + 1, units.size());
+        assertEquals(-1, units.findId(""));
+        assertEquals(amount + 1, names.intern(metre, 0, 0));
+        assertEquals("", units.getName(amount + 1));
+    }
+}
@@ -0,0 +1,82 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.Node;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test Namespace class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class NamespaceTest {
+
+    /**
+     * Loads two namespaces from different files. Checks that units and versions of the rules of one namespace do not
+     * change the other one and the default namespace, and that every namespace counts its own memory.
+     */
+    @Test
+    public void isolationTest(@TempDir Path directory) throws IOException {
+        Path small = directory.resolve("small.csv");
+        Files.write(small, "км,м,1000\n".getBytes(StandardCharsets.UTF_8));
+        Path big = directory.resolve("big.csv");
+        StringBuilder rules = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            rules.append("unit").append(i).append(",unit").append(i + 1).append(",2\n");
+        }
+        Files.write(big, rules.toString().getBytes(StandardCharsets.UTF_8));
+        int defaultUnits = GraphHolder.getDefault().getUnitCount();
+
+        Namespace first = GraphHolder.createNamespace("first");
+        Namespace second = GraphHolder.createNamespace("second");
+        assertSame(first, GraphHolder.getNamespace("first"));
+        assertFalse(first.isReady());
+        Preloader.preload(first, small.toString(), Preloader.Mode.RULES);
+        Preloader.preload(second, big.toString(), Preloader.Mode.RULES);
+        assertTrue(first.isReady());
+        assertEquals(2, first.getUnitCount());
+        assertEquals(1001, second.getUnitCount());
+        assertEquals(1, second.getComponentCount());
+        assertTrue(first.getIndex().findId("unit0") < 0);
+        assertTrue(second.getIndex().findId("км") < 0);
+        assertFalse(first.getNameFilter(first.getIndex()).mightContain("unit0"));
+        assertEquals(defaultUnits, GraphHolder.getDefault().getUnitCount());
+        assertTrue(second.getMemoryBytes() > first.getMemoryBytes());
+        assertTrue(first.getMemoryBytes() > 0);
+
+        long firstVersion = first.getRulesVersion();
+        long defaultVersion = GraphHolder.getRulesVersion();
+        assertEquals(RuleChange.Result.MERGED, second.addRule("extra,unit0,3").getResult());
+        assertEquals(firstVersion, first.getRulesVersion());
+        assertEquals(defaultVersion, GraphHolder.getRulesVersion());
+        assertFalse(Node.checkExistence("extra"));
+
+        assertSame(first, GraphHolder.removeNamespace("first"));
+        assertSame(second, GraphHolder.removeNamespace("second"));
+        assertNull(GraphHolder.getNamespace("first"));
+        assertFalse(first.isReady());
+        assertEquals(0, first.getUnitCount());
+        assertNull(GraphHolder.removeNamespace("first"));
+    }
+
+    /**
+     * Checks that malformed names are rejected and that the default namespace could not be removed.
+     */
+    @Test
+    public void namesTest() {
+        assertThrows(IllegalArgumentException.class, () -> GraphHolder.createNamespace("a/b"));
+        assertThrows(IllegalArgumentException.class, () -> GraphHolder.createNamespace(""));
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphHolder.removeNamespace(GraphHolder.DEFAULT_NAMESPACE));
+        assertSame(GraphHolder.getDefault(), GraphHolder.createNamespace(GraphHolder.DEFAULT_NAMESPACE));
+    }
+}
@@ -0,0 +1,144 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test ParallelIngest class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class ParallelIngestTest {
+
+    /**
+     * Parses the random file with contradicting rules and malformed lines sequentially and in small chunks, then
+     * retires some rules, also the rule of the cycle inside one chunk. Checks that units, components, results of the
+     * retires and all conversions are the same.
+     * @param directory temporary directory for the file.
+     * @throws IOException if file could not be written or read.
+     */
+    @Test
+    public void sameAsSequentialTest(@TempDir Path directory) throws IOException {
+        Random random = new Random(8);
+        StringBuilder text = new StringBuilder("a,b,2\nb,c,3\na,c,7\n");
+        List<String[]> retired = new ArrayList<>();
+        retired.add(new String[] {"a", "b"});
+        int lineCount = 3000;
+        for (int i = 0; i < lineCount; i++) {
+            if (i % 500 == 7) {
+                text.append("broken line\n");
+                continue;
+            }
+            String name1 = "юнит" + random.nextInt(400);
+            String name2 = "unit" + random.nextInt(400);
+            if (i % 10 == 3) {
+                retired.add(new String[] {name1, name2});
+            }
+            text.append(name1).append(" , ").append(name2)
+                    .append(',').append(random.nextInt(1000) + 1).append('.').append(random.nextInt(100))
+                    .append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, text.toString().getBytes(StandardCharsets.UTF_8));
+
+        GraphHolder.cleanUp();
+        Preloader.readingStartInfo(path.toString());
+        UnitTable units = Node.getUnits();
+        int size = units.size();
+        int componentCount = units.getComponentCount();
+        String[] names = new String[size];
+        for (int id = 0; id < size; id++) {
+            names[id] = units.getName(id);
+        }
+        String[] conversions = conversions(units);
+        List<RuleChange.Result> results = retire(retired);
+        String[] retiredConversions = conversions(Node.getUnits());
+
+        GraphHolder.cleanUp();
+        assertEquals(lineCount + 3, ParallelIngest.ingest(path, 4, 100));
+        units = Node.getUnits();
+        assertEquals(size, units.size());
+        assertEquals(componentCount, units.getComponentCount());
+        for (int id = 0; id < size; id++) {
+            assertEquals(names[id], units.getName(id));
+        }
+        checkConversions(conversions, units);
+        assertEquals(results, retire(retired));
+        checkConversions(retiredConversions, Node.getUnits());
+    }
+
+    /**
+     * Gets conversions of every unit to the root of its component.
+     * @param units units.
+     * @return names of the roots and conversions to them, by ids of the units.
+     */
+    private static String[] conversions(UnitTable units) {
+        String[] conversions = new String[units.size()];
+        for (int id = 0; id < conversions.length; id++) {
+            int other = units.findComponent(id);
+            conversions[id] = units.getName(other) + " " + units.findConverting(id, other);
+        }
+        return conversions;
+    }
+
+    /**
+     * Checks that every unit is converted to the unit of the expected conversion in the same way.
+     * @param conversions names of the roots and conversions to them, by ids of the units.
+     * @param units units.
+     */
+    private static void checkConversions(String[] conversions, UnitTable units) {
+        for (int id = 0; id < conversions.length; id++) {
+            String[] expected = conversions[id].split(" ");
+            int other = units.findId(expected[0]);
+            assertEquals(units.findComponent(other), units.findComponent(id));
+            assertEquals(expected[1], units.findConverting(id, other).toString());
+        }
+    }
+
+    /**
+     * Retires rules of the default namespace.
+     * @param rules pairs of the names of the units.
+     * @return results of the retires.
+     */
+    private static List<RuleChange.Result> retire(List<String[]> rules) {
+        List<RuleChange.Result> results = new ArrayList<>();
+        for (String[] rule : rules) {
+            results.add(GraphHolder.retireRule(rule[0], rule[1]).getResult());
+        }
+        return results;
+    }
+
+    /**
+     * Parses the file without the line break at the end and the empty file.
+     * @param directory temporary directory for the files.
+     * @throws IOException if file could not be written or read.
+     */
+    @Test
+    public void boundariesTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "км,м,1000\nм,см,100".getBytes(StandardCharsets.UTF_8));
+        GraphHolder.cleanUp();
+        assertEquals(2, ParallelIngest.ingest(path, 2, 1));
+        assertEquals("100000", Node.getGraph("км").findConverting("км", "см").toString());
+
+        Path empty = directory.resolve("empty.csv");
+        Files.write(empty, new byte[0]);
+        GraphHolder.cleanUp();
+        assertEquals(0, ParallelIngest.ingest(empty));
+        assertEquals(0, GraphHolder.getGraphHolderSize());
+    }
+}
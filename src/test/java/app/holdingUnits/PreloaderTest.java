@@ -24,4 +24,15 @@ class PreloaderTest {
         assertTrue(Node.checkExistence("км"));
         assertTrue(Node.checkExistence("пм"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests parallel preloading. Parses test resource in chunks and checks some conversions.
+     */
+    @Test
+    public void preloadParallelTest() {
+        GraphHolder.cleanUp();
+        Preloader.preloadParallel("target/test-classes/testData.csv");
+        assertTrue(Node.checkExistence("км"));
+        assertEquals("1000000000000000", Node.getGraph("км").findConverting("км", "пм").toString());
+    }
+}
@@ -0,0 +1,73 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test Reloader class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class ReloaderTest {
+
+    /**
+     * Preloads rules, changes the file and reloads it. Checks that new units are used, that the old units which were
+     * got before the reload are not changed and that the version of the rules is changed.
+     */
+    @Test
+    public void reloadTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "км,м,1000\n".getBytes(StandardCharsets.UTF_8));
+        GraphHolder.cleanUp();
+        Preloader.preload(path.toString());
+        UnitIndex old = GraphHolder.getIndex();
+        long version = GraphHolder.getRulesVersion();
+        long reloads = Reloader.getDefault().getReloadCount();
+
+        Files.write(path, "км,м,1000\nм,см,100\n".getBytes(StandardCharsets.UTF_8));
+        assertTrue(Reloader.getDefault().reload());
+        assertEquals(reloads + 1, Reloader.getDefault().getReloadCount());
+        assertTrue(Reloader.getDefault().getLastDurationMillis() >= 0);
+        assertNull(Reloader.getDefault().getLastError());
+        assertTrue(GraphHolder.getRulesVersion() > version);
+
+        assertEquals(2, old.size());
+        assertTrue(old.findId("см") < 0);
+        UnitIndex units = GraphHolder.getIndex();
+        assertEquals(3, units.size());
+        assertTrue(Node.checkExistence("см"));
+        assertEquals("100000", Node.getGraph("км").findConverting("км", "см").toString());
+        assertTrue(GraphHolder.getNameFilter(units).mightContain("см"));
+    }
+
+    /**
+     * Reloads the file which is removed. Checks that the old units stay and the error is kept.
+     */
+    @Test
+    public void failedReloadTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "км,м,1000\n".getBytes(StandardCharsets.UTF_8));
+        GraphHolder.cleanUp();
+        Preloader.preload(path.toString());
+        UnitIndex old = GraphHolder.getIndex();
+        long failures = Reloader.getDefault().getFailureCount();
+
+        Files.delete(path);
+        assertFalse(Reloader.getDefault().reload());
+        assertEquals(failures + 1, Reloader.getDefault().getFailureCount());
+        assertNotNull(Reloader.getDefault().getLastError());
+        assertSame(old, GraphHolder.getIndex());
+        assertTrue(Node.checkExistence("км"));
+    }
+}
@@ -0,0 +1,164 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitTable;
+import app.search.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test RuleLog class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class RuleLogTest {
+
+    /**
+     * Writes records, breaks the last one and replays the log on top of the rules. Checks that the broken record is
+     * cut off and that replaying the log again does not change the units.
+     */
+    @Test
+    public void replayTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "км,м,1000\n".getBytes(StandardCharsets.UTF_8));
+        UnitTable units = new UnitTable();
+        Preloader.readRules(path.toString(), units);
+        RuleLog log = RuleLog.open(path.toString(), units);
+        log.appendAdd("м,см,100");
+        log.appendAdd("км,миля,0.621371");
+        long position = log.appendRetire("км", "м");
+        log.sync(position);
+        log.close();
+        Files.write(RuleLog.pathOf(path.toString()), new byte[] {0, 0, 0, 5, 1, 2}, StandardOpenOption.APPEND);
+
+        units = new UnitTable();
+        Preloader.readRules(path.toString(), units);
+        log = RuleLog.open(path.toString(), units);
+        assertEquals(position, log.size());
+        assertEquals(position, Files.size(log.getPath()));
+        log.close();
+        checkUnits(units);
+        assertEquals(position, RuleLog.replay(RuleLog.pathOf(path.toString()), units, 0));
+        checkUnits(units);
+    }
+
+    /**
+     * Changes rules with the log, compacts it and preloads rules again. Checks that rules which are not found are not
+     * logged, the changes are in the new file with converting rules and the log is empty.
+     */
+    @Test
+    public void compactTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "км,м,1000\nм,мм,1000\n".getBytes(StandardCharsets.UTF_8));
+        GraphHolder.cleanUp();
+        Preloader.preload(path.toString());
+        GraphHolder.openLog(path.toString());
+        try {
+            GraphHolder.addRule("м,см,100");
+            GraphHolder.retireRule("мм", "м");
+            long size = GraphHolder.getLog().size();
+            assertTrue(size > 0);
+            assertEquals(RuleChange.Result.NOT_FOUND, GraphHolder.retireRule("км", "см").getResult());
+            assertEquals(RuleChange.Result.NOT_FOUND, GraphHolder.retireRule("км", "мили").getResult());
+            assertEquals(size, GraphHolder.getLog().size());
+            assertEquals(2, GraphHolder.compactLog());
+            assertEquals(0, GraphHolder.getLog().size());
+            assertEquals(0, Files.size(RuleLog.pathOf(path.toString())));
+        } finally {
+            GraphHolder.cleanUp();
+        }
+        assertNull(GraphHolder.getLog());
+        Preloader.preload(path.toString());
+        assertTrue(Node.checkExistence("см"));
+        assertEquals("100000", Node.getGraph("км").findConverting("км", "см").toString());
+        assertFalse(Node.getGraph("км").existenceNode("мм"));
+    }
+
+    /**
+     * Compacts the log of the rules with the rule which disagrees with the other rules of its cycle and reads the new
+     * file with converting rules. Checks that conversions are the same as before the compaction.
+     */
+    @Test
+    public void compactCycleTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "a,b,2\nb,c,3\na,c,7\n".getBytes(StandardCharsets.UTF_8));
+        UnitTable units = new UnitTable();
+        Preloader.readRules(path.toString(), units);
+        RuleLog log = RuleLog.open(path.toString(), units);
+        log.sync(log.appendAdd("c,d,5"));
+        units.addRule(units.findId("c"), units.createUnit("d"), new Value("5"));
+        assertEquals(4, log.compact(units));
+        log.close();
+        assertEquals("a,b,2\nb,c,3\na,c,7\nc,d,5\n", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+
+        units = new UnitTable();
+        Preloader.readRules(path.toString(), units);
+        assertEquals("6", units.findConverting(units.findId("a"), units.findId("c")).toString());
+        assertEquals("30", units.findConverting(units.findId("a"), units.findId("d")).toString());
+    }
+
+    /**
+     * Compacts the log, writes more records and loads rules again as after restart. Checks that the units are loaded
+     * from the image of the compaction and only the log is replayed, and that after the file with converting rules is
+     * changed the image is not loaded and the file is parsed.
+     */
+    @Test
+    public void compactImageTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "км,м,1000\nм,мм,1000\n".getBytes(StandardCharsets.UTF_8));
+        UnitTable units = Preloader.loadRules(path.toString());
+        RuleLog log = RuleLog.open(path.toString(), units);
+        log.sync(log.appendAdd("м,см,100"));
+        units.addRule(units.findId("м"), units.createUnit("см"), new Value("100"));
+        assertEquals(3, log.compact(units));
+        assertTrue(Files.exists(RuleLog.imagePathOf(path.toString())));
+        log.sync(log.appendAdd("км,миля,0.621371"));
+        log.sync(log.appendRetire("мм", "м"));
+        log.close();
+
+        UnitTable loaded = Preloader.loadRules(path.toString());
+        assertEquals(4, loaded.size());
+        log = RuleLog.open(path.toString(), loaded);
+        log.close();
+        UnitTable parsed = new UnitTable();
+        Preloader.readRules(path.toString(), parsed);
+        RuleLog.replay(RuleLog.pathOf(path.toString()), parsed, 0);
+        for (String[] pair : new String[][] {{"км", "см"}, {"км", "миля"}}) {
+            assertEquals(parsed.findConverting(parsed.findId(pair[0]), parsed.findId(pair[1])).toString(),
+                    loaded.findConverting(loaded.findId(pair[0]), loaded.findId(pair[1])).toString());
+        }
+        assertEquals("100000", loaded.findConverting(loaded.findId("км"), loaded.findId("см")).toString());
+        assertEquals(parsed.getComponentCount(), loaded.getComponentCount());
+        assertNotEquals(loaded.findComponent(loaded.findId("км")), loaded.findComponent(loaded.findId("мм")));
+
+        Files.write(path, "км,м,1000\nм,дм,10\n".getBytes(StandardCharsets.UTF_8));
+        loaded = Preloader.loadRules(path.toString());
+        assertEquals(3, loaded.size());
+        assertEquals("10000", loaded.findConverting(loaded.findId("км"), loaded.findId("дм")).toString());
+    }
+
+    /**
+     * Checks units after the records of the replay test.
+     * @param units units.
+     */
+    private static void checkUnits(UnitTable units) {
+        int km = units.findId("км");
+        int m = units.findId("м");
+        int cm = units.findId("см");
+        assertEquals(4, units.size());
+        assertEquals(2, units.getComponentCount());
+        assertNotEquals(units.findComponent(km), units.findComponent(m));
+        assertEquals("100", units.findConverting(m, cm).toString());
+        assertEquals("0.621371", units.findConverting(km, units.findId("миля")).toString());
+    }
+}
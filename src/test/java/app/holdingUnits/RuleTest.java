@@ -0,0 +1,30 @@
+package app.holdingUnits;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test Rule class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class RuleTest {
+
+    /**
+     * Parses correct and malformed lines.
+     */
+    @Test
+    public void parseTest() {
+        Rule rule = Rule.parse(" км , м , 1e3 ");
+        assertEquals("км", rule.getName1());
+        assertEquals("м", rule.getName2());
+        assertEquals("1000", rule.getQuotient().toString());
+        assertThrows(IllegalArgumentException.class, () -> Rule.parse("км,м"));
+        assertThrows(IllegalArgumentException.class, () -> Rule.parse("км,м,1o00"));
+        assertThrows(IllegalArgumentException.class, () -> Rule.parse("км,м,0"));
+        assertThrows(IllegalArgumentException.class, () -> Rule.parse(""));
+    }
+}
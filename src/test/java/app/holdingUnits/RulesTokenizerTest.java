@@ -0,0 +1,65 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitTable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test RulesTokenizer class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class RulesTokenizerTest {
+
+    /**
+     * Reads rules with different line breaks, spaces and malformed lines. Checks that they are read as by the line
+     * parsing.
+     */
+    @Test
+    public void parseTest() {
+        String text = "км, м ,1000\r\nм,д м,1e1\rбитая строка\nкм,м,0\n\n"
+                + "час,мин,6o\nчас , мин, 60\nм,см,100";
+        GraphHolder.cleanUp();
+        UnitTable units = Node.getUnits();
+        RulesTokenizer tokenizer = new RulesTokenizer(units);
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        assertEquals(buffer.limit(), tokenizer.parse(buffer, true));
+        assertEquals(8, tokenizer.getLineCount());
+        assertEquals(2, units.getComponentCount());
+        assertEquals(6, units.size());
+        assertTrue(Node.checkExistence("дм"));
+        assertEquals("100000", units.findConverting(units.findId("км"), units.findId("см")).toString());
+        assertEquals("0.1", units.findConverting(units.findId("дм"), units.findId("м")).toString());
+        assertEquals("60", units.findConverting(units.findId("час"), units.findId("мин")).toString());
+    }
+
+    /**
+     * Reads the buffer which is not the end of the file. Checks that the incomplete last line is left for the next
+     * buffer, also when the buffer ends between "\r" and "\n".
+     */
+    @Test
+    public void incompleteLineTest() {
+        GraphHolder.cleanUp();
+        UnitTable units = Node.getUnits();
+        RulesTokenizer tokenizer = new RulesTokenizer(units);
+        byte[] bytes = "км,м,1000\nм,см,10".getBytes(StandardCharsets.UTF_8);
+        int firstLine = "км,м,1000\n".getBytes(StandardCharsets.UTF_8).length;
+        assertEquals(firstLine, tokenizer.parse(ByteBuffer.wrap(bytes), false));
+        assertEquals(1, tokenizer.getLineCount());
+        assertFalse(Node.checkExistence("см"));
+
+        bytes = "м,см,100\r".getBytes(StandardCharsets.UTF_8);
+        assertEquals(0, tokenizer.parse(ByteBuffer.wrap(bytes), false));
+        bytes = "м,см,100\r\n".getBytes(StandardCharsets.UTF_8);
+        assertEquals(bytes.length, tokenizer.parse(ByteBuffer.wrap(bytes), false));
+        assertEquals(2, tokenizer.getLineCount());
+        assertEquals("100000", units.findConverting(units.findId("км"), units.findId("см")).toString());
+    }
+}
@@ -0,0 +1,43 @@
+package app.holdingUnits;
+
+import app.holdingUnits.containers.Node;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test RulesWatcher class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class RulesWatcherTest {
+
+    /**
+     * Preloads rules, watches the file and changes it. Checks that the rules are reloaded.
+     */
+    @Test
+    public void watchTest(@TempDir Path directory) throws IOException, InterruptedException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "км,м,1000\n".getBytes(StandardCharsets.UTF_8));
+        GraphHolder.cleanUp();
+        Preloader.preload(path.toString());
+        RulesWatcher watcher = RulesWatcher.watch(path.toString());
+        try {
+            Files.write(path, "км,м,1000\nм,см,100\n".getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 200 && !Node.checkExistence("см"); i++) {
+                Thread.sleep(50);
+            }
+            assertTrue(Node.checkExistence("см"));
+        } finally {
+            watcher.close();
+        }
+    }
+}
@@ -85,7 +85,7 @@ class GraphTest {
         assertEquals(node1, graph12.findNode(node1Name));
         assertEquals(node3, graph12.findNode(node3Name));
 
-        String expectedConvertingResult = "1";
+        String expectedConvertingResult = "0.01";
         Value convertingResult = graph12.findConverting(node2Name, node3Name);
         assertEquals(expectedConvertingResult, convertingResult.toString());
 
@@ -93,8 +93,28 @@ class GraphTest {
         convertingResult = graph12.findConverting(node2Name, node1Name);
         assertEquals(expectedConvertingResult, convertingResult.toString());
 
-        expectedConvertingResult = "10";
+        expectedConvertingResult = "0.1";
         convertingResult = graph12.findConverting(node1Name, node3Name);
         assertEquals(expectedConvertingResult, convertingResult.toString());
     }
-}
\ No newline at end of file
+
+    /**
+     * Connects the bigger graph to the smaller one. Checks that the graph to which was connected holds all nodes and
+     * converting rules go in both directions.
+     */
+    @Test
+    public void connectionToSmallerGraphTest() {
+        Node node1 = Node.createNode("node1");
+        Node node3 = Node.createNode("node3");
+        Graph graph1 = new Graph(node1);
+        Graph graph34 = new Graph(node3);
+        graph34.addNode("node3", "node4", new Value("1000"));
+        graph1.connect(graph34, "node1", "node4", new Value("2"));
+
+        assertEquals(3, graph1.getGraphSize());
+        assertTrue(graph1.existenceNode("node3"));
+        assertEquals("0.002", graph1.findConverting("node1", "node3").toString());
+        assertEquals("500", graph1.findConverting("node3", "node1").toString());
+        assertEquals("2", graph1.findConverting("node1", "node4").toString());
+    }
+}
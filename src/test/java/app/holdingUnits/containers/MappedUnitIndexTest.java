@@ -0,0 +1,90 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test MappedUnitIndex class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class MappedUnitIndexTest {
+
+    /**
+     * Writes the table into the snapshot and maps it. Checks names, components and converting rules, also rules which
+     * do not fit into long.
+     * @param directory temporary directory for the snapshot.
+     * @throws IOException if snapshot could not be written or mapped.
+     */
+    @Test
+    public void snapshotTest(@TempDir Path directory) throws IOException {
+        UnitTable units = new UnitTable();
+        int amount = 20;
+        for (int i = 0; i < amount; i++) {
+            units.createUnit("unit" + i);
+        }
+        for (int i = 0; i + 1 < amount; i++) {
+            units.addRule(i, i + 1, new Value("120.021"));
+        }
+        int km = units.createUnit("км");
+        int m = units.createUnit("м");
+        units.addRule(km, m, new Value("1000"));
+        units.createUnit("час");
+
+        Path path = directory.resolve("units.snapshot");
+        MappedUnitIndex.write(units, path);
+        MappedUnitIndex index = MappedUnitIndex.map(path);
+
+        assertEquals(units.size(), index.size());
+        assertEquals(3, index.getComponentCount());
+        for (int id = 0; id < units.size(); id++) {
+            assertEquals(id, index.findId(units.getName(id)));
+            assertEquals(units.getName(id), index.getName(id));
+        }
+        assertEquals(-1, index.findId("мин"));
+        assertEquals(index.findComponent(km), index.findComponent(m));
+        assertNotEquals(index.findComponent(km), index.findComponent(0));
+        assertEquals(index.findComponent(0), index.findComponent(amount - 1));
+        assertEquals("1000", index.findConverting(km, m).toString());
+        assertEquals("0.001", index.findConverting(m, km).toString());
+        assertEquals(units.findConverting(0, amount - 1).toString(), index.findConverting(0, amount - 1).toString());
+        assertEquals(units.findConverting(amount - 1, 3).toString(), index.findConverting(amount - 1, 3).toString());
+    }
+
+    /**
+     * Tries to map the file which is not the snapshot.
+     * @param directory temporary directory for the file.
+     * @throws IOException if file could not be written.
+     */
+    @Test
+    public void wrongFileTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("rules.csv");
+        Files.write(path, "км,м,1000\nм,см,100\nчас,мин,60\n".getBytes());
+        assertThrows(IOException.class, () -> MappedUnitIndex.map(path));
+    }
+
+    /**
+     * Tries to map the snapshot which header has lengths which overflow int and sum up to the size of the file.
+     * @param directory temporary directory for the file.
+     * @throws IOException if file could not be written.
+     */
+    @Test
+    public void overflowTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("units.snapshot");
+        ByteBuffer header = ByteBuffer.allocate(40);
+        header.putInt(0x55435331).putInt(1).putInt(0).putInt(0).putInt(1).putInt(Integer.MAX_VALUE)
+                .putInt(Integer.MIN_VALUE + 5);
+        Files.write(path, header.array());
+        assertThrows(IOException.class, () -> MappedUnitIndex.map(path));
+    }
+}
@@ -0,0 +1,57 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test NameFilter class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class NameFilterTest {
+
+    /**
+     * checks that all added names pass the filter and most of the other names do not.
+     */
+    @Test
+    void filterTest() {
+        UnitTable units = new UnitTable();
+        for (int i = 0; i < 10_000; i++) {
+            units.createUnit("единица" + i);
+        }
+        units.addRule(0, 1, new Value("1000"));
+        NameFilter filter = NameFilter.of(units);
+        for (int i = 0; i < 10_000; i++) {
+            String name = "единица" + i;
+            assertTrue(filter.mightContain(name));
+            assertTrue(filter.mightContain(name.toCharArray(), name.length()));
+        }
+        int passed = 0;
+        for (int i = 10_000; i < 20_000; i++) {
+            String name = "единица" + i;
+            boolean mightContain = filter.mightContain(name);
+            assertEquals(mightContain, filter.mightContain(name.toCharArray(), name.length()));
+            if (mightContain) {
+                passed++;
+            }
+        }
+        assertTrue(passed < 300, "false positives : " + passed);
+    }
+
+    /**
+     * checks names which are added after the filter is built.
+     */
+    @Test
+    void addTest() {
+        NameFilter filter = new NameFilter(0);
+        assertFalse(filter.mightContain("км"));
+        filter.add("км");
+        assertTrue(filter.mightContain("км"));
+        char[] chars = {'к', 'м', 'x'};
+        assertTrue(filter.mightContain(chars, 2));
+    }
+}
@@ -0,0 +1,47 @@
+package app.holdingUnits.containers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test NameTable class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class NameTableTest {
+
+    /**
+     * Adds more names then the start capacity. Checks that ids are dense and every name is found by its id.
+     */
+    @Test
+    public void addingTest() {
+        NameTable names = new NameTable();
+        int amount = 1000;
+        for (int i = 0; i < amount; i++) {
+            assertEquals(i, names.add("unit" + i));
+        }
+        assertEquals(amount, names.size());
+        for (int i = 0; i < amount; i++) {
+            assertEquals(i, names.find("unit" + i));
+            assertEquals("unit" + i, names.getName(i));
+        }
+        assertEquals(-1, names.find("unit" + amount));
+    }
+
+    /**
+     * Adds names and cleans the table. Checks that there are no names after cleaning.
+     */
+    @Test
+    public void clearTest() {
+        NameTable names = new NameTable();
+        names.add("км");
+        names.add("м");
+        names.clear();
+        assertEquals(0, names.size());
+        assertEquals(-1, names.find("км"));
+        assertEquals(0, names.add("м"));
+    }
+}
@@ -0,0 +1,48 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test RuleList class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class RuleListTest {
+
+    /**
+     * Adds, finds and removes rules and checks the lists of the rules of the units.
+     */
+    @Test
+    public void listTest() {
+        RuleList rules = new RuleList();
+        int amount = 100;
+        for (int id = 0; id < amount; id++) {
+            assertEquals(id, rules.add(id, id + 1, new Value(Integer.toString(id + 1))));
+        }
+        assertEquals(5, rules.find(5, 6));
+        assertEquals(5, rules.find(6, 5));
+        assertEquals(-1, rules.find(5, 7));
+        assertEquals(-1, rules.find(amount + 5, 5));
+        assertEquals(5, rules.getUnit1(5));
+        assertEquals(6, rules.getUnit2(5));
+        assertEquals("6", rules.getQuotient(5).toString());
+
+        rules.remove(5);
+        assertEquals(-1, rules.find(5, 6));
+        int link = rules.firstLink(6);
+        assertEquals(7, rules.otherUnit(link));
+        assertEquals(-1, rules.nextLink(link));
+        link = rules.firstLink(5);
+        assertEquals(4, rules.otherUnit(link));
+        assertEquals(-1, rules.nextLink(link));
+        assertEquals(-1, rules.firstLink(amount + 5));
+
+        rules.clear();
+        assertEquals(-1, rules.find(1, 2));
+    }
+}
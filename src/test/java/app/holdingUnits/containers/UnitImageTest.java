@@ -0,0 +1,107 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test UnitImage class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class UnitImageTest {
+
+    /**
+     * Writes the table with the cycle, the removed rule and the rule which does not fit into long into the image and
+     * loads it. Checks names, components and conversions, and that the loaded table removes and adds rules as the
+     * written one.
+     * @param directory temporary directory for the files.
+     * @throws IOException if the image could not be written or loaded.
+     */
+    @Test
+    public void imageTest(@TempDir Path directory) throws IOException {
+        Path rulesPath = directory.resolve("rules.csv");
+        Files.write(rulesPath, "rules".getBytes(StandardCharsets.UTF_8));
+        UnitTable units = new UnitTable();
+        String[] names = {"a", "b", "c", "d", "e", "f"};
+        for (String name : names) {
+            units.createUnit(name);
+        }
+        units.addRule(0, 1, new Value("2"));
+        units.addRule(1, 2, new Value("3"));
+        units.addRule(0, 2, new Value("7"));
+        units.addRule(2, 3, new Value("123456789012345678901234567890"));
+        units.addRule(3, 4, new Value("5"));
+        units.removeRule(3, 4);
+
+        Path path = directory.resolve("rules.csv.image");
+        UnitImage.write(units, path, rulesPath);
+        UnitTable loaded = UnitImage.read(path, rulesPath);
+
+        assertNotNull(loaded);
+        checkSame(units, loaded);
+        assertTrue(units.removeRule(0, 1));
+        assertTrue(loaded.removeRule(0, 1));
+        checkSame(units, loaded);
+        loaded.addRule(loaded.findId("e"), loaded.createUnit("g"), new Value("0.5"));
+        assertEquals("0.5", loaded.findConverting(loaded.findId("e"), loaded.findId("g")).toString());
+        assertEquals("7", loaded.findConverting(loaded.findId("a"), loaded.findId("c")).toString());
+    }
+
+    /**
+     * Writes the image and changes the file with converting rules or the image. Checks that the image of the other
+     * file is not loaded and the damaged image is reported.
+     * @param directory temporary directory for the files.
+     * @throws IOException if the image could not be written.
+     */
+    @Test
+    public void staleImageTest(@TempDir Path directory) throws IOException {
+        Path rulesPath = directory.resolve("rules.csv");
+        Files.write(rulesPath, "км,м,1000\n".getBytes(StandardCharsets.UTF_8));
+        UnitTable units = new UnitTable();
+        units.addRule(units.createUnit("км"), units.createUnit("м"), new Value("1000"));
+        Path path = directory.resolve("rules.csv.image");
+
+        assertNull(UnitImage.read(path, rulesPath));
+        UnitImage.write(units, path, rulesPath);
+        byte[] image = Files.readAllBytes(path);
+        image[image.length / 2] ^= 1;
+        Files.write(path, image);
+        assertThrows(IOException.class, () -> UnitImage.read(path, rulesPath));
+
+        UnitImage.write(units, path, rulesPath);
+        Files.write(rulesPath, "м,см,100\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertNull(UnitImage.read(path, rulesPath));
+    }
+
+    /**
+     * Checks that two tables have the same names, components and conversions.
+     * @param expected the written table.
+     * @param actual the loaded table.
+     */
+    private static void checkSame(UnitTable expected, UnitTable actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getComponentCount(), actual.getComponentCount());
+        for (int id1 = 0; id1 < expected.size(); id1++) {
+            assertEquals(id1, actual.findId(expected.getName(id1)));
+            for (int id2 = 0; id2 < expected.size(); id2++) {
+                boolean connected = expected.findComponent(id1) == expected.findComponent(id2);
+                assertEquals(connected, actual.findComponent(id1) == actual.findComponent(id2));
+                if (connected) {
+                    assertEquals(expected.findConverting(id1, id2).toString(),
+                            actual.findConverting(id1, id2).toString());
+                }
+            }
+        }
+    }
+}
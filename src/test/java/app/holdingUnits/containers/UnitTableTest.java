@@ -0,0 +1,216 @@
+package app.holdingUnits.containers;
+
+import app.search.Value;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test UnitTable class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class UnitTableTest {
+
+    /**
+     * Creates units and connects them by rules. Checks components and converting rules between units.
+     */
+    @Test
+    public void rulesTest() {
+        UnitTable units = new UnitTable();
+        int km = units.createUnit("км");
+        int m = units.createUnit("м");
+        int hour = units.createUnit("час");
+        int minute = units.createUnit("мин");
+        assertEquals(-1, units.createUnit("м"));
+        assertEquals(4, units.getComponentCount());
+
+        assertTrue(units.addRule(km, m, new Value("1000")));
+        assertTrue(units.addRule(hour, minute, new Value("60")));
+        assertFalse(units.addRule(m, km, new Value("0.001")));
+        assertEquals(2, units.getComponentCount());
+        assertEquals(units.findComponent(km), units.findComponent(m));
+        assertNotEquals(units.findComponent(km), units.findComponent(hour));
+        assertEquals("1000", units.findConverting(km, m).toString());
+        assertEquals("0.001", units.findConverting(m, km).toString());
+        assertEquals("60", units.findConverting(hour, minute).toString());
+    }
+
+    /**
+     * Builds the long chain of units from the small components, so paths in the tree are compressed. Checks the
+     * converting rules between the ends of the chain, also with rules which do not fit into long.
+     */
+    @Test
+    public void chainTest() {
+        UnitTable units = new UnitTable();
+        int amount = 64;
+        for (int i = 0; i < amount; i++) {
+            units.createUnit("unit" + i);
+        }
+        for (int i = 0; i < amount; i += 2) {
+            units.addRule(i, i + 1, new Value("10"));
+        }
+        for (int i = 1; i + 1 < amount; i += 2) {
+            units.addRule(i, i + 1, new Value("120.021"));
+        }
+        assertEquals(1, units.getComponentCount());
+        assertEquals(amount, units.getComponentSize(0));
+        Value expected = new Value();
+        for (int i = 0; i < amount / 2; i++) {
+            expected.multiply(new Value("10"));
+        }
+        for (int i = 0; i < amount / 2 - 1; i++) {
+            expected.multiply(new Value("120.021"));
+        }
+        assertEquals(expected.toString(), units.findConverting(0, amount - 1).toString());
+        assertEquals("1", units.findConverting(amount - 1, amount - 1).toString());
+    }
+
+    /**
+     * Gets graphs of the components. Checks that units of one component have the same graph.
+     */
+    @Test
+    public void graphsTest() {
+        UnitTable units = new UnitTable();
+        int kg = units.createUnit("кг");
+        int g = units.createUnit("г");
+        Graph graph = units.getGraph(kg);
+        units.addRule(kg, g, new Value("1000"));
+        assertSame(graph, units.getGraph(g));
+        assertEquals(2, graph.getGraphSize());
+        units.clear();
+        assertEquals(0, units.size());
+        assertEquals(-1, units.findId("кг"));
+    }
+
+    /**
+     * Checks that the snapshot does not change when the table is changed.
+     */
+    @Test
+    public void snapshotTest() {
+        UnitTable units = new UnitTable();
+        int km = units.createUnit("км");
+        int m = units.createUnit("м");
+        units.addRule(km, m, new Value("1000"));
+        UnitIndex snapshot = units.snapshot();
+        int cm = units.createUnit("см");
+        units.addRule(cm, m, new Value("0.01"));
+        units.clear();
+        assertEquals(2, snapshot.size());
+        assertEquals(1, snapshot.getComponentCount());
+        assertEquals(-1, snapshot.findId("см"));
+        assertEquals(m, snapshot.findId("м"));
+        assertEquals(m, snapshot.findId(new char[] {'м'}, 1));
+        assertEquals(snapshot.findComponent(km), snapshot.findComponent(m));
+        assertEquals("1000", snapshot.findConverting(km, m).toString());
+    }
+
+    /**
+     * Changes units of the table with more then one page between snapshots. Checks that every snapshot keeps its
+     * units and the next one sees the changes.
+     */
+    @Test
+    public void incrementalSnapshotTest() {
+        UnitTable units = new UnitTable();
+        int count = 3000;
+        for (int i = 0; i < count; i++) {
+            units.createUnit("u" + i);
+        }
+        for (int i = 1; i < count; i++) {
+            units.addRule(i - 1, i, new Value("2"));
+        }
+        int single = units.createUnit("single");
+        UnitIndex first = units.snapshot();
+        int other = units.createUnit("other");
+        units.addRule(other, single, new Value("10"));
+        units.addRule(single, 0, new Value("3"));
+        UnitIndex second = units.snapshot();
+        units.removeRule(single, 0);
+        UnitIndex third = units.snapshot();
+
+        assertEquals(count + 1, first.size());
+        assertEquals(2, first.getComponentCount());
+        assertEquals(-1, first.findId("other"));
+        assertNotEquals(first.findComponent(single), first.findComponent(0));
+        assertEquals("2", first.findConverting(count - 2, count - 1).toString());
+
+        assertEquals(count + 2, second.size());
+        assertEquals(1, second.getComponentCount());
+        assertEquals(other, second.findId("other"));
+        assertEquals("30", second.findConverting(other, 0).toString());
+        assertEquals(second.findComponent(count - 1), second.findComponent(other));
+
+        assertEquals(2, third.getComponentCount());
+        assertEquals("10", third.findConverting(other, single).toString());
+        assertNotEquals(third.findComponent(other), third.findComponent(0));
+        assertEquals("4", third.findConverting(0, 2).toString());
+    }
+
+    /**
+     * Removes rules and checks that the component is split only when there is no other way between the units.
+     */
+    @Test
+    public void removeRuleTest() {
+        UnitTable units = new UnitTable();
+        int km = units.createUnit("км");
+        int m = units.createUnit("м");
+        int cm = units.createUnit("см");
+        int mm = units.createUnit("мм");
+        int kg = units.createUnit("кг");
+        units.addRule(km, m, new Value("1000"));
+        units.addRule(m, cm, new Value("100"));
+        units.addRule(cm, mm, new Value("10"));
+        units.addRule(m, mm, new Value("1000"));
+        assertEquals(2, units.getComponentCount());
+
+        assertFalse(units.removeRule(km, mm));
+        assertFalse(units.removeRule(km, kg));
+        assertTrue(units.removeRule(cm, m));
+        assertEquals(2, units.getComponentCount());
+        assertEquals(4, units.getComponentSize(km));
+        assertEquals("100000", units.findConverting(km, cm).toString());
+
+        assertTrue(units.removeRule(mm, m));
+        assertEquals(3, units.getComponentCount());
+        assertEquals(2, units.getComponentSize(km));
+        assertEquals(2, units.getComponentSize(cm));
+        assertNotEquals(units.findComponent(km), units.findComponent(cm));
+        assertEquals("1000", units.findConverting(km, m).toString());
+        assertEquals("10", units.findConverting(cm, mm).toString());
+        assertFalse(units.removeRule(m, mm));
+
+        units.addRule(mm, km, new Value("0.000001"));
+        assertEquals(2, units.getComponentCount());
+        assertEquals("100000", units.findConverting(km, cm).toString());
+    }
+
+    /**
+     * Builds the component with the rule which disagrees with the other rules of its cycle and retires the rule which
+     * is not on the cycle. Checks that conversions in the rest of the component do not change.
+     */
+    @Test
+    public void removeUnrelatedRuleTest() {
+        UnitTable units = new UnitTable();
+        int a = units.createUnit("a");
+        int b = units.createUnit("b");
+        int c = units.createUnit("c");
+        int d = units.createUnit("d");
+        int e = units.createUnit("e");
+        units.addRule(a, b, new Value("2"));
+        units.addRule(b, c, new Value("3"));
+        units.addRule(a, c, new Value("7"));
+        units.addRule(c, d, new Value("5"));
+        units.addRule(d, e, new Value("1"));
+        assertEquals("6", units.findConverting(a, c).toString());
+
+        assertTrue(units.removeRule(d, e));
+        assertEquals("6", units.findConverting(a, c).toString());
+        assertEquals("30", units.findConverting(a, d).toString());
+        assertNotEquals(units.findComponent(a), units.findComponent(e));
+
+        assertTrue(units.removeRule(a, b));
+        assertEquals("7", units.findConverting(a, c).toString());
+    }
+}
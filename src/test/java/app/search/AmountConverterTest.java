@@ -0,0 +1,46 @@
+package app.search;
+
+import app.holdingUnits.containers.UnitTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test AmountConverter class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class AmountConverterTest {
+
+    /**
+     * Converts amounts as doubles, longs and exact values and checks results.
+     */
+    @Test
+    public void convertTest() {
+        UnitTable units = new UnitTable();
+        int km = units.createUnit("км");
+        int m = units.createUnit("м");
+        int mm = units.createUnit("мм");
+        units.addRule(km, m, new Value("1000"));
+        units.addRule(m, mm, new Value("1000"));
+
+        assertArrayEquals(new double[] {1500, -2000, 0}, AmountConverter.convert(units, km, m,
+                new double[] {1.5, -2, 0}));
+        assertArrayEquals(new double[] {0.001, 1e-6 * Long.MAX_VALUE}, AmountConverter.convert(units, mm, km,
+                new long[] {1000, Long.MAX_VALUE}), 1e-9);
+        Value[] exact = AmountConverter.convertExact(units, km, mm, new long[] {Long.MIN_VALUE, 7});
+        assertEquals("-9223372036854775000000000", exact[0].toString());
+        assertEquals("7000000", exact[1].toString());
+
+        Value third = new Value("1");
+        third.divide(new Value("3"));
+        double[] amounts = {3, 6, 9};
+        AmountConverter.apply(third, amounts, amounts);
+        assertArrayEquals(new double[] {1, 2, 3}, amounts, 1e-15);
+        Value[] exactThirds = AmountConverter.applyExact(third, new CharSequence[] {"3", "1e1"});
+        assertEquals("1", exactThirds[0].toString());
+        assertEquals("3.333333333333333", exactThirds[1].toString());
+    }
+}
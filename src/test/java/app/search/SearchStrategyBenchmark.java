@@ -0,0 +1,95 @@
+package app.search;
+
+import app.holdingUnits.containers.UnitTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the search strategies by the amount of the searchers in the request. Shows from which amount the
+ * fork-join pool is faster then inline calculation, this amount is {@link SearchStrategy#INLINE_LIMIT}. Run it after
+ * "mvn test-compile" by the main method with the test classpath.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchStrategyBenchmark {
+
+    /** Amount of the searchers in the request. */
+    @Param({"1", "16", "128", "512", "2048", "8192"})
+    public int searchCount;
+
+    /** Strategy: "inline", "forkjoin" or "virtual". */
+    @Param({"inline", "forkjoin", "virtual"})
+    public String strategy;
+
+    /** Table with the chains of units. */
+    private UnitTable units;
+
+    /** Strategy which is measured. */
+    private SearchStrategy searchStrategy;
+
+    /**
+     * Builds chains of units with rules which fit into long and which do not.
+     */
+    @Setup
+    public void setUp() {
+        units = new UnitTable();
+        int amount = 256;
+        for (int i = 0; i < amount; i++) {
+            units.createUnit("unit" + i);
+        }
+        for (int i = 0; i + 1 < amount; i++) {
+            units.addRule(i, i + 1, new Value(i % 2 == 0 ? "1000" : "1.0201"));
+        }
+        for (int i = 0; i < amount; i++) {
+            units.findComponent(i);
+        }
+        switch (strategy) {
+            case "forkjoin":
+                searchStrategy = ForkJoinSearch.INSTANCE;
+                break;
+            case "virtual":
+                searchStrategy = VirtualThreadSearch.isSupported() ? VirtualThreadSearch.INSTANCE
+                        : ForkJoinSearch.INSTANCE;
+                break;
+            default:
+                searchStrategy = InlineSearch.INSTANCE;
+        }
+    }
+
+    /**
+     * Runs searchers of one request.
+     * @return searchers with results.
+     */
+    @Benchmark
+    public List<Searcher> search() {
+        List<Searcher> searchers = new ArrayList<>(searchCount);
+        for (int i = 0; i < searchCount; i++) {
+            searchers.add(new Searcher(units, (i * 7) % 256, (i * 13) % 256));
+        }
+        searchStrategy.execute(searchers);
+        return searchers;
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args not used.
+     * @throws RunnerException if benchmark is failed.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SearchStrategyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
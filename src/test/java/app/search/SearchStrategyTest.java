@@ -0,0 +1,66 @@
+package app.search;
+
+import app.holdingUnits.containers.UnitTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test SearchStrategy interface and its strategies.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class SearchStrategyTest {
+
+    /**
+     * Runs the same searchers by all supported strategies. Checks that all searchers have the same results.
+     */
+    @Test
+    public void strategiesTest() {
+        UnitTable units = new UnitTable();
+        int amount = 100;
+        for (int i = 0; i < amount; i++) {
+            units.createUnit("unit" + i);
+        }
+        for (int i = 0; i + 1 < amount; i++) {
+            units.addRule(i, i + 1, new Value(i % 2 == 0 ? "1000" : "120.021"));
+        }
+        for (int i = 0; i < amount; i++) {
+            units.findComponent(i);
+        }
+        int searchCount = 1000;
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < searchCount; i++) {
+            expected.add(units.findConverting(i % amount, (i * 7) % amount).toString());
+        }
+        List<SearchStrategy> strategies = new ArrayList<>(List.of(InlineSearch.INSTANCE, ForkJoinSearch.INSTANCE));
+        if (VirtualThreadSearch.isSupported()) {
+            strategies.add(VirtualThreadSearch.INSTANCE);
+        }
+        for (SearchStrategy strategy : strategies) {
+            List<Searcher> searchers = new ArrayList<>();
+            for (int i = 0; i < searchCount; i++) {
+                searchers.add(new Searcher(units, i % amount, (i * 7) % amount));
+            }
+            strategy.execute(searchers);
+            for (int i = 0; i < searchCount; i++) {
+                assertEquals(expected.get(i), searchers.get(i).getResult().toString());
+            }
+        }
+    }
+
+    /**
+     * Checks the automatic choice of the strategy by the amount of the searchers.
+     */
+    @Test
+    public void chooseTest() {
+        assertSame(InlineSearch.INSTANCE, SearchStrategy.choose(1));
+        assertSame(InlineSearch.INSTANCE, SearchStrategy.choose(SearchStrategy.INLINE_LIMIT));
+        assertSame(ForkJoinSearch.INSTANCE, SearchStrategy.choose(SearchStrategy.INLINE_LIMIT + 1));
+    }
+}
@@ -1,7 +1,7 @@
 package app.search;
 
-import app.holdingUnits.containers.Graph;
 import app.holdingUnits.containers.Node;
+import app.holdingUnits.containers.UnitTable;
 import app.holdingUnits.GraphHolder;
 import org.junit.jupiter.api.Test;
 
@@ -43,14 +43,9 @@ class SearcherTest {
         String fromNodeName = "км";
         String toNodeName = "пм";
         String expectedResult = "1000000000000000";
-        Graph graph = Node.getGraph(fromNodeName);
-        Searcher searcher = new Searcher(graph, fromNodeName, toNodeName);
-        searcher.start();
-        try {
-            searcher.join();
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        UnitTable units = Node.getUnits();
+        Searcher searcher = new Searcher(units, units.findId(fromNodeName), units.findId(toNodeName));
+        searcher.run();
         String convertingResult = searcher.getResult().toString();
         assertEquals(expectedResult, convertingResult);
     }
@@ -64,15 +59,24 @@ class SearcherTest {
         String fromNodeName = "пм";
         String toNodeName = "км";
         String expectedResult = "0.000000000000001";
-        Graph graph = Node.getGraph(fromNodeName);
-        Searcher searcher = new Searcher(graph, fromNodeName, toNodeName);
-        searcher.start();
-        try {
-            searcher.join();
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        UnitTable units = Node.getUnits();
+        Searcher searcher = new Searcher(units, units.findId(fromNodeName), units.findId(toNodeName));
+        searcher.run();
         String convertingResult = searcher.getResult().toString();
         assertEquals(expectedResult, convertingResult);
     }
-}
\ No newline at end of file
+
+    /**
+     * Converts cube of one unit to the cube of the other and checks the result of converting.
+     */
+    @Test
+    public void convertingPower() {
+        UnitTable units = Node.getUnits();
+        Searcher searcher = new Searcher(units, units.findId("км"), units.findId("м"), 3);
+        searcher.run();
+        assertEquals("1000000000", searcher.getResult().toString());
+        searcher = new Searcher(units, units.findId("км"), units.findId("м"), -2);
+        searcher.run();
+        assertEquals("0.000001", searcher.getResult().toString());
+    }
+}
@@ -0,0 +1,74 @@
+package app.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test ValueFormatter class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class ValueFormatterTest {
+
+    /**
+     * Extracts digits of the fractions by long division and checks the string form of them.
+     */
+    @Test
+    public void testLongFractions() {
+        assertEquals("0.3333333333333333", format(1, 3, 0));
+        assertEquals("142857.1428571428", format(1000000, 7, 0));
+        assertEquals("0.00123", format(123, 100000, 0));
+        assertEquals("1234567890123456", format(1234567890123456789L, 1, -3));
+        assertEquals("12300000000000000000", format(123, 1, 17));
+        assertEquals("-0.0000000000000000000382", format(-382, 1, -22));
+        assertEquals("1.23e45", format(123, 1, 43));
+        assertEquals("-3.82e-50", format(-382, 1, -52));
+        assertEquals("1e900000000", format(1, 1, 900000000));
+    }
+
+    /**
+     * Extracts digits of the fractions which do not fit into long and checks the string form of them.
+     */
+    @Test
+    public void testBigFractions() {
+        ValueFormatter formatter = ValueFormatter.get();
+        formatter.extract(BigInteger.TEN.pow(40).add(BigInteger.ONE), BigInteger.valueOf(3));
+        int length = formatter.format(false, -40);
+        assertEquals("0.3333333333333333", new String(formatter.getBuffer(), 0, length));
+    }
+
+    /**
+     * Writes the value to the writer and checks that it is the same as the string form.
+     * @throws IOException if writer throws it.
+     */
+    @Test
+    public void testWriteTo() throws IOException {
+        Value value = new Value("16829241443.8341");
+        value.divide(new Value("7"));
+        StringWriter writer = new StringWriter();
+        value.writeTo(writer);
+        assertEquals(value.toString(), writer.toString());
+        assertEquals("2404177349.119157", writer.toString());
+    }
+
+    /**
+     * Formats the fraction "numerator / denominator * 10^exponent".
+     * @param numerator numerator, sign of it is the sign of the value.
+     * @param denominator positive denominator.
+     * @param exponent exponent of ten.
+     * @return string form.
+     */
+    private static String format(long numerator, long denominator, int exponent) {
+        ValueFormatter formatter = ValueFormatter.get();
+        formatter.extract(Math.abs(numerator), denominator);
+        int length = formatter.format(numerator < 0, exponent);
+        return new String(formatter.getBuffer(), 0, length);
+    }
+}
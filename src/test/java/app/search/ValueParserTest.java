@@ -0,0 +1,62 @@
+package app.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test ValueParser class.
+ *
+ * @version 1.0.0 18 Oct 2026
+ * @author Aleksey Lakhanskii
+ *
+ */
+class ValueParserTest {
+
+    /**
+     * Parses numbers with sign, dot and exponent and checks the string form of them.
+     */
+    @Test
+    public void testParsing() {
+        assertEquals("1000", Value.parse("1000", 0, 4).toString());
+        assertEquals("0.001", Value.parse("1e-3", 0, 4).toString());
+        assertEquals("-0.0015", Value.parse("-1.5E-3", 0, 7).toString());
+        assertEquals("409.5", Value.parse("+409.50", 0, 7).toString());
+        assertEquals("0.5", Value.parse(".5", 0, 2).toString());
+        assertEquals("0", Value.parse("0.000", 0, 5).toString());
+        assertEquals("1234567890123456000000000", Value.parse("1234567890123456789012345", 0, 25).toString());
+        Value bigValue = new Value("120000000000000000000000000001");
+        bigValue.divide(new Value("120000000000000000000000000001e-3"));
+        assertEquals("1000", bigValue.toString());
+    }
+
+    /**
+     * Parses the number which is the part of the line.
+     */
+    @Test
+    public void testParsingPartOfLine() {
+        String line = "км,м,1000";
+        assertEquals("1000", Value.parse(line, 5, line.length()).toString());
+        Value value = Value.parse(line, 5, line.length());
+        value.divide(new Value("1e3"));
+        assertEquals("1", value.toString());
+    }
+
+    /**
+     * Parses malformed numbers. Checks that exception with the position of the wrong char is thrown.
+     */
+    @Test
+    public void testMalformedNumbers() {
+        NumberFormatException exception = assertThrows(NumberFormatException.class,
+                () -> Value.parse("12a4", 0, 4));
+        assertTrue(exception.getMessage().contains("position 3"));
+        assertThrows(NumberFormatException.class, () -> Value.parse("", 0, 0));
+        assertThrows(NumberFormatException.class, () -> Value.parse("-", 0, 1));
+        assertThrows(NumberFormatException.class, () -> Value.parse("1.2.3", 0, 5));
+        assertThrows(NumberFormatException.class, () -> Value.parse("1e", 0, 2));
+        assertThrows(NumberFormatException.class, () -> Value.parse("1e+", 0, 3));
+        assertThrows(NumberFormatException.class, () -> Value.parse("1e99999999999", 0, 13));
+        assertThrows(NumberFormatException.class, () -> Value.parse("1e999999999", 0, 11));
+        assertEquals("1e10000", Value.parse("1e10000", 0, 7).toString());
+    }
+}
@@ -134,4 +134,96 @@ class ValueTest {
         value32.divide(value31);
         assertEquals(expectedData3, value32.toString());
     }
-}
\ No newline at end of file
+
+    /**
+     * Divides and multiplies on the same values. Checks that the result is exact (fractions are reduced, not rounded).
+     */
+    @Test
+    public void testExactFractions() {
+        Value value1 = new Value("1");
+        value1.divide(new Value("3"));
+        assertEquals("0.3333333333333333", value1.toString());
+        value1.multiply(new Value("3"));
+        assertEquals("1", value1.toString());
+
+        Value value2 = new Value("409.5");
+        value2.divide(new Value("1000"));
+        value2.divide(new Value("409.5"));
+        assertEquals("0.001", value2.toString());
+
+        Value value3 = new Value("99999999999999999");
+        assertEquals("99999999999999990", value3.toString());
+    }
+
+    /**
+     * Multiplies the value until it overflows long and divides it back. Checks that the value is moved to BigInteger
+     * and back to primitives and that the results are exact.
+     */
+    @Test
+    public void testPrimitiveOverflow() {
+        Value value = new Value();
+        assertTrue(value.isPrimitive());
+        for (int i = 0; i < 10; i++) {
+            value.multiply(new Value("120.021"));
+        }
+        assertFalse(value.isPrimitive());
+        assertEquals("620258049810923700000", value.toString());
+        for (int i = 0; i < 10; i++) {
+            value.divide(new Value("120.021"));
+        }
+        assertTrue(value.isPrimitive());
+        assertEquals("1", value.toString());
+    }
+
+    /**
+     * Creates values of longs and converts values to doubles.
+     */
+    @Test
+    public void testPrimitiveConversions() {
+        assertEquals("-9223372036854775000", Value.valueOf(Long.MIN_VALUE).toString());
+        assertEquals("120", Value.valueOf(120).toString());
+        assertEquals(0, Value.valueOf(0).doubleValue());
+        assertEquals(-1.5e-7, new Value("-1.5e-7").doubleValue());
+        Value third = new Value("1");
+        third.divide(new Value("3"));
+        assertEquals(1.0 / 3, third.doubleValue());
+        assertEquals(Double.POSITIVE_INFINITY, new Value("1e400").doubleValue());
+    }
+
+    /**
+     * Raises values to the powers and compares them with the repeated multiplication.
+     */
+    @Test
+    public void testPower() {
+        for (int power = 0; power <= 20; power++) {
+            Value expected = new Value();
+            for (int i = 0; i < power; i++) {
+                expected.multiply(new Value("120.021"));
+            }
+            Value value = new Value("120.021");
+            value.pow(power);
+            assertEquals(expected.toString(), value.toString());
+        }
+        Value value = new Value("-0.5");
+        value.pow(-3);
+        assertEquals("-8", value.toString());
+        Value zero = new Value("0");
+        assertThrows(ArithmeticException.class, () -> zero.pow(-1));
+    }
+
+    /**
+     * Raises the value with the big exponent to the powers until the exponent is out of range. Checks that the error
+     * is thrown instead of the wrapped exponent and the value is not changed.
+     */
+    @Test
+    public void testExponentRange() {
+        Value value = new Value("1e9000");
+        value.pow(100000);
+        assertEquals("1e900000000", value.toString());
+        assertThrows(ArithmeticException.class, () -> value.pow(3));
+        assertThrows(ArithmeticException.class, () -> value.multiply(value));
+        assertThrows(ArithmeticException.class, () -> value.divide(1, 1, -Value.MAX_EXPONENT));
+        assertEquals("1e900000000", value.toString());
+        assertEquals(Double.POSITIVE_INFINITY, value.doubleValue());
+    }
+}